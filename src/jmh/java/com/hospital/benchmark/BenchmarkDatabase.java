@@ -0,0 +1,151 @@
+// src/jmh/java/com/hospital/benchmark/BenchmarkDatabase.java
+package com.hospital.benchmark;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.hospital.HospitalApplication;
+import com.hospital.application.service.RatingService;
+
+// Starts the application on a random port against a seeded PostgreSQL, services are called directly.
+// Seeding is skipped if users already exist.
+public final class BenchmarkDatabase implements AutoCloseable {
+
+    public static final int DOCTORS = 10_000;
+    public static final int PATIENTS = 10_000;
+    public static final int MESSAGES = 1_000_000;
+    // Chronic-care conversation with a long history, the rest is spread over the other conversations
+    public static final int HOT_CONVERSATION_MESSAGES = 10_000;
+
+    private final BenchmarkPostgres postgres;
+    private final ConfigurableApplicationContext context;
+
+    private BenchmarkDatabase(BenchmarkPostgres postgres, ConfigurableApplicationContext context) {
+        this.postgres = postgres;
+        this.context = context;
+    }
+
+    // Extra arguments are appended after the defaults, e.g. "--spring.profiles.active=vthreads"
+    public static BenchmarkDatabase start(String... extraArgs) {
+        BenchmarkPostgres postgres = BenchmarkPostgres.start();
+
+        // Passed as arguments so they win over application.properties
+        List<String> args = new ArrayList<>(List.of(
+            "--server.port=0",
+            "--spring.datasource.url=" + postgres.url(),
+            "--spring.datasource.username=" + postgres.user(),
+            "--spring.datasource.password=" + postgres.password(),
+            "--spring.main.banner-mode=off",
+            "--logging.level.root=WARN"
+        ));
+        args.addAll(List.of(extraArgs));
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(HospitalApplication.class)
+            .run(args.toArray(String[]::new));
+
+        BenchmarkDatabase database = new BenchmarkDatabase(postgres, context);
+        database.seedIfEmpty();
+        return database;
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public int port() {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    public JdbcTemplate jdbc() {
+        return context.getBean(JdbcTemplate.class);
+    }
+
+    public static UUID doctorId(int i) { return uuid("doctor" + i); }
+    public static UUID patientId(int i) { return uuid("patient" + i); }
+    public static UUID activeConversationId(int i) { return uuid("active" + i); }
+    public static UUID closedConversationId(int i) { return uuid("closed" + i); }
+
+    // Same derivation as md5(text)::uuid in the seed SQL
+    private static UUID uuid(String key) {
+        try {
+            byte[] md5 = MessageDigest.getInstance("MD5").digest(key.getBytes(StandardCharsets.UTF_8));
+            ByteBuffer buffer = ByteBuffer.wrap(md5);
+            return new UUID(buffer.getLong(), buffer.getLong());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void seedIfEmpty() {
+        JdbcTemplate jdbc = jdbc();
+        Long users = jdbc.queryForObject("select count(*) from users", Long.class);
+        if (users != null && users > 0) return;
+
+        jdbc.execute("""
+            insert into users (id, name, normalized_name, roles)
+            select md5('doctor' || i)::uuid, 'Doctor ' || i, 'doctor ' || i, 2 from generate_series(1, %1$d) i
+            union all
+            select md5('patient' || i)::uuid, 'Patient ' || i, 'patient ' || i, 1 from generate_series(1, %2$d) i
+            """.formatted(DOCTORS, PATIENTS));
+
+        // Every patient has one active conversation (status 0) and one closed one (status 1) with a rating
+        jdbc.execute("""
+            insert into conversations (conversationid, status, conversation_created_at, conversation_closed_at)
+            select md5('active' || i)::uuid, 0, now() - interval '60 days', null from generate_series(1, %1$d) i
+            union all
+            select md5('closed' || i)::uuid, 1, now() - interval '90 days', now() - interval '61 days' from generate_series(1, %1$d) i
+            """.formatted(PATIENTS));
+        jdbc.execute("""
+            insert into conversation_users (conversation_id, user_id)
+            select md5('active' || i)::uuid, md5('patient' || i)::uuid from generate_series(1, %1$d) i
+            union all
+            select md5('active' || i)::uuid, md5('doctor' || ((i - 1) %% %2$d + 1))::uuid from generate_series(1, %1$d) i
+            union all
+            select md5('closed' || i)::uuid, md5('patient' || i)::uuid from generate_series(1, %1$d) i
+            union all
+            select md5('closed' || i)::uuid, md5('doctor' || (i * 7 %% %2$d + 1))::uuid from generate_series(1, %1$d) i
+            """.formatted(PATIENTS, DOCTORS));
+        jdbc.execute("""
+            insert into active_conversation_pairs (conversation_id, patient_id, doctor_id)
+            select md5('active' || i)::uuid, md5('patient' || i)::uuid, md5('doctor' || ((i - 1) %% %2$d + 1))::uuid
+            from generate_series(1, %1$d) i
+            """.formatted(PATIENTS, DOCTORS));
+        jdbc.execute("""
+            insert into ratings (id, conversation_id, patient_id, doctor_id, score, created_at)
+            select md5('rating' || i)::uuid, md5('closed' || i)::uuid, md5('patient' || i)::uuid,
+                   md5('doctor' || (i * 7 %% %2$d + 1))::uuid, i %% 5 + 1, now() - interval '61 days'
+            from generate_series(1, %1$d) i
+            """.formatted(PATIENTS, DOCTORS));
+
+        // Conversation of patient 1 gets the long history, authors alternate between patient and doctor
+        jdbc.execute("""
+            insert into messages (messageid, conversation_id, author_id, message_context, message_created_at)
+            select md5('message' || m.i)::uuid, md5('active' || m.c)::uuid,
+                   case when m.i %% 2 = 0 then md5('patient' || m.c)::uuid
+                        else md5('doctor' || ((m.c - 1) %% %4$d + 1))::uuid end,
+                   'Message ' || m.i,
+                   timestamp '2025-01-01' + m.i * interval '1 second'
+            from (
+                select i, case when i <= %2$d then 1 else (i - 1) %% %3$d + 1 end as c
+                from generate_series(1, %1$d) i
+            ) m
+            """.formatted(MESSAGES, HOT_CONVERSATION_MESSAGES, PATIENTS, DOCTORS));
+
+        jdbc.execute("analyze");
+        bean(RatingService.class).rebuildDoctorRatingStats();
+    }
+
+    @Override
+    public void close() {
+        context.close();
+        postgres.close();
+    }
+}
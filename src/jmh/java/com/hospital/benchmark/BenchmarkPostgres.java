@@ -0,0 +1,50 @@
+// src/jmh/java/com/hospital/benchmark/BenchmarkPostgres.java
+package com.hospital.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+import org.testcontainers.containers.PostgreSQLContainer;
+
+// BENCHMARK_DB_URL (with BENCHMARK_DB_USER / BENCHMARK_DB_PASSWORD) points the benchmarks at an
+// existing empty database, otherwise a throwaway container is started.
+public final class BenchmarkPostgres implements AutoCloseable {
+
+    private final PostgreSQLContainer<?> container;
+    private final String url;
+    private final String user;
+    private final String password;
+
+    private BenchmarkPostgres(PostgreSQLContainer<?> container, String url, String user, String password) {
+        this.container = container;
+        this.url = url;
+        this.user = user;
+        this.password = password;
+    }
+
+    public static BenchmarkPostgres start() {
+        String url = System.getenv("BENCHMARK_DB_URL");
+        if (url != null) {
+            return new BenchmarkPostgres(null, url,
+                System.getenv().getOrDefault("BENCHMARK_DB_USER", "postgres"),
+                System.getenv().getOrDefault("BENCHMARK_DB_PASSWORD", "postgres"));
+        }
+        PostgreSQLContainer<?> container = new PostgreSQLContainer<>("postgres:16-alpine");
+        container.start();
+        return new BenchmarkPostgres(container, container.getJdbcUrl(), container.getUsername(), container.getPassword());
+    }
+
+    public String url() { return url; }
+    public String user() { return user; }
+    public String password() { return password; }
+
+    public Connection connect() throws SQLException {
+        return DriverManager.getConnection(url, user, password);
+    }
+
+    @Override
+    public void close() {
+        if (container != null) container.stop();
+    }
+}
@@ -0,0 +1,156 @@
+// src/jmh/java/com/hospital/benchmark/MessageEndpointLoadHarness.java
+package com.hospital.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Closed-loop load test of /api/messages/conversation/{id} with platform and virtual request threads.
+// Every client loops on: read the latest page of a random active conversation, and every tenth
+// request send a message as that conversation's patient. Clients run on virtual threads so the
+// client side is never the bottleneck.
+//
+//   mvn -Pbenchmark test-compile exec:exec@run-load -Dload.args="clients=1000,5000,10000 duration=30"
+//
+// Options: modes=platform,virtual clients=... warmup=<seconds> duration=<seconds> writeEvery=<n>
+// 10k clients need an open-files limit above 20k (ulimit -n) for both ends of the sockets.
+public final class MessageEndpointLoadHarness {
+
+    record Result(String mode, int clients, long requests, long errors, double seconds, long[] latenciesNanos) {
+
+        double throughput() { return requests / seconds; }
+
+        double percentileMillis(double p) {
+            if (latenciesNanos.length == 0) return Double.NaN;
+            int index = (int) Math.ceil(p / 100.0 * latenciesNanos.length) - 1;
+            return latenciesNanos[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] pair = arg.split("=", 2);
+            options.put(pair[0], pair.length > 1 ? pair[1] : "");
+        }
+        List<String> modes = List.of(options.getOrDefault("modes", "platform,virtual").split(","));
+        int[] clients = Arrays.stream(options.getOrDefault("clients", "1000,5000,10000").split(","))
+            .mapToInt(Integer::parseInt).toArray();
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "30")));
+        int writeEvery = Integer.parseInt(options.getOrDefault("writeEvery", "10"));
+
+        List<Result> results = new ArrayList<>();
+        for (String mode : modes) {
+            String[] profile = "virtual".equals(mode)
+                ? new String[] { "--spring.profiles.active=vthreads" }
+                : new String[0];
+            try (BenchmarkDatabase database = BenchmarkDatabase.start(profile)) {
+                String baseUrl = "http://localhost:" + database.port();
+                for (int count : clients) {
+                    Result result = run(mode, baseUrl, count, warmup, duration, writeEvery);
+                    print(result);
+                    results.add(result);
+                }
+            }
+        }
+
+        System.out.printf("%n%-9s %8s %12s %10s %10s %10s %8s%n",
+            "mode", "clients", "req/s", "p50 ms", "p99 ms", "max ms", "errors");
+        for (Result r : results) {
+            System.out.printf("%-9s %8d %12.1f %10.1f %10.1f %10.1f %8d%n",
+                r.mode(), r.clients(), r.throughput(), r.percentileMillis(50), r.percentileMillis(99),
+                r.percentileMillis(100), r.errors());
+        }
+    }
+
+    private static Result run(String mode, String baseUrl, int clients, Duration warmup, Duration duration,
+                              int writeEvery) throws InterruptedException {
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long measureTo = measureFrom + duration.toNanos();
+        AtomicLong errors = new AtomicLong();
+        long[][] latencies = new long[clients][];
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder()
+                 .version(HttpClient.Version.HTTP_1_1)
+                 .connectTimeout(Duration.ofSeconds(30))
+                 .executor(executor)
+                 .build()) {
+            try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int c = 0; c < clients; c++) {
+                    int client = c;
+                    workers.submit(() -> {
+                        latencies[client] = client(http, baseUrl, measureFrom, measureTo, writeEvery, errors);
+                    });
+                }
+            }
+        }
+
+        long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+        return new Result(mode, clients, all.length, errors.get(), duration.toNanos() / 1e9, all);
+    }
+
+    // Returns the latencies of the successful requests that started inside the measurement window
+    private static long[] client(HttpClient http, String baseUrl, long measureFrom, long measureTo,
+                                 int writeEvery, AtomicLong errors) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long[] recorded = new long[256];
+        int size = 0;
+        long sent = 0;
+
+        while (true) {
+            long began = System.nanoTime();
+            if (began >= measureTo) break;
+
+            int i = random.nextInt(1, BenchmarkDatabase.PATIENTS + 1);
+            String url = baseUrl + "/api/messages/conversation/" + BenchmarkDatabase.activeConversationId(i);
+            HttpRequest request = ++sent % writeEvery == 0
+                ? HttpRequest.newBuilder(URI.create(url))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(sendBody(BenchmarkDatabase.patientId(i))))
+                    .build()
+                : HttpRequest.newBuilder(URI.create(url + "?limit=50")).GET().build();
+
+            boolean ok;
+            try {
+                ok = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+            } catch (Exception e) {
+                if (e instanceof InterruptedException) Thread.currentThread().interrupt();
+                ok = false;
+            }
+            long took = System.nanoTime() - began;
+
+            if (began < measureFrom) continue;
+            if (!ok) {
+                errors.incrementAndGet();
+                continue;
+            }
+            if (size == recorded.length) recorded = Arrays.copyOf(recorded, size * 2);
+            recorded[size++] = took;
+        }
+        return Arrays.copyOf(recorded, size);
+    }
+
+    private static String sendBody(UUID authorId) {
+        return "{\"messageAuthorId\":\"" + authorId + "\",\"messageContent\":\"Load test\"}";
+    }
+
+    private static void print(Result r) {
+        System.out.printf("%s, %d clients: %.1f req/s, p99 %.1f ms, %d errors%n",
+            r.mode(), r.clients(), r.throughput(), r.percentileMillis(99), r.errors());
+    }
+}
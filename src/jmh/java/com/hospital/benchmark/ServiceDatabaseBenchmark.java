@@ -0,0 +1,129 @@
+// src/jmh/java/com/hospital/benchmark/ServiceDatabaseBenchmark.java
+package com.hospital.benchmark;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.hospital.api.projection.DoctorSummary;
+import com.hospital.application.cache.DoctorRatingsCache;
+import com.hospital.application.dto.DoctorRatingResponse;
+import com.hospital.application.dto.MessageImportResponse;
+import com.hospital.application.dto.MessageResponse;
+import com.hospital.application.dto.MessageSendRequest;
+import com.hospital.application.event.DoctorRatingsChangedEvent;
+import com.hospital.application.service.MessageService;
+import com.hospital.application.service.RatingService;
+import com.hospital.application.service.UserService;
+import com.hospital.domain.model.MessageCursor;
+import com.hospital.domain.model.MessageModel;
+
+// Full stack cost (transactions, JPA, PostgreSQL) with 10k doctors and 1M messages.
+// The doctor caches are dropped before each call so the queries themselves are measured.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ServiceDatabaseBenchmark {
+
+    static final int IMPORT_ROWS = 2_000;
+
+    BenchmarkDatabase database;
+    MessageService messageService;
+    UserService userService;
+    RatingService ratingService;
+    DoctorRatingsCache doctorRatingsCache;
+
+    UUID patientId;
+    UUID doctorId;
+    UUID hotConversationId;
+    UUID importConversationId;
+    MessageCursor middleCursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = BenchmarkDatabase.start();
+        messageService = database.bean(MessageService.class);
+        userService = database.bean(UserService.class);
+        ratingService = database.bean(RatingService.class);
+        doctorRatingsCache = database.bean(DoctorRatingsCache.class);
+
+        patientId = BenchmarkDatabase.patientId(1);
+        doctorId = BenchmarkDatabase.doctorId(1);
+        hotConversationId = BenchmarkDatabase.activeConversationId(1);
+        importConversationId = BenchmarkDatabase.closedConversationId(1);
+        middleCursor = database.jdbc().queryForObject("""
+            select message_created_at, messageid from messages
+            where conversation_id = ?
+            order by message_created_at, messageid
+            offset ? limit 1
+            """,
+            (rs, row) -> new MessageCursor(rs.getObject(1, Timestamp.class).toLocalDateTime(), rs.getObject(2, UUID.class)),
+            hotConversationId, BenchmarkDatabase.HOT_CONVERSATION_MESSAGES / 2);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    public MessageResponse sendMessage() {
+        return messageService.sendMessage(hotConversationId, new MessageSendRequest(patientId, "Merhaba"));
+    }
+
+    @Benchmark
+    public MessageResponse doctorReply() {
+        return messageService.sendMessage(hotConversationId, new MessageSendRequest(doctorId, "Buyrun"));
+    }
+
+    // Score is per imported row
+    @Benchmark
+    @OperationsPerInvocation(IMPORT_ROWS)
+    public MessageImportResponse importMessages() {
+        LocalDateTime start = LocalDateTime.of(2020, 1, 1, 0, 0);
+        return messageService.importMessages(importConversationId, IntStream.range(0, IMPORT_ROWS)
+            .mapToObj(i -> new MessageModel(null, patientId, "Imported " + i, start.plusSeconds(i))));
+    }
+
+    @Benchmark
+    public List<MessageResponse> listMessagesLatestPage() {
+        return messageService.listMessages(hotConversationId, null, null, 50);
+    }
+
+    @Benchmark
+    public List<MessageResponse> listMessagesBeforeCursor() {
+        return messageService.listMessages(hotConversationId, middleCursor, null, 50);
+    }
+
+    @Benchmark
+    public List<DoctorSummary> listDoctorsWithRatings() {
+        doctorRatingsCache.onDoctorRatingsChanged(new DoctorRatingsChangedEvent(null));
+        return userService.listDoctorsWithRatings(0, null, null, 50);
+    }
+
+    @Benchmark
+    public DoctorRatingResponse doctorRating() {
+        doctorRatingsCache.onDoctorRatingsChanged(new DoctorRatingsChangedEvent(null));
+        return ratingService.doctorRating(doctorId);
+    }
+}
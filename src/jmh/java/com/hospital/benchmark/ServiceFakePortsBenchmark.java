@@ -0,0 +1,170 @@
+// src/jmh/java/com/hospital/benchmark/ServiceFakePortsBenchmark.java
+package com.hospital.benchmark;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionOperations;
+
+import com.hospital.api.projection.DoctorSummary;
+import com.hospital.application.batch.MessageBatchWriter;
+import com.hospital.application.cache.DoctorRatingsCache;
+import com.hospital.application.dto.DoctorRatingResponse;
+import com.hospital.application.dto.MessageResponse;
+import com.hospital.application.dto.MessageSendRequest;
+import com.hospital.application.event.DoctorRatingsChangedEvent;
+import com.hospital.application.service.MessageService;
+import com.hospital.application.service.RatingService;
+import com.hospital.application.service.UserService;
+import com.hospital.benchmark.fake.InMemoryConversationRepository;
+import com.hospital.benchmark.fake.InMemoryConversationSummaryRepository;
+import com.hospital.benchmark.fake.InMemoryDoctorRatingStatsRepository;
+import com.hospital.benchmark.fake.InMemoryMessageRepository;
+import com.hospital.benchmark.fake.InMemoryRatingOutboxRepository;
+import com.hospital.benchmark.fake.InMemoryRatingRepository;
+import com.hospital.benchmark.fake.InMemoryUserRepository;
+import com.hospital.domain.id.IdGenerator;
+import com.hospital.domain.id.UuidV7Generator;
+import com.hospital.domain.model.ConversationModel;
+import com.hospital.domain.model.MessageCursor;
+import com.hospital.domain.model.MessageModel;
+import com.hospital.domain.model.UserModel;
+import com.hospital.domain.role.UserRole;
+import com.hospital.domain.status.ConversationStatus;
+
+// Service layer cost on top of in-memory ports, isolates our own code from the database
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ServiceFakePortsBenchmark {
+
+    @Param({"10000"})
+    int doctors;
+
+    @Param({"10000"})
+    int historyLength;
+
+    InMemoryMessageRepository messages;
+    DoctorRatingsCache doctorRatingsCache;
+    MessageService messageService;
+    UserService userService;
+    RatingService ratingService;
+
+    UUID patientId;
+    UUID doctorId;
+    UUID historyConversationId;
+    UUID sendConversationId;
+    MessageCursor middleCursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var stats = new InMemoryDoctorRatingStatsRepository();
+        var users = new InMemoryUserRepository(stats);
+        var conversations = new InMemoryConversationRepository();
+        var summaries = new InMemoryConversationSummaryRepository(conversations);
+        messages = new InMemoryMessageRepository();
+        doctorRatingsCache = new DoctorRatingsCache(1000, Duration.ofMinutes(5));
+        ApplicationEventPublisher publisher = event -> {
+            if (event instanceof DoctorRatingsChangedEvent changed) doctorRatingsCache.onDoctorRatingsChanged(changed);
+        };
+
+        IdGenerator idGenerator = new UuidV7Generator();
+
+        // Not started, the benchmarks only use the synchronous send
+        var batchWriter = new MessageBatchWriter(messages, conversations, summaries, TransactionOperations.withoutTransaction(), publisher, idGenerator, 100, Duration.ofMillis(20), 10_000);
+        messageService = new MessageService(messages, conversations, summaries, users, batchWriter, publisher, idGenerator, TransactionOperations.withoutTransaction());
+        userService = new UserService(users, doctorRatingsCache, publisher, idGenerator);
+        ratingService = new RatingService(new InMemoryRatingRepository(), conversations, users, stats, new InMemoryRatingOutboxRepository(), doctorRatingsCache, publisher, idGenerator);
+
+        for (int i = 0; i < doctors; i++) {
+            UUID id = UUID.randomUUID();
+            users.save(new UserModel(id, "Doctor " + i, Set.of(UserRole.DOCTOR)));
+            for (int r = 0; r < 1 + i % 20; r++) stats.recordScores(Map.of(id, List.of(1 + (i + r) % 5)));
+            if (i == 0) doctorId = id;
+        }
+        patientId = users.save(new UserModel(UUID.randomUUID(), "Patient", Set.of(UserRole.PATIENT))).userID();
+
+        historyConversationId = activeConversation(conversations);
+        sendConversationId = activeConversation(conversations);
+
+        LocalDateTime start = LocalDateTime.now().minusDays(30);
+        for (int i = 0; i < historyLength; i++) {
+            UUID author = i % 2 == 0 ? patientId : doctorId;
+            MessageModel message = new MessageModel(UUID.randomUUID(), author, "message " + i, start.plusSeconds(i));
+            messages.save(message, historyConversationId);
+            if (i == historyLength / 2) middleCursor = new MessageCursor(message.messageCreatedAt(), message.messageID());
+        }
+    }
+
+    // Keeps the send conversation from growing across iterations
+    @Setup(Level.Iteration)
+    public void resetSendConversation() {
+        messages.clear(sendConversationId);
+    }
+
+    private UUID activeConversation(InMemoryConversationRepository conversations) {
+        return conversations.save(new ConversationModel(
+            UUID.randomUUID(), List.of(patientId, doctorId), ConversationStatus.ACTIVE, LocalDateTime.now(), null
+        )).conversationID();
+    }
+
+    // Only the doctor benchmarks go through a cache
+    @State(Scope.Thread)
+    public static class CacheMode {
+        // false drops the doctor caches before every call, true measures the warm cache
+        @Param({"true", "false"})
+        boolean cached;
+    }
+
+    private void dropCaches(CacheMode mode) {
+        if (!mode.cached) doctorRatingsCache.onDoctorRatingsChanged(new DoctorRatingsChangedEvent(null));
+    }
+
+    @Benchmark
+    public MessageResponse sendMessage() {
+        return messageService.sendMessage(sendConversationId, new MessageSendRequest(patientId, "Merhaba"));
+    }
+
+    @Benchmark
+    public List<MessageResponse> listMessagesLatestPage() {
+        return messageService.listMessages(historyConversationId, null, null, 50);
+    }
+
+    @Benchmark
+    public List<MessageResponse> listMessagesBeforeCursor() {
+        return messageService.listMessages(historyConversationId, middleCursor, null, 50);
+    }
+
+    @Benchmark
+    public List<DoctorSummary> listDoctorsWithRatings(CacheMode mode) {
+        dropCaches(mode);
+        return userService.listDoctorsWithRatings(0, null, null, 50);
+    }
+
+    @Benchmark
+    public DoctorRatingResponse doctorRating(CacheMode mode) {
+        dropCaches(mode);
+        return ratingService.doctorRating(doctorId);
+    }
+}
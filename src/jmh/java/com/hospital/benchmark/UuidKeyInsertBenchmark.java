@@ -0,0 +1,112 @@
+// src/jmh/java/com/hospital/benchmark/UuidKeyInsertBenchmark.java
+package com.hospital.benchmark;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.hospital.domain.id.IdGenerator;
+import com.hospital.domain.id.UuidV7Generator;
+
+// Insert throughput of random (v4) against time-ordered (v7) primary keys on a messages-shaped table.
+// The primary key index size per row is printed after the trial.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UuidKeyInsertBenchmark {
+
+    static final int BATCH = 1_000;
+    // Rows inserted before measuring so the index no longer fits in a handful of pages
+    static final int PREFILL = 200_000;
+
+    @Param({"v4", "v7"})
+    String generator;
+
+    BenchmarkPostgres postgres;
+    Connection connection;
+    PreparedStatement insert;
+    IdGenerator ids;
+    String table;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        ids = "v7".equals(generator) ? new UuidV7Generator() : UUID::randomUUID;
+        table = "uuid_key_bench_" + generator;
+
+        postgres = BenchmarkPostgres.start();
+        connection = postgres.connect();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists " + table);
+            statement.execute("create table " + table
+                + " (id uuid primary key, conversation_id uuid not null, message_context varchar(255) not null,"
+                + " message_created_at timestamp(6) not null default now())");
+        }
+        connection.setAutoCommit(false);
+        insert = connection.prepareStatement(
+            "insert into " + table + " (id, conversation_id, message_context) values (?, ?, ?)");
+
+        for (int i = 0; i < PREFILL / BATCH; i++) {
+            insertBatch();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void insertMessages() throws SQLException {
+        insertBatch();
+    }
+
+    private void insertBatch() throws SQLException {
+        UUID conversationId = UUID.randomUUID();
+        for (int i = 0; i < BATCH; i++) {
+            insert.setObject(1, ids.next());
+            insert.setObject(2, conversationId);
+            insert.setString(3, "benchmark message");
+            insert.addBatch();
+        }
+        insert.executeBatch();
+        connection.commit();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(
+                 "select pg_relation_size('" + table + "_pkey'), (select count(*) from " + table + ")")) {
+            rs.next();
+            long indexBytes = rs.getLong(1);
+            long rows = rs.getLong(2);
+            System.out.printf("%n%s: %d rows, primary key index %d kB, %.1f bytes/row%n",
+                generator, rows, indexBytes / 1024, (double) indexBytes / rows);
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table " + table);
+        }
+        connection.commit();
+        insert.close();
+        connection.close();
+        postgres.close();
+    }
+}
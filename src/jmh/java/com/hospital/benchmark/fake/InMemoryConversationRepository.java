@@ -0,0 +1,98 @@
+// src/jmh/java/com/hospital/benchmark/fake/InMemoryConversationRepository.java
+package com.hospital.benchmark.fake;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.hospital.application.port.ConversationRepositoryPort;
+import com.hospital.domain.model.ConversationCursor;
+import com.hospital.domain.model.ConversationModel;
+import com.hospital.domain.status.ConversationStatus;
+
+public class InMemoryConversationRepository implements ConversationRepositoryPort {
+
+    private final Map<UUID, ConversationModel> conversations = new ConcurrentHashMap<>();
+    // (patientID, doctorID) -> ACTIVE conversation
+    private final Map<List<UUID>, UUID> activePairs = new ConcurrentHashMap<>();
+
+    @Override
+    public ConversationModel save(ConversationModel conversation) {
+        conversations.put(conversation.conversationID(), conversation);
+        return conversation;
+    }
+
+    @Override
+    public Optional<ConversationModel> findById(UUID conversationID) {
+        return Optional.ofNullable(conversations.get(conversationID));
+    }
+
+    @Override
+    public List<ConversationModel> findAllByUserId(UUID userID) {
+        return conversations.values().stream()
+            .filter(c -> c.conversationUsersList().contains(userID))
+            .sorted(Comparator.comparing(ConversationModel::conversationCreatedAt).reversed())
+            .toList();
+    }
+
+    @Override
+    public List<ConversationModel> findPageByUserId(UUID userID, Set<ConversationStatus> statuses, ConversationCursor before, int limit) {
+        Comparator<ConversationModel> newestFirst = Comparator.comparing(ConversationModel::conversationCreatedAt)
+            .thenComparing(ConversationModel::conversationID).reversed();
+        return conversations.values().stream()
+            .filter(c -> c.conversationUsersList().contains(userID))
+            .filter(c -> statuses == null || statuses.isEmpty() || statuses.contains(c.conversationStatus()))
+            .filter(c -> before == null || newestFirst.compare(c,
+                new ConversationModel(before.conversationID(), null, null, before.conversationCreatedAt(), null)) > 0)
+            .sorted(newestFirst)
+            .limit(limit)
+            .toList();
+    }
+
+    // Only pairs claimed through claimActivePair are found, like the database lookup table
+    @Override
+    public Optional<ConversationModel> findActiveBetween(UUID patientID, UUID doctorID) {
+        return Optional.ofNullable(activePairs.get(List.of(patientID, doctorID))).map(conversations::get);
+    }
+
+    @Override
+    public boolean claimActivePair(UUID conversationID, UUID patientID, UUID doctorID) {
+        return activePairs.putIfAbsent(List.of(patientID, doctorID), conversationID) == null;
+    }
+
+    @Override
+    public boolean closeIfActive(UUID conversationID, LocalDateTime closedAt) {
+        ConversationModel current = conversations.get(conversationID);
+        if (current == null || current.conversationStatus() != ConversationStatus.ACTIVE) return false;
+        boolean closed = conversations.replace(conversationID, current, new ConversationModel(
+            current.conversationID(), current.conversationUsersList(), ConversationStatus.CLOSED,
+            current.conversationCreatedAt(), closedAt, current.conversationVersion() + 1
+        ));
+        if (closed) activePairs.values().remove(conversationID);
+        return closed;
+    }
+
+    @Override
+    public Map<UUID, Long> findActiveVersions(Collection<UUID> conversationIDs) {
+        Map<UUID, Long> versions = new HashMap<>();
+        for (UUID conversationID : conversationIDs) {
+            ConversationModel current = conversations.get(conversationID);
+            if (current != null && current.conversationStatus() == ConversationStatus.ACTIVE)
+                versions.put(conversationID, current.conversationVersion());
+        }
+        return versions;
+    }
+
+    @Override
+    public void deleteAll() {
+        conversations.clear();
+        activePairs.clear();
+    }
+}
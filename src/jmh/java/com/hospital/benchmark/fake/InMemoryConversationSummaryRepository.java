@@ -0,0 +1,68 @@
+// src/jmh/java/com/hospital/benchmark/fake/InMemoryConversationSummaryRepository.java
+package com.hospital.benchmark.fake;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.hospital.application.port.ConversationRepositoryPort;
+import com.hospital.application.port.ConversationSummaryRepositoryPort;
+import com.hospital.domain.model.ConversationMessage;
+import com.hospital.domain.model.ConversationModel;
+import com.hospital.domain.model.ConversationSummaryModel;
+import com.hospital.domain.model.InboxCursor;
+import com.hospital.domain.model.MessageModel;
+
+public class InMemoryConversationSummaryRepository implements ConversationSummaryRepositoryPort {
+
+    private final ConversationRepositoryPort conversations;
+    // (conversationID, participantID) -> summary
+    private final Map<List<UUID>, ConversationSummaryModel> summaries = new ConcurrentHashMap<>();
+
+    public InMemoryConversationSummaryRepository(ConversationRepositoryPort conversations) {
+        this.conversations = conversations;
+    }
+
+    @Override
+    public void recordMessages(List<ConversationMessage> messages, boolean countUnread) {
+        for (ConversationMessage conversationMessage : messages) {
+            ConversationModel conversation = conversations.findById(conversationMessage.conversationID()).orElseThrow();
+            MessageModel message = conversationMessage.message();
+            for (UUID participant : conversation.conversationUsersList()) {
+                int unread = countUnread && !participant.equals(message.authorID()) ? 1 : 0;
+                summaries.merge(List.of(conversation.conversationID(), participant),
+                    new ConversationSummaryModel(conversation.conversationID(), conversation.conversationStatus(),
+                        message.messageCreatedAt(), message.messageID(), message.authorID(), message.messageContext(), unread),
+                    (old, next) -> {
+                        ConversationSummaryModel newer = next.lastActivityAt().isBefore(old.lastActivityAt()) ? old : next;
+                        return new ConversationSummaryModel(newer.conversationID(), newer.conversationStatus(),
+                            newer.lastActivityAt(), newer.lastMessageID(), newer.lastAuthorID(), newer.lastMessageSnippet(),
+                            old.unreadCount() + next.unreadCount());
+                    });
+            }
+        }
+    }
+
+    @Override
+    public boolean markRead(UUID conversationID, UUID userID) {
+        return summaries.computeIfPresent(List.of(conversationID, userID), (key, s) -> new ConversationSummaryModel(
+            s.conversationID(), s.conversationStatus(), s.lastActivityAt(), s.lastMessageID(), s.lastAuthorID(),
+            s.lastMessageSnippet(), 0)) != null;
+    }
+
+    @Override
+    public List<ConversationSummaryModel> findInbox(UUID userID, InboxCursor before, int limit) {
+        Comparator<ConversationSummaryModel> recentFirst = Comparator.comparing(ConversationSummaryModel::lastActivityAt)
+            .thenComparing(ConversationSummaryModel::conversationID).reversed();
+        return summaries.entrySet().stream()
+            .filter(e -> e.getKey().get(1).equals(userID))
+            .map(Map.Entry::getValue)
+            .filter(s -> before == null || recentFirst.compare(s,
+                new ConversationSummaryModel(before.conversationID(), null, before.lastActivityAt(), null, null, null, 0)) > 0)
+            .sorted(recentFirst)
+            .limit(limit)
+            .toList();
+    }
+}
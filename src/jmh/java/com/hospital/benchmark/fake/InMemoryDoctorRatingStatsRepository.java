@@ -0,0 +1,44 @@
+// src/jmh/java/com/hospital/benchmark/fake/InMemoryDoctorRatingStatsRepository.java
+package com.hospital.benchmark.fake;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.LongStream;
+
+import com.hospital.application.port.DoctorRatingStatsRepositoryPort;
+import com.hospital.domain.model.DoctorRatingStatsModel;
+
+// Per doctor histogram of scores, the aggregates are derived from it
+public class InMemoryDoctorRatingStatsRepository implements DoctorRatingStatsRepositoryPort {
+
+    private final Map<UUID, long[]> histograms = new ConcurrentHashMap<>();
+
+    @Override
+    public void recordScores(Map<UUID, List<Integer>> scoresByDoctor) {
+        scoresByDoctor.forEach((doctorId, scores) -> histograms.compute(doctorId, (id, h) -> {
+            long[] next = h == null ? new long[5] : h.clone();
+            for (int score : scores) {
+                if (score < 1 || score > 5) throw new IllegalArgumentException("score must be between 1 and 5");
+                next[score - 1]++;
+            }
+            return next;
+        }));
+    }
+
+    @Override
+    public Optional<DoctorRatingStatsModel> findByDoctorId(UUID doctorId) {
+        long[] h = histograms.get(doctorId);
+        if (h == null) return Optional.empty();
+        long sum = 0;
+        for (int i = 0; i < 5; i++) sum += h[i] * (i + 1);
+        return Optional.of(new DoctorRatingStatsModel(doctorId, sum, LongStream.of(h).sum(), LongStream.of(h).boxed().toList()));
+    }
+
+    @Override
+    public int rebuildAll() {
+        return histograms.size();
+    }
+}
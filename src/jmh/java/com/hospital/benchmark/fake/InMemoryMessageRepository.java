@@ -0,0 +1,124 @@
+// src/jmh/java/com/hospital/benchmark/fake/InMemoryMessageRepository.java
+package com.hospital.benchmark.fake;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import com.hospital.application.port.MessageRepositoryPort;
+import com.hospital.domain.model.ConversationMessage;
+import com.hospital.domain.model.MessageCursor;
+import com.hospital.domain.model.MessageModel;
+
+// Messages kept per conversation in (createdAt, messageID) order, pages are found by binary search
+public class InMemoryMessageRepository implements MessageRepositoryPort {
+
+    private static final Comparator<MessageModel> ORDER =
+        Comparator.comparing(MessageModel::messageCreatedAt).thenComparing(MessageModel::messageID);
+
+    private final Map<UUID, List<MessageModel>> byConversation = new ConcurrentHashMap<>();
+
+    @Override
+    public MessageModel save(MessageModel message, UUID conversationID) {
+        List<MessageModel> list = byConversation.computeIfAbsent(conversationID, id -> new ArrayList<>());
+        synchronized (list) {
+            int at = Collections.binarySearch(list, message, ORDER);
+            list.add(at < 0 ? -at - 1 : at, message);
+        }
+        return message;
+    }
+
+    // Conversations live in another fake, the caller's checks are trusted
+    @Override
+    public boolean saveIfUnchanged(MessageModel message, UUID conversationID, long conversationVersion) {
+        save(message, conversationID);
+        return true;
+    }
+
+    @Override
+    public void saveAll(List<ConversationMessage> messages) {
+        for (ConversationMessage m : messages) save(m.message(), m.conversationID());
+    }
+
+    @Override
+    public Set<UUID> findExistingIDs(UUID conversationID, Collection<UUID> messageIDs) {
+        Set<UUID> wanted = Set.copyOf(messageIDs);
+        Set<UUID> found = new HashSet<>();
+        for (MessageModel m : findByConversationID(conversationID)) {
+            if (wanted.contains(m.messageID())) found.add(m.messageID());
+        }
+        return found;
+    }
+
+    @Override
+    public List<MessageModel> findByConversationID(UUID conversationID) {
+        List<MessageModel> list = byConversation.getOrDefault(conversationID, List.of());
+        synchronized (list) {
+            return List.copyOf(list);
+        }
+    }
+
+    @Override
+    public boolean hasMessages(UUID conversationID) {
+        List<MessageModel> list = byConversation.get(conversationID);
+        return list != null && !list.isEmpty();
+    }
+
+    @Override
+    public List<MessageModel> findPage(UUID conversationID, MessageCursor before, MessageCursor after, int limit) {
+        if (before != null && after != null)
+            throw new IllegalArgumentException("Only one of before and after can be given");
+
+        List<MessageModel> list = byConversation.getOrDefault(conversationID, List.of());
+        synchronized (list) {
+            if (after != null) {
+                int from = insertionPoint(list, after, true);
+                return List.copyOf(list.subList(from, Math.min(list.size(), from + limit)));
+            }
+            int to = before != null ? insertionPoint(list, before, false) : list.size();
+            return List.copyOf(list.subList(Math.max(0, to - limit), to));
+        }
+    }
+
+    @Override
+    public Stream<ConversationMessage> streamByConversationID(UUID conversationID) {
+        List<MessageModel> list = byConversation.getOrDefault(conversationID, List.of());
+        synchronized (list) {
+            return list.stream().map(m -> new ConversationMessage(conversationID, m)).toList().stream();
+        }
+    }
+
+    // The fake does not know conversation members, anyone who wrote in a conversation counts as one
+    @Override
+    public Stream<ConversationMessage> streamByParticipant(UUID userID) {
+        return byConversation.keySet().stream()
+            .filter(id -> streamByConversationID(id).anyMatch(m -> userID.equals(m.message().authorID())))
+            .flatMap(this::streamByConversationID);
+    }
+
+    @Override
+    public void deleteAll() {
+        byConversation.clear();
+    }
+
+    // Not part of the port, lets benchmarks keep a send target from growing
+    public void clear(UUID conversationID) {
+        byConversation.remove(conversationID);
+    }
+
+    // First index strictly after (afterCursor) or at/after (otherwise) the cursor position
+    private static int insertionPoint(List<MessageModel> list, MessageCursor cursor, boolean afterCursor) {
+        MessageModel key = new MessageModel(cursor.messageID(), null, null, cursor.messageCreatedAt());
+        int at = Collections.binarySearch(list, key, ORDER);
+        if (at < 0) return -at - 1;
+        return afterCursor ? at + 1 : at;
+    }
+}
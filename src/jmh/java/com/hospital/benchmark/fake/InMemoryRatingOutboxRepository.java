@@ -0,0 +1,48 @@
+// src/jmh/java/com/hospital/benchmark/fake/InMemoryRatingOutboxRepository.java
+package com.hospital.benchmark.fake;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.hospital.application.port.RatingOutboxRepositoryPort;
+import com.hospital.domain.model.RatingModel;
+import com.hospital.domain.model.RatingOutboxEntry;
+
+// Entries by id, a claim hands out the oldest ones without locking
+public class InMemoryRatingOutboxRepository implements RatingOutboxRepositoryPort {
+
+    private final TreeMap<Long, RatingOutboxEntry> entries = new TreeMap<>();
+    private final AtomicLong ids = new AtomicLong();
+
+    @Override
+    public synchronized void append(RatingModel rating) {
+        long id = ids.incrementAndGet();
+        entries.put(id, new RatingOutboxEntry(id, rating.ratingId(), rating.doctorId(), rating.score(), rating.createdAt()));
+    }
+
+    @Override
+    public synchronized List<RatingOutboxEntry> claimBatch(int limit) {
+        return entries.values().stream().limit(limit).toList();
+    }
+
+    @Override
+    public synchronized void remove(List<Long> entryIds) {
+        entries.keySet().removeAll(new HashSet<>(entryIds));
+    }
+
+    @Override
+    public synchronized Optional<LocalDateTime> oldestPendingAt() {
+        return entries.isEmpty() ? Optional.empty() : Optional.of(entries.firstEntry().getValue().createdAt());
+    }
+
+    @Override
+    public synchronized int discardAll() {
+        int discarded = entries.size();
+        entries.clear();
+        return discarded;
+    }
+}
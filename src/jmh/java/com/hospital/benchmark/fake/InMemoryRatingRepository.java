@@ -0,0 +1,27 @@
+// src/jmh/java/com/hospital/benchmark/fake/InMemoryRatingRepository.java
+package com.hospital.benchmark.fake;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.hospital.application.port.RatingRepositoryPort;
+import com.hospital.domain.model.RatingModel;
+
+public class InMemoryRatingRepository implements RatingRepositoryPort {
+
+    private final Map<List<UUID>, RatingModel> byConversationAndPatient = new ConcurrentHashMap<>();
+
+    @Override
+    public RatingModel save(RatingModel rating) {
+        byConversationAndPatient.put(List.of(rating.conversationId(), rating.patientId()), rating);
+        return rating;
+    }
+
+    @Override
+    public Optional<RatingModel> findByConversationAndPatient(UUID conversationId, UUID patientId) {
+        return Optional.ofNullable(byConversationAndPatient.get(List.of(conversationId, patientId)));
+    }
+}
@@ -0,0 +1,98 @@
+// src/jmh/java/com/hospital/benchmark/fake/InMemoryUserRepository.java
+package com.hospital.benchmark.fake;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.hospital.api.projection.DoctorSummary;
+import com.hospital.application.dto.DoctorDirectoryEntry;
+import com.hospital.application.dto.DoctorSummaryDto;
+import com.hospital.application.port.UserRepositoryPort;
+import com.hospital.domain.model.DoctorRatingStatsModel;
+import com.hospital.domain.model.UserModel;
+import com.hospital.domain.name.NameNormalizer;
+import com.hospital.domain.role.UserRole;
+
+// Map backed users, the leaderboard is computed from the in-memory rating stats
+public class InMemoryUserRepository implements UserRepositoryPort {
+
+    private static final Comparator<DoctorSummary> LEADERBOARD_ORDER =
+        Comparator.comparing(DoctorSummary::getRating).reversed().thenComparing(DoctorSummary::getId);
+
+    private final Map<UUID, UserModel> users = new ConcurrentHashMap<>();
+    private final InMemoryDoctorRatingStatsRepository stats;
+
+    public InMemoryUserRepository(InMemoryDoctorRatingStatsRepository stats) {
+        this.stats = stats;
+    }
+
+    @Override
+    public UserModel save(UserModel user) {
+        users.put(user.userID(), user);
+        return user;
+    }
+
+    @Override
+    public Optional<UserModel> findById(UUID userID) {
+        return Optional.ofNullable(users.get(userID));
+    }
+
+    @Override
+    public List<UserModel> findAll() {
+        return List.copyOf(users.values());
+    }
+
+    @Override
+    public List<UserModel> findAllByRole(UserRole role) {
+        return users.values().stream().filter(u -> u.userRoles().contains(role)).toList();
+    }
+
+    @Override
+    public List<UserModel> findByNameAndRole(String userName, UserRole role) {
+        String normalized = NameNormalizer.normalize(userName);
+        return users.values().stream()
+            .filter(u -> NameNormalizer.normalize(u.userName()).equals(normalized) && u.userRoles().contains(role))
+            .toList();
+    }
+
+    @Override
+    public List<DoctorDirectoryEntry> searchDoctorsByNamePrefix(String prefix, int limit) {
+        String normalized = NameNormalizer.normalize(prefix);
+        return users.values().stream()
+            .filter(u -> u.userRoles().contains(UserRole.DOCTOR) && NameNormalizer.normalize(u.userName()).startsWith(normalized))
+            .sorted(Comparator.comparing((UserModel u) -> NameNormalizer.normalize(u.userName())).thenComparing(UserModel::userID))
+            .limit(limit)
+            .map(u -> new DoctorDirectoryEntry(u.userID(), u.userName()))
+            .toList();
+    }
+
+    @Override
+    public List<DoctorSummary> findDoctorLeaderboard(long minRatings, Double afterRating, UUID afterId, int limit) {
+        List<DoctorSummary> board = new ArrayList<>();
+        for (UserModel user : users.values()) {
+            if (!user.userRoles().contains(UserRole.DOCTOR)) continue;
+            DoctorRatingStatsModel s = stats.findByDoctorId(user.userID()).orElse(null);
+            long count = s == null ? 0 : s.ratingCount();
+            if (count < minRatings) continue;
+            double rating = count == 0 ? 0.0 : BigDecimal.valueOf(s.scoreSum())
+                .divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP).doubleValue();
+            if (afterRating != null && (rating > afterRating || (rating == afterRating && user.userID().compareTo(afterId) <= 0)))
+                continue;
+            board.add(new DoctorSummaryDto(user.userID(), user.userName(), rating, (int) count));
+        }
+        board.sort(LEADERBOARD_ORDER);
+        return board.size() > limit ? List.copyOf(board.subList(0, limit)) : board;
+    }
+
+    @Override
+    public void deleteAll() {
+        users.clear();
+    }
+}
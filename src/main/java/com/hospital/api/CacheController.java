@@ -0,0 +1,44 @@
+// src/main/java/com/hospital/api/CacheController.java
+package com.hospital.api;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.hospital.application.cache.CachingUserRepository;
+import com.hospital.application.cache.DoctorRatingsCache;
+import com.hospital.application.cache.TtlCache;
+
+@RestController
+@RequestMapping("/api/cache")
+public class CacheController {
+
+    private final DoctorRatingsCache doctorRatingsCache;
+    private final CachingUserRepository userCache;
+
+    public CacheController(DoctorRatingsCache doctorRatingsCache, CachingUserRepository userCache) {
+        this.doctorRatingsCache = doctorRatingsCache;
+        this.userCache = userCache;
+    }
+
+    // Hit, miss and eviction counters of the in-process caches
+    @GetMapping
+    public Map<String, TtlCache.Stats> stats() {
+        Map<String, TtlCache.Stats> stats = new HashMap<>(doctorRatingsCache.stats());
+        stats.put(CachingUserRepository.CACHE_NAME, userCache.stats());
+        return stats;
+    }
+
+    // Kill switch of the user cache, disabling it also empties it
+    @PutMapping("/user")
+    public ResponseEntity<Void> setUserCacheEnabled(@RequestParam boolean enabled) {
+        userCache.setEnabled(enabled);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,9 +1,13 @@
 // src/main/java/com/hospital/api/ConversationController.java
 package com.hospital.api;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -11,8 +15,13 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.hospital.application.common.exceptions.BadRequestException;
 import com.hospital.application.dto.ConversationResponse;
+import com.hospital.application.dto.InboxEntryResponse;
 import com.hospital.application.service.ConversationService;
+import com.hospital.domain.model.ConversationCursor;
+import com.hospital.domain.model.InboxCursor;
+import com.hospital.domain.status.ConversationStatus;
 
 @RestController
 @RequestMapping("/api/conversations")
@@ -24,10 +33,50 @@ public class ConversationController {
         this.conversationService = conversationService;
     }
 
-    // Return all conversation about user
+    // Return all conversation about user. With status, a cursor or a limit one page is returned
+    // instead, newest first; pass the last conversation of a page as beforeCreatedAt/beforeId.
     @GetMapping("/user/{userId}")
-    public List<ConversationResponse> listByUser(@PathVariable UUID userId) {
-        return conversationService.listByUser(userId);
+    public List<ConversationResponse> listByUser
+    (
+        @PathVariable UUID userId,
+        @RequestParam(required = false) Set<ConversationStatus> status,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime beforeCreatedAt,
+        @RequestParam(required = false) UUID beforeId,
+        @RequestParam(required = false) Integer limit
+    ) {
+        if (beforeCreatedAt == null && beforeId == null && status == null && limit == null) {
+            return conversationService.listByUser(userId);
+        }
+        if (beforeCreatedAt == null ^ beforeId == null) {
+            throw new BadRequestException("beforeCreatedAt and beforeId must be given together.");
+        }
+        ConversationCursor before = beforeId != null ? new ConversationCursor(beforeCreatedAt, beforeId) : null;
+        return conversationService.listByUser(userId, status, before, limit != null ? limit : 20);
+    }
+
+    // Inbox of the user: one entry per conversation with its last message and the user's unread count,
+    // most recent activity first. Pass the last entry of a page as beforeActivityAt/beforeId.
+    @GetMapping("/inbox/{userId}")
+    public List<InboxEntryResponse> inbox
+    (
+        @PathVariable UUID userId,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime beforeActivityAt,
+        @RequestParam(required = false) UUID beforeId,
+        @RequestParam(defaultValue = "20") int limit
+    ) {
+        if (beforeActivityAt == null ^ beforeId == null) {
+            throw new BadRequestException("beforeActivityAt and beforeId must be given together.");
+        }
+        InboxCursor before = beforeId != null ? new InboxCursor(beforeActivityAt, beforeId) : null;
+        return conversationService.listInbox(userId, before, limit);
+    }
+
+    // Reset the user's unread count of the conversation
+    @PostMapping("/{conversationId}/read")
+    public ResponseEntity<Void> markRead(@PathVariable UUID conversationId,
+                                         @RequestParam UUID userId) {
+        conversationService.markRead(conversationId, userId);
+        return ResponseEntity.noContent().build();
     }
 
     // Close conversation
@@ -1,31 +1,62 @@
 // src/main/java/com/hospital/api/MessageController.java
 package com.hospital.api;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Enumeration;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.GZIPOutputStream;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hospital.application.common.exceptions.BadRequestException;
+import com.hospital.application.dto.MessageExportLine;
+import com.hospital.application.dto.MessageImportRequest;
+import com.hospital.application.dto.MessageImportResponse;
 import com.hospital.application.dto.MessageResponse;
 import com.hospital.application.dto.MessageSendRequest;
 import com.hospital.application.dto.PatientToDoctorNameMessageRequest;
 import com.hospital.application.service.MessageService;
+import com.hospital.domain.model.MessageCursor;
+import com.hospital.domain.model.MessageModel;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
 @RestController
 @RequestMapping("/api/messages")
 public class MessageController {
 
+    public static final String NDJSON = "application/x-ndjson";
+
     private final MessageService messageService;
+    private final ObjectMapper objectMapper;
 
-    public MessageController(MessageService messageService){
+    public MessageController(MessageService messageService, ObjectMapper objectMapper){
         this.messageService = messageService;
+        this.objectMapper = objectMapper;
     }
     
     // Send first message and create conversation (patient -> doctor)
@@ -54,9 +85,175 @@ public class MessageController {
         return messageService.sendMessage(conversationId, req);
     }
 
-    // List all messages in conversation
+    // Bulk import, one JSON message per line. The body is parsed while the rows are written,
+    // so the whole file never has to fit in memory. Chunks are committed as they go, a failed
+    // upload can be sent again and the messageIDs already stored are skipped.
+    @PostMapping(path = "/conversation/{conversationId}/bulk", consumes = NDJSON)
+    public MessageImportResponse importMessages
+    (
+        @PathVariable UUID conversationId,
+        HttpServletRequest request
+    ) throws IOException {
+        try (MappingIterator<MessageImportRequest> lines = objectMapper
+                .readerFor(MessageImportRequest.class)
+                .readValues(request.getInputStream());
+             Stream<MessageModel> messages = StreamSupport.stream(new ImportLines(lines), false)) {
+            return messageService.importMessages(conversationId, messages);
+        }
+    }
+
+    // Transcript export, one JSON message per line, streamed from the database as it is read.
+    // The body is gzip-compressed when the client accepts it.
+    @GetMapping(path = "/conversation/{conversationId}/export", produces = NDJSON)
+    public void exportConversation
+    (
+        @PathVariable UUID conversationId,
+        HttpServletRequest request,
+        HttpServletResponse response
+    ) throws IOException {
+        ExportWriter writer = new ExportWriter(request, response);
+        messageService.exportConversation(conversationId, writer);
+        writer.finish();
+    }
+
+    // All transcripts of one user, conversation by conversation
+    @GetMapping(path = "/user/{userId}/export", produces = NDJSON)
+    public void exportUserTranscripts
+    (
+        @PathVariable UUID userId,
+        HttpServletRequest request,
+        HttpServletResponse response
+    ) throws IOException {
+        ExportWriter writer = new ExportWriter(request, response);
+        messageService.exportUserTranscripts(userId, writer);
+        writer.finish();
+    }
+
+    // List messages in conversation. Without paging params the whole history is returned,
+    // otherwise one page: the latest messages, or the ones before/after the given message.
     @GetMapping("/conversation/{conversationId}")
-    public List<MessageResponse> list(@PathVariable UUID conversationId) {
-        return messageService.listMessages(conversationId);
+    public List<MessageResponse> list
+    (
+        @PathVariable UUID conversationId,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime beforeCreatedAt,
+        @RequestParam(required = false) UUID beforeId,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime afterCreatedAt,
+        @RequestParam(required = false) UUID afterId,
+        @RequestParam(required = false) Integer limit
+    ) {
+        MessageCursor before = cursor(beforeCreatedAt, beforeId, "before");
+        MessageCursor after = cursor(afterCreatedAt, afterId, "after");
+        if (before == null && after == null && limit == null) {
+            return messageService.listMessages(conversationId);
+        }
+        return messageService.listMessages(conversationId, before, after, limit != null ? limit : 50);
+    }
+
+    // Turns parse errors into a 400 naming the line
+    private static final class ImportLines extends Spliterators.AbstractSpliterator<MessageModel> {
+
+        private final MappingIterator<MessageImportRequest> lines;
+        private long line;
+
+        ImportLines(MappingIterator<MessageImportRequest> lines) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.lines = lines;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super MessageModel> action) {
+            line++;
+            MessageImportRequest next;
+            try {
+                if (!lines.hasNextValue()) return false;
+                next = lines.nextValue();
+            } catch (IOException e) {
+                String reason = e instanceof JsonProcessingException parse ? parse.getOriginalMessage() : e.getMessage();
+                throw new BadRequestException("Line " + line + ": " + reason);
+            }
+            action.accept(new MessageModel(
+                next.messageID(), next.messageAuthorId(), next.messageContent(), next.messageCreatedAt()));
+            return true;
+        }
+    }
+
+    // Opens the response on the first line, so a 404 before any message still gets the normal error body
+    private final class ExportWriter implements Consumer<MessageExportLine> {
+
+        private final HttpServletResponse response;
+        private final boolean gzip;
+        private JsonGenerator generator;
+
+        ExportWriter(HttpServletRequest request, HttpServletResponse response) {
+            this.response = response;
+            this.gzip = acceptsGzip(request.getHeaders(HttpHeaders.ACCEPT_ENCODING));
+        }
+
+        @Override
+        public void accept(MessageExportLine line) {
+            try {
+                if (generator == null) open();
+                generator.writeObject(line);
+                generator.writeRaw('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void finish() throws IOException {
+            if (generator == null) open();
+            generator.close();
+        }
+
+        private void open() throws IOException {
+            response.setContentType(NDJSON);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            OutputStream out = response.getOutputStream();
+            if (gzip) {
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+                out = new GZIPOutputStream(out, 8192);
+            }
+            generator = objectMapper.createGenerator(out);
+        }
+    }
+
+    // Accept-Encoding is a list of codings with optional q-values (RFC 9110 12.5.3). gzip is used when it is
+    // listed with q > 0, or when it is not listed and * is. gzip;q=0 refuses it, other tokens don't count.
+    static boolean acceptsGzip(Enumeration<String> acceptEncoding) {
+        Double gzip = null;
+        Double any = null;
+        while (acceptEncoding != null && acceptEncoding.hasMoreElements()) {
+            for (String coding : acceptEncoding.nextElement().split(",")) {
+                String[] parts = coding.split(";");
+                String name = parts[0].trim();
+                double q = 1;
+                for (int i = 1; i < parts.length; i++) {
+                    String param = parts[i].trim();
+                    if (param.regionMatches(true, 0, "q=", 0, 2)) q = qValue(param.substring(2).trim());
+                }
+                if (name.equalsIgnoreCase("gzip")) gzip = gzip == null ? q : Math.max(gzip, q);
+                else if (name.equals("*")) any = any == null ? q : Math.max(any, q);
+            }
+        }
+        if (gzip != null) return gzip > 0;
+        return any != null && any > 0;
+    }
+
+    // A malformed weight counts as 0, the coding is then not used
+    private static double qValue(String value) {
+        try {
+            double q = Double.parseDouble(value);
+            return q >= 0 && q <= 1 ? q : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static MessageCursor cursor(LocalDateTime createdAt, UUID messageID, String name) {
+        if (createdAt == null && messageID == null) return null;
+        if (createdAt == null || messageID == null)
+            throw new BadRequestException(name + "CreatedAt and " + name + "Id must be given together.");
+        return new MessageCursor(createdAt, messageID);
     }
 }
@@ -0,0 +1,79 @@
+// src/main/java/com/hospital/api/MessageStreamController.java
+package com.hospital.api;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.hospital.application.dto.MessageResponse;
+import com.hospital.application.stream.MessageStreamHub;
+
+@RestController
+@RequestMapping("/api/messages")
+public class MessageStreamController {
+
+    private final MessageStreamHub messageStreamHub;
+    private final Duration timeout;
+    private final Duration heartbeat;
+
+    public MessageStreamController(
+        MessageStreamHub messageStreamHub,
+        @Value("${hospital.stream.timeout:PT30M}") Duration timeout,
+        @Value("${hospital.stream.heartbeat:PT15S}") Duration heartbeat
+    ) {
+        this.messageStreamHub = messageStreamHub;
+        this.timeout = timeout;
+        this.heartbeat = heartbeat;
+    }
+
+    // Server-Sent Events stream of the messages committed to a conversation from now on.
+    // A client that falls behind is disconnected; it reconnects and catches up with the
+    // afterCreatedAt/afterId page of the list endpoint.
+    @GetMapping(path = "/conversation/{conversationId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@PathVariable UUID conversationId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        MessageStreamHub.Subscription subscription = messageStreamHub.subscribe(conversationId);
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(e -> subscription.close());
+
+        // Each stream drains its buffer on its own virtual thread, the request thread is released
+        Thread.ofVirtual().name("message-stream-" + conversationId).start(() -> drain(subscription, emitter));
+        return emitter;
+    }
+
+    private void drain(MessageStreamHub.Subscription subscription, SseEmitter emitter) {
+        try {
+            while (true) {
+                MessageResponse message = subscription.poll(heartbeat);
+                if (message != null) {
+                    emitter.send(SseEmitter.event()
+                        .id(message.messageID().toString())
+                        .name("message")
+                        .data(message, MediaType.APPLICATION_JSON));
+                } else if (subscription.isClosed()) {
+                    emitter.complete();
+                    return;
+                } else {
+                    // Keeps proxies from closing an idle stream and detects clients that went away
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client disconnected or the emitter already completed
+            subscription.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            subscription.close();
+            emitter.complete();
+        }
+    }
+}
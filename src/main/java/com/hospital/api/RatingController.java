@@ -1,6 +1,7 @@
 // src/main/java/com/hospital/api/RatingController.java
 package com.hospital.api;
 
+import java.util.Map;
 import java.util.UUID;
 
 import org.springframework.web.bind.annotation.GetMapping;
@@ -36,4 +37,10 @@ public class RatingController {
     public DoctorRatingResponse doctorRating(@PathVariable UUID doctorId) {
         return ratingService.doctorRating(doctorId);
     }
+
+    // Recompute every doctor aggregate from the ratings table, pending outbox entries included
+    @PostMapping("/stats/rebuild")
+    public Map<String, Integer> rebuildStats() {
+        return Map.of("doctors", ratingService.rebuildDoctorRatingStats());
+    }
 }
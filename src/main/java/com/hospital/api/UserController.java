@@ -9,9 +9,11 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.hospital.api.projection.DoctorSummary;
+import com.hospital.application.dto.DoctorDirectoryEntry;
 import com.hospital.application.dto.UserCreateRequest;
 import com.hospital.application.dto.UserResponse;
 import com.hospital.application.service.UserService;
@@ -43,8 +45,23 @@ public class UserController {
         return userService.getUser(id);
     }
 
+    // List doctors by rating, next page with afterRating & afterId of the last returned doctor
     @GetMapping("/doctors")
-    public List<DoctorSummary> listDoctors() {
-        return userService.listDoctorsWithRatings();
+    public List<DoctorSummary> listDoctors(
+        @RequestParam(defaultValue = "0") long minRatings,
+        @RequestParam(required = false) Double afterRating,
+        @RequestParam(required = false) UUID afterId,
+        @RequestParam(defaultValue = "50") int limit
+    ) {
+        return userService.listDoctorsWithRatings(minRatings, afterRating, afterId, limit);
+    }
+
+    // Doctors whose name starts with q, for typeahead
+    @GetMapping("/doctors/search")
+    public List<DoctorDirectoryEntry> searchDoctors(
+        @RequestParam String q,
+        @RequestParam(defaultValue = "10") int limit
+    ) {
+        return userService.searchDoctors(q, limit);
     }
 }
@@ -0,0 +1,82 @@
+// src/main/java/com/hospital/api/websocket/MessageSocketController.java
+package com.hospital.api.websocket;
+
+import java.security.Principal;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.MessageExceptionHandler;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.handler.annotation.support.MethodArgumentNotValidException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.annotation.SendToUser;
+import org.springframework.stereotype.Controller;
+
+import com.hospital.application.common.exceptions.BadRequestException;
+import com.hospital.application.common.exceptions.ConflictException;
+import com.hospital.application.common.exceptions.ForbiddenException;
+import com.hospital.application.common.exceptions.NotFoundException;
+import com.hospital.application.common.exceptions.ServiceUnavailableException;
+import com.hospital.application.dto.ChatMessageRequest;
+import com.hospital.application.service.MessageService;
+
+import jakarta.validation.Valid;
+
+@Controller
+public class MessageSocketController {
+
+    public static final String ERROR_QUEUE = "/queue/errors";
+
+    private final MessageService messageService;
+    private final SimpMessagingTemplate messagingTemplate;
+
+    public MessageSocketController(MessageService messageService, SimpMessagingTemplate messagingTemplate) {
+        this.messageService = messageService;
+        this.messagingTemplate = messagingTemplate;
+    }
+
+    // Send as the connected user. The message is checked right away and written with the next batch,
+    // everyone subscribed to the conversation receives it once that batch has committed.
+    @MessageMapping("/conversations/{conversationId}/messages")
+    public void send(@DestinationVariable UUID conversationId, @Payload @Valid ChatMessageRequest request, Principal principal) {
+        messageService.submitMessage(conversationId, UUID.fromString(principal.getName()), request.messageContent())
+            .exceptionally(e -> {
+                messagingTemplate.convertAndSendToUser(principal.getName(), ERROR_QUEUE,
+                    Map.of("message", failureMessage(e)));
+                return null;
+            });
+    }
+
+    // The batch reports rejections (e.g. the conversation was closed meanwhile) like a direct send would,
+    // anything unexpected stays generic
+    private static String failureMessage(Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+        boolean expected = cause instanceof BadRequestException || cause instanceof ForbiddenException
+            || cause instanceof NotFoundException || cause instanceof ConflictException
+            || cause instanceof ServiceUnavailableException;
+        return expected && cause.getMessage() != null ? cause.getMessage() : "Message could not be saved.";
+    }
+
+    // Errors go back to the sender only, in the same shape as the REST error bodies
+    @MessageExceptionHandler
+    @SendToUser(destinations = ERROR_QUEUE, broadcast = false)
+    public Map<String, Object> handleValidation(MethodArgumentNotValidException exception) {
+        Map<String, String> errors = exception.getBindingResult() == null ? Map.of()
+            : exception.getBindingResult().getFieldErrors().stream()
+                .collect(Collectors.toMap(fe -> fe.getField(), fe -> String.valueOf(fe.getDefaultMessage()), (a, b) -> a));
+        return Map.of(
+            "message", "Validation failed",
+            "errors", errors
+        );
+    }
+
+    @MessageExceptionHandler
+    @SendToUser(destinations = ERROR_QUEUE, broadcast = false)
+    public Map<String, String> handleException(Exception exception) {
+        return Map.of("message", exception.getMessage() != null ? exception.getMessage() : "Invalid message.");
+    }
+}
@@ -0,0 +1,25 @@
+// src/main/java/com/hospital/api/websocket/MessageTopicRelay.java
+package com.hospital.api.websocket;
+
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.hospital.application.event.MessageSentEvent;
+
+// Forwards committed messages, from REST and WebSocket senders alike, to the conversation topic
+@Component
+public class MessageTopicRelay {
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    public MessageTopicRelay(SimpMessagingTemplate messagingTemplate) {
+        this.messagingTemplate = messagingTemplate;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMessageSent(MessageSentEvent event) {
+        messagingTemplate.convertAndSend(
+            StompParticipantInterceptor.CONVERSATION_TOPIC + event.conversationID(), event.message());
+    }
+}
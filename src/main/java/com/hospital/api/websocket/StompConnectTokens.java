@@ -0,0 +1,87 @@
+// src/main/java/com/hospital/api/websocket/StompConnectTokens.java
+package com.hospital.api.websocket;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Proof that a STOMP client is the user it names. A token is "<expiresAt epoch seconds>.<signature>", the
+// signature being HMAC-SHA256 of "<userID>.<expiresAt>" under hospital.websocket.token-secret, base64url
+// without padding. Tokens are issued by whatever authenticated the user and shares the secret, this
+// application only verifies them. Without a secret no token is valid.
+@Component
+public class StompConnectTokens {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MIN_SECRET_BYTES = 32;
+
+    private final SecretKeySpec key;
+    private final Clock clock;
+
+    @Autowired
+    public StompConnectTokens(@Value("${hospital.websocket.token-secret:}") String secret) {
+        this(secret, Clock.systemUTC());
+    }
+
+    public StompConnectTokens(String secret, Clock clock) {
+        this.clock = clock;
+        if (secret == null || secret.isBlank()) {
+            this.key = null;
+            return;
+        }
+        byte[] bytes = secret.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length < MIN_SECRET_BYTES) {
+            throw new IllegalStateException("hospital.websocket.token-secret must be at least " + MIN_SECRET_BYTES + " bytes");
+        }
+        this.key = new SecretKeySpec(bytes, ALGORITHM);
+    }
+
+    public boolean isEnabled() {
+        return key != null;
+    }
+
+    public String issue(UUID userID, Instant expiresAt) {
+        if (key == null) throw new IllegalStateException("No WebSocket token secret is configured");
+        long expires = expiresAt.getEpochSecond();
+        return expires + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(sign(userID, expires));
+    }
+
+    // False for missing, malformed, expired or forged tokens and for tokens of another user
+    public boolean verify(UUID userID, String token) {
+        if (key == null || token == null) return false;
+        int dot = token.indexOf('.');
+        if (dot <= 0) return false;
+        long expires;
+        byte[] signature;
+        try {
+            expires = Long.parseLong(token.substring(0, dot));
+            signature = Base64.getUrlDecoder().decode(token.substring(dot + 1));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        if (expires <= clock.instant().getEpochSecond()) return false;
+        // Constant time, the comparison must not tell how much of a forged signature was right
+        return MessageDigest.isEqual(sign(userID, expires), signature);
+    }
+
+    private byte[] sign(UUID userID, long expires) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal((userID + "." + expires).getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
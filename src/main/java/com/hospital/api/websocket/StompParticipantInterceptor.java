@@ -0,0 +1,99 @@
+// src/main/java/com/hospital/api/websocket/StompParticipantInterceptor.java
+package com.hospital.api.websocket;
+
+import java.security.Principal;
+import java.util.UUID;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+import com.hospital.application.common.exceptions.ForbiddenException;
+import com.hospital.application.service.ConversationService;
+import com.hospital.application.service.UserService;
+
+// CONNECT must name an existing user in the user-id header and prove it with a user-token header signed
+// for that user (see StompConnectTokens), that user becomes the session principal.
+// SUBSCRIBE is allowlisted: a conversation topic, for its participants only, and the user's error queue.
+// Anything else is refused, the simple broker would treat wildcards like /topic/** as patterns.
+@Component
+public class StompParticipantInterceptor implements ChannelInterceptor {
+
+    public static final String USER_HEADER = "user-id";
+    public static final String TOKEN_HEADER = "user-token";
+    public static final String CONVERSATION_TOPIC = "/topic/conversations/";
+    public static final String USER_ERROR_QUEUE = "/user" + MessageSocketController.ERROR_QUEUE;
+
+    private final UserService userService;
+    private final ConversationService conversationService;
+    private final StompConnectTokens connectTokens;
+
+    public StompParticipantInterceptor(UserService userService, ConversationService conversationService,
+                                       StompConnectTokens connectTokens) {
+        this.userService = userService;
+        this.conversationService = conversationService;
+        this.connectTokens = connectTokens;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) return message;
+
+        if (accessor.getCommand() == StompCommand.CONNECT) {
+            UUID userID = parse(accessor.getFirstNativeHeader(USER_HEADER), USER_HEADER);
+            if (!connectTokens.isEnabled()) {
+                throw new ForbiddenException("WebSocket connections are not enabled.");
+            }
+            if (!connectTokens.verify(userID, accessor.getFirstNativeHeader(TOKEN_HEADER))) {
+                throw new ForbiddenException("Invalid or expired user token.");
+            }
+            // Throws NotFoundException for unknown users
+            userService.getUser(userID);
+            accessor.setUser(new StompUser(userID));
+        } else if (accessor.getCommand() == StompCommand.SUBSCRIBE) {
+            checkSubscription(accessor);
+        }
+        return message;
+    }
+
+    private void checkSubscription(StompHeaderAccessor accessor) {
+        String destination = accessor.getDestination();
+        if (USER_ERROR_QUEUE.equals(destination)) return;
+        if (destination == null || !destination.startsWith(CONVERSATION_TOPIC)) {
+            throw new ForbiddenException("Subscriptions are only allowed to conversation topics.");
+        }
+        // Only the canonical id, this also keeps pattern characters out of the destination
+        String id = destination.substring(CONVERSATION_TOPIC.length());
+        UUID conversationID = parse(id, "conversation");
+        if (!conversationID.toString().equals(id)) throw new ForbiddenException("Invalid conversation id.");
+        if (!conversationService.isParticipant(conversationID, userOf(accessor))) {
+            throw new ForbiddenException("You are not a participant in this conversation.");
+        }
+    }
+
+    static UUID userOf(StompHeaderAccessor accessor) {
+        Principal user = accessor.getUser();
+        if (user == null) throw new ForbiddenException("Not connected.");
+        return UUID.fromString(user.getName());
+    }
+
+    private static UUID parse(String value, String name) {
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new ForbiddenException("Invalid " + name + " id.");
+        }
+    }
+
+    record StompUser(UUID userID) implements Principal {
+        @Override
+        public String getName() {
+            return userID.toString();
+        }
+    }
+}
@@ -0,0 +1,242 @@
+// src/main/java/com/hospital/application/batch/MessageBatchWriter.java
+package com.hospital.application.batch;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import com.hospital.application.common.exceptions.BadRequestException;
+import com.hospital.application.common.exceptions.ServiceUnavailableException;
+import com.hospital.application.dto.MessageResponse;
+import com.hospital.application.event.MessageSentEvent;
+import com.hospital.application.port.ConversationRepositoryPort;
+import com.hospital.application.port.ConversationSummaryRepositoryPort;
+import com.hospital.application.port.MessageRepositoryPort;
+import com.hospital.domain.id.IdGenerator;
+import com.hospital.domain.model.ConversationMessage;
+import com.hospital.domain.model.MessageModel;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// Collects accepted messages and writes them in one transaction per batch. A batch is written
+// when it reaches maxBatchSize or flushInterval after its first message, whichever comes first.
+// Ids and timestamps are assigned in submission order, so a conversation's rows, its
+// MessageSentEvents and the batches all follow the same order. A message whose conversation
+// changed (was closed) after it was accepted is rejected by its batch instead of written.
+// At most queueCapacity messages wait for a batch, submit fails fast beyond that.
+@Component
+public class MessageBatchWriter {
+
+    private record Pending(ConversationMessage message, long conversationVersion, long acceptedAt,
+                           CompletableFuture<MessageResponse> result) {}
+
+    // Queued by stop, everything submitted before it is still written
+    private static final Pending STOP = new Pending(null, 0, 0, null);
+
+    private final MessageRepositoryPort messageRepositoryPort;
+    private final ConversationRepositoryPort conversationRepositoryPort;
+    private final ConversationSummaryRepositoryPort conversationSummaryRepositoryPort;
+    private final TransactionOperations transactions;
+    private final ApplicationEventPublisher eventPublisher;
+    private final IdGenerator idGenerator;
+    private final int maxBatchSize;
+    private final Duration flushInterval;
+    private final int queueCapacity;
+
+    // One slot more than queueCapacity, so STOP always fits
+    private final BlockingQueue<Pending> queue;
+    // Accepted but not yet written messages per conversation
+    private final Map<UUID, Integer> pendingByConversation = new ConcurrentHashMap<>();
+    private final Object submitLock = new Object();
+    private volatile boolean running;
+    private Thread writer;
+
+    public MessageBatchWriter(
+        MessageRepositoryPort messageRepositoryPort,
+        ConversationRepositoryPort conversationRepositoryPort,
+        ConversationSummaryRepositoryPort conversationSummaryRepositoryPort,
+        TransactionOperations transactions,
+        ApplicationEventPublisher eventPublisher,
+        IdGenerator idGenerator,
+        @Value("${hospital.messages.batch.max-size:100}") int maxBatchSize,
+        @Value("${hospital.messages.batch.flush-interval:PT0.02S}") Duration flushInterval,
+        @Value("${hospital.messages.batch.queue-capacity:10000}") int queueCapacity
+    ) {
+        if (maxBatchSize < 1) throw new IllegalArgumentException("maxBatchSize must be positive");
+        if (queueCapacity < 1) throw new IllegalArgumentException("queueCapacity must be positive");
+        this.messageRepositoryPort = messageRepositoryPort;
+        this.conversationRepositoryPort = conversationRepositoryPort;
+        this.conversationSummaryRepositoryPort = conversationSummaryRepositoryPort;
+        this.transactions = transactions;
+        this.eventPublisher = eventPublisher;
+        this.idGenerator = idGenerator;
+        this.maxBatchSize = maxBatchSize;
+        this.flushInterval = flushInterval;
+        this.queueCapacity = queueCapacity;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity + 1);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = Thread.ofPlatform().name("message-batch-writer").daemon().start(this::run);
+    }
+
+    // Writes what is still queued before the context goes away
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        synchronized (submitLock) {
+            if (!running) return;
+            running = false;
+            queue.add(STOP);
+        }
+        writer.join();
+    }
+
+    // Completes with the saved message once its batch has committed, or exceptionally if the batch failed
+    // or the conversation is no longer at conversationVersion when the batch is written
+    public CompletableFuture<MessageResponse> submit(UUID conversationID, long conversationVersion, UUID authorID, String content) {
+        CompletableFuture<MessageResponse> result = new CompletableFuture<>();
+        synchronized (submitLock) {
+            if (!running) throw new IllegalStateException("Message batch writer is not running");
+            // Only submitters add and they hold the lock, so the size cannot grow past this check
+            if (queue.size() >= queueCapacity) {
+                throw new ServiceUnavailableException("Too many messages are waiting to be saved, please retry.");
+            }
+            MessageModel message = new MessageModel(idGenerator.next(), authorID, content, LocalDateTime.now());
+            pendingByConversation.merge(conversationID, 1, Integer::sum);
+            queue.add(new Pending(new ConversationMessage(conversationID, message), conversationVersion, System.nanoTime(), result));
+        }
+        return result;
+    }
+
+    public boolean hasPending(UUID conversationID) {
+        return pendingByConversation.containsKey(conversationID);
+    }
+
+    private void run() {
+        List<Pending> batch = new ArrayList<>(maxBatchSize);
+        boolean stopped = false;
+        // Set while write runs, an Error escaping it has already released the batch's pending counts
+        boolean writing = false;
+        try {
+            while (true) {
+                Pending first = queue.take();
+                if (first == STOP) {
+                    stopped = true;
+                    return;
+                }
+                batch.add(first);
+                long deadline = first.acceptedAt() + flushInterval.toNanos();
+                boolean stopping = false;
+                while (batch.size() < maxBatchSize) {
+                    Pending next = queue.poll(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    if (next == STOP) {
+                        stopping = true;
+                        break;
+                    }
+                    batch.add(next);
+                }
+                writing = true;
+                write(batch);
+                writing = false;
+                batch.clear();
+                if (stopping) {
+                    stopped = true;
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (!stopped) abandon(batch, writing);
+        }
+    }
+
+    // The writer is gone without a STOP (an Error or an interrupt): stop accepting and fail what
+    // is still waiting, instead of leaving callers with futures that never complete
+    private void abandon(List<Pending> batch, boolean batchReleased) {
+        synchronized (submitLock) {
+            running = false;
+        }
+        List<Pending> queued = new ArrayList<>();
+        queue.drainTo(queued);
+        IllegalStateException failure = new IllegalStateException("Message batch writer stopped unexpectedly");
+        for (Pending pending : batch) {
+            if (!batchReleased) release(pending);
+            pending.result().completeExceptionally(failure);
+        }
+        for (Pending pending : queued) {
+            if (pending == STOP) continue;
+            release(pending);
+            pending.result().completeExceptionally(failure);
+        }
+    }
+
+    private void release(Pending pending) {
+        pendingByConversation.computeIfPresent(pending.message().conversationID(), (id, n) -> n > 1 ? n - 1 : null);
+    }
+
+    private void write(List<Pending> batch) {
+        boolean[] accepted = new boolean[batch.size()];
+        RuntimeException failure = null;
+        try {
+            transactions.executeWithoutResult(status -> {
+                // One read of the batch's conversations, nothing is locked
+                Map<UUID, Long> versions = conversationRepositoryPort.findActiveVersions(
+                    batch.stream().map(pending -> pending.message().conversationID()).collect(Collectors.toSet()));
+                List<Pending> written = new ArrayList<>(batch.size());
+                for (int i = 0; i < batch.size(); i++) {
+                    Pending pending = batch.get(i);
+                    Long version = versions.get(pending.message().conversationID());
+                    accepted[i] = version != null && version == pending.conversationVersion();
+                    if (accepted[i]) written.add(pending);
+                }
+                if (written.isEmpty()) return;
+
+                List<ConversationMessage> messages = written.stream().map(Pending::message).toList();
+                messageRepositoryPort.saveAll(messages);
+                conversationSummaryRepositoryPort.recordMessages(messages, true);
+                for (Pending pending : written) {
+                    eventPublisher.publishEvent(new MessageSentEvent(
+                        pending.message().conversationID(), toResponse(pending.message().message())));
+                }
+            });
+        } catch (RuntimeException e) {
+            failure = e;
+        } finally {
+            // Committed rows now answer hasMessages, the queue no longer has to
+            for (Pending pending : batch) release(pending);
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            Pending pending = batch.get(i);
+            if (failure != null) pending.result().completeExceptionally(failure);
+            else if (!accepted[i])
+                pending.result().completeExceptionally(new BadRequestException("Conversation is closed, messages cannot be sent."));
+            else pending.result().complete(toResponse(pending.message().message()));
+        }
+    }
+
+    private static MessageResponse toResponse(MessageModel message) {
+        return new MessageResponse(
+            message.messageID(), message.authorID(), message.messageContext(), message.messageCreatedAt()
+        );
+    }
+}
@@ -0,0 +1,16 @@
+// src/main/java/com/hospital/application/cache/CacheInvalidationChannel.java
+package com.hospital.application.cache;
+
+import java.util.function.Consumer;
+
+// Carries cache invalidations between application instances.
+// Delivery back to the publishing instance is allowed, subscribers must tolerate it.
+public interface CacheInvalidationChannel {
+
+    // Key sent when every entry of a cache has to go
+    String ALL = "*";
+
+    void publish(String cacheName, String key);
+
+    void subscribe(String cacheName, Consumer<String> onInvalidate);
+}
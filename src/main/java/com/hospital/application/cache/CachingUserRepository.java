@@ -0,0 +1,145 @@
+// src/main/java/com/hospital/application/cache/CachingUserRepository.java
+package com.hospital.application.cache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.hospital.api.projection.DoctorSummary;
+import com.hospital.application.dto.DoctorDirectoryEntry;
+import com.hospital.application.port.UserRepositoryPort;
+import com.hospital.domain.model.UserModel;
+import com.hospital.domain.role.UserRole;
+
+// Read-through cache of users by id in front of the JPA adapter, every other lookup goes straight through.
+// Saves are written through once their transaction commits and announced on the invalidation
+// channel, so other instances drop their copy. Disabling the cache empties it and bypasses it.
+@Primary
+@Component
+public class CachingUserRepository implements UserRepositoryPort {
+
+    public static final String CACHE_NAME = "user";
+
+    private final UserRepositoryPort delegate;
+    private final CacheInvalidationChannel channel;
+    private final TtlCache<UUID, UserModel> users;
+    private volatile boolean enabled;
+
+    public CachingUserRepository(
+        @Qualifier("userRepositoryAdapter") UserRepositoryPort delegate,
+        CacheInvalidationChannel channel,
+        @Value("${hospital.cache.users.enabled:true}") boolean enabled,
+        @Value("${hospital.cache.users.max-bytes:8388608}") long maxBytes,
+        @Value("${hospital.cache.users.ttl:PT10M}") Duration ttl
+    ) {
+        this.delegate = delegate;
+        this.channel = channel;
+        this.users = new TtlCache<>(maxBytes, ttl, CachingUserRepository::estimateBytes);
+        this.enabled = enabled;
+        channel.subscribe(CACHE_NAME, this::onInvalidate);
+    }
+
+    @Override
+    public UserModel save(UserModel user) {
+        UserModel saved = freeze(delegate.save(user));
+        // Reads later in this transaction must not cache the uncommitted row
+        users.invalidate(saved.userID());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) writeThrough(saved);
+                    else users.invalidate(saved.userID());
+                }
+            });
+        } else {
+            writeThrough(saved);
+        }
+        return saved;
+    }
+
+    @Override
+    public Optional<UserModel> findById(UUID userID) {
+        if (!enabled) return delegate.findById(userID);
+        // Unknown ids are not cached, they are rare and a user may be created under them later
+        UserModel user = users.get(userID, id -> delegate.findById(id).map(CachingUserRepository::freeze).orElse(null));
+        return Optional.ofNullable(user);
+    }
+
+    @Override
+    public List<UserModel> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<UserModel> findAllByRole(UserRole role) {
+        return delegate.findAllByRole(role);
+    }
+
+    @Override
+    public List<UserModel> findByNameAndRole(String userName, UserRole role) {
+        return delegate.findByNameAndRole(userName, role);
+    }
+
+    @Override
+    public List<DoctorDirectoryEntry> searchDoctorsByNamePrefix(String prefix, int limit) {
+        return delegate.searchDoctorsByNamePrefix(prefix, limit);
+    }
+
+    @Override
+    public List<DoctorSummary> findDoctorLeaderboard(long minRatings, Double afterRating, UUID afterId, int limit) {
+        return delegate.findDoctorLeaderboard(minRatings, afterRating, afterId, limit);
+    }
+
+    @Override
+    public void deleteAll() {
+        delegate.deleteAll();
+        users.invalidateAll();
+        channel.publish(CACHE_NAME, CacheInvalidationChannel.ALL);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Kill switch, takes effect immediately and leaves nothing behind to serve stale later
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) users.invalidateAll();
+    }
+
+    public TtlCache.Stats stats() {
+        return users.stats();
+    }
+
+    // Published first, so an in-process channel that delivers back to us cannot drop the fresh entry
+    private void writeThrough(UserModel saved) {
+        channel.publish(CACHE_NAME, saved.userID().toString());
+        if (enabled) users.put(saved.userID(), saved);
+    }
+
+    private void onInvalidate(String key) {
+        if (CacheInvalidationChannel.ALL.equals(key)) users.invalidateAll();
+        else users.invalidate(UUID.fromString(key));
+    }
+
+    // Cached instances are shared between callers, so the roles must not be mutable
+    private static UserModel freeze(UserModel user) {
+        Set<UserRole> roles = user.userRoles() == null ? Set.of() : Set.copyOf(user.userRoles());
+        return new UserModel(user.userID(), user.userName(), roles);
+    }
+
+    // Rough retained size: record, UUID, String with its array, roles set and the cache entry around them
+    static long estimateBytes(UserModel user) {
+        return 200 + (user.userName() == null ? 0 : user.userName().length());
+    }
+}
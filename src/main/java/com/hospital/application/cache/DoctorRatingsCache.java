@@ -0,0 +1,58 @@
+// src/main/java/com/hospital/application/cache/DoctorRatingsCache.java
+package com.hospital.application.cache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.hospital.api.projection.DoctorSummary;
+import com.hospital.application.dto.DoctorRatingResponse;
+import com.hospital.application.event.DoctorRatingsChangedEvent;
+
+// Caches leaderboard pages and single doctor ratings.
+// Entries are dropped after the transaction that changed a rating commits.
+@Component
+public class DoctorRatingsCache {
+
+    public record LeaderboardKey(long minRatings, Double afterRating, UUID afterId, int limit) {}
+
+    private final TtlCache<LeaderboardKey, List<DoctorSummary>> leaderboard;
+    private final TtlCache<UUID, DoctorRatingResponse> ratings;
+
+    public DoctorRatingsCache(
+        @Value("${hospital.cache.doctors.max-entries:1000}") int maxEntries,
+        @Value("${hospital.cache.doctors.ttl:PT5M}") Duration ttl
+    ) {
+        this.leaderboard = new TtlCache<>(maxEntries, ttl);
+        this.ratings = new TtlCache<>(maxEntries, ttl);
+    }
+
+    public List<DoctorSummary> leaderboard(LeaderboardKey key, Supplier<List<DoctorSummary>> loader) {
+        return leaderboard.get(key, k -> List.copyOf(loader.get()));
+    }
+
+    public DoctorRatingResponse rating(UUID doctorId, Supplier<DoctorRatingResponse> loader) {
+        return ratings.get(doctorId, k -> loader.get());
+    }
+
+    // Every page can contain the changed doctor, so the whole leaderboard goes
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDoctorRatingsChanged(DoctorRatingsChangedEvent event) {
+        leaderboard.invalidateAll();
+        if (event.doctorId() == null) ratings.invalidateAll();
+        else ratings.invalidate(event.doctorId());
+    }
+
+    public Map<String, TtlCache.Stats> stats() {
+        return Map.of(
+            "doctorLeaderboard", leaderboard.stats(),
+            "doctorRating", ratings.stats()
+        );
+    }
+}
@@ -0,0 +1,30 @@
+// src/main/java/com/hospital/application/cache/InProcessCacheInvalidationChannel.java
+package com.hospital.application.cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// Delivers invalidations synchronously to the subscribers of this JVM.
+// Enough for a single instance and for tests, several instances need a shared channel.
+@Component
+@ConditionalOnProperty(name = "hospital.cache.invalidation", havingValue = "in-process", matchIfMissing = true)
+public class InProcessCacheInvalidationChannel implements CacheInvalidationChannel {
+
+    private final Map<String, List<Consumer<String>>> subscribers = new ConcurrentHashMap<>();
+
+    @Override
+    public void publish(String cacheName, String key) {
+        subscribers.getOrDefault(cacheName, List.of()).forEach(subscriber -> subscriber.accept(key));
+    }
+
+    @Override
+    public void subscribe(String cacheName, Consumer<String> onInvalidate) {
+        subscribers.computeIfAbsent(cacheName, name -> new CopyOnWriteArrayList<>()).add(onInvalidate);
+    }
+}
@@ -0,0 +1,131 @@
+// src/main/java/com/hospital/application/cache/TtlCache.java
+package com.hospital.application.cache;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+
+// Small bounded LRU cache with a fixed time to live per entry.
+// Bounded by the summed weight of its entries, every entry weighs 1 unless a weigher is given.
+// Loads run outside the lock, a load that overlaps an invalidation or a put is returned but not stored.
+public class TtlCache<K, V> {
+
+    public record Stats(long hits, long misses, double hitRate, long evictions, long expirations,
+                        int size, long weight, long maxWeight) {}
+
+    private record Entry<V>(V value, long weight, long expiresAt) {}
+
+    private final long maxWeight;
+    private final long ttlNanos;
+    private final ToLongFunction<? super V> weigher;
+    private final LongSupplier clock;
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+
+    // Bumped on every invalidation and put, loads started before it are not cached
+    private long generation;
+    private long weight;
+
+    public TtlCache(int maxEntries, Duration ttl) {
+        this(maxEntries, ttl, v -> 1, System::nanoTime);
+    }
+
+    public TtlCache(long maxWeight, Duration ttl, ToLongFunction<? super V> weigher) {
+        this(maxWeight, ttl, weigher, System::nanoTime);
+    }
+
+    TtlCache(int maxEntries, Duration ttl, LongSupplier clock) {
+        this(maxEntries, ttl, v -> 1, clock);
+    }
+
+    TtlCache(long maxWeight, Duration ttl, ToLongFunction<? super V> weigher, LongSupplier clock) {
+        if (maxWeight < 1) throw new IllegalArgumentException("maxWeight must be positive");
+        if (ttl.isNegative() || ttl.isZero()) throw new IllegalArgumentException("ttl must be positive");
+        this.maxWeight = maxWeight;
+        this.ttlNanos = ttl.toNanos();
+        this.weigher = weigher;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        long loadGeneration;
+        synchronized (this) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null) {
+                if (entry.expiresAt() - clock.getAsLong() > 0) {
+                    hits.incrementAndGet();
+                    return entry.value();
+                }
+                remove(key);
+                expirations.incrementAndGet();
+            }
+            loadGeneration = generation;
+        }
+        misses.incrementAndGet();
+
+        V value = loader.apply(key);
+        if (value == null) return null;
+
+        synchronized (this) {
+            if (loadGeneration == generation) store(key, value);
+        }
+        return value;
+    }
+
+    // Stores a value that is known to be current, loads still in flight are not cached over it
+    public synchronized void put(K key, V value) {
+        generation++;
+        remove(key);
+        store(key, value);
+    }
+
+    public synchronized void invalidate(K key) {
+        generation++;
+        remove(key);
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+        weight = 0;
+    }
+
+    public synchronized Stats stats() {
+        long h = hits.get();
+        long m = misses.get();
+        double hitRate = h + m == 0 ? 0 : (double) h / (h + m);
+        return new Stats(h, m, hitRate, evictions.get(), expirations.get(), entries.size(), weight, maxWeight);
+    }
+
+    private void store(K key, V value) {
+        long entryWeight = weigher.applyAsLong(value);
+        Entry<V> previous = entries.put(key, new Entry<>(value, entryWeight, clock.getAsLong() + ttlNanos));
+        if (previous != null) weight -= previous.weight();
+        weight += entryWeight;
+        evictOverflow();
+    }
+
+    private void remove(K key) {
+        Entry<V> removed = entries.remove(key);
+        if (removed != null) weight -= removed.weight();
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+        while (weight > maxWeight && it.hasNext()) {
+            weight -= it.next().getValue().weight();
+            it.remove();
+            evictions.incrementAndGet();
+        }
+    }
+}
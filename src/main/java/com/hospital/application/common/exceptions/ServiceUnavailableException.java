@@ -0,0 +1,6 @@
+package com.hospital.application.common.exceptions;
+
+// 503 Service Unavailable
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException(String message) { super(message); }
+}
@@ -0,0 +1,9 @@
+// src/main/java/com/hospital/application/dto/ChatMessageRequest.java
+package com.hospital.application.dto;
+
+// WebSocket send, the author is the connected user
+public record ChatMessageRequest(
+    @jakarta.validation.constraints.NotBlank
+    @jakarta.validation.constraints.Size(max = 1000)
+    String messageContent
+) {}
@@ -0,0 +1,10 @@
+// src/main/java/com/hospital/application/dto/DoctorDirectoryEntry.java
+package com.hospital.application.dto;
+
+import java.util.UUID;
+
+// One doctor in a name search, the name as it was entered
+public record DoctorDirectoryEntry(
+    UUID doctorID,
+    String doctorName
+) {}
@@ -0,0 +1,17 @@
+// src/main/java/com/hospital/application/dto/InboxEntryResponse.java
+package com.hospital.application.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.hospital.domain.status.ConversationStatus;
+
+public record InboxEntryResponse(
+    UUID conversationID,
+    ConversationStatus conversationStatus,
+    LocalDateTime lastActivityAt,
+    UUID lastMessageID,
+    UUID lastAuthorID,
+    String lastMessageSnippet,
+    int unreadCount
+) {}
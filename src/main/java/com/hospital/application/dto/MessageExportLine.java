@@ -0,0 +1,14 @@
+// src/main/java/com/hospital/application/dto/MessageExportLine.java
+package com.hospital.application.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// One line of a transcript export, same field names as a bulk import line plus the conversation
+public record MessageExportLine(
+    UUID conversationID,
+    UUID messageID,
+    UUID messageAuthorId,
+    String messageContent,
+    LocalDateTime messageCreatedAt
+) {}
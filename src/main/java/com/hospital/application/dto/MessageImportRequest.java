@@ -0,0 +1,13 @@
+// src/main/java/com/hospital/application/dto/MessageImportRequest.java
+package com.hospital.application.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// One line of a bulk import, messageID is optional and generated when missing
+public record MessageImportRequest(
+    UUID messageID,
+    UUID messageAuthorId,
+    String messageContent,
+    LocalDateTime messageCreatedAt
+) {}
@@ -0,0 +1,13 @@
+// src/main/java/com/hospital/application/dto/MessageImportResponse.java
+package com.hospital.application.dto;
+
+import java.util.UUID;
+
+public record MessageImportResponse(
+    UUID conversationID,
+    long importedMessages,
+    // Already stored by an earlier attempt with the same messageIDs
+    long skippedMessages,
+    long elapsedMillis,
+    double rowsPerSecond
+) {}
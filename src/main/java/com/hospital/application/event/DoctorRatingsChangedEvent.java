@@ -0,0 +1,8 @@
+// src/main/java/com/hospital/application/event/DoctorRatingsChangedEvent.java
+package com.hospital.application.event;
+
+import java.util.UUID;
+
+// Published when a doctor's rating changes or a new doctor is added.
+// A null doctorId means every doctor may have changed (stats rebuild).
+public record DoctorRatingsChangedEvent(UUID doctorId) {}
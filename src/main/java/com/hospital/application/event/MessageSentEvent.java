@@ -0,0 +1,9 @@
+// src/main/java/com/hospital/application/event/MessageSentEvent.java
+package com.hospital.application.event;
+
+import java.util.UUID;
+
+import com.hospital.application.dto.MessageResponse;
+
+// Published when a message is saved, subscribers see it after the transaction commits
+public record MessageSentEvent(UUID conversationID, MessageResponse message) {}
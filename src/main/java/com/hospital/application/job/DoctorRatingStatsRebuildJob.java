@@ -0,0 +1,30 @@
+// src/main/java/com/hospital/application/job/DoctorRatingStatsRebuildJob.java
+package com.hospital.application.job;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.hospital.application.service.RatingService;
+
+// Periodically recomputes doctor_rating_stats from the ratings table.
+// Disabled by default, set hospital.ratings.stats-rebuild-cron to enable it.
+@Component
+public class DoctorRatingStatsRebuildJob {
+
+    private static final Logger log = LoggerFactory.getLogger(DoctorRatingStatsRebuildJob.class);
+
+    private final RatingService ratingService;
+
+    public DoctorRatingStatsRebuildJob(RatingService ratingService) {
+        this.ratingService = ratingService;
+    }
+
+    @Scheduled(cron = "${hospital.ratings.stats-rebuild-cron:-}")
+    public void rebuild() {
+        long start = System.nanoTime();
+        int doctors = ratingService.rebuildDoctorRatingStats();
+        log.info("Rebuilt rating stats for {} doctors in {} ms", doctors, (System.nanoTime() - start) / 1_000_000);
+    }
+}
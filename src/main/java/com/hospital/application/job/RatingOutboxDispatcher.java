@@ -0,0 +1,82 @@
+// src/main/java/com/hospital/application/job/RatingOutboxDispatcher.java
+package com.hospital.application.job;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.hospital.application.service.RatingService;
+import com.hospital.domain.model.RatingOutboxEntry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// Drains rating_outbox into doctor_rating_stats, one transaction per batch. Instances can run it
+// side by side, each claims the entries the others have not locked.
+// Throughput is hospital.ratings.outbox.folded, the delay from rating to aggregate is
+// hospital.ratings.outbox.lag and the age of the oldest waiting entry is hospital.ratings.outbox.oldest.
+@Component
+@ConditionalOnProperty(name = "hospital.ratings.outbox.dispatcher.enabled", havingValue = "true", matchIfMissing = true)
+public class RatingOutboxDispatcher {
+
+    private final RatingService ratingService;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    private final Counter folded;
+    private final Timer batchTime;
+    private final Timer lag;
+    private final AtomicLong oldestPendingMillis = new AtomicLong();
+
+    public RatingOutboxDispatcher(
+        RatingService ratingService,
+        MeterRegistry registry,
+        @Value("${hospital.ratings.outbox.batch-size:500}") int batchSize,
+        @Value("${hospital.ratings.outbox.max-batches-per-run:20}") int maxBatchesPerRun
+    ) {
+        if (batchSize < 1) throw new IllegalArgumentException("batchSize must be positive");
+        this.ratingService = ratingService;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.folded = Counter.builder("hospital.ratings.outbox.folded")
+            .description("Ratings folded into the doctor aggregates")
+            .register(registry);
+        this.batchTime = Timer.builder("hospital.ratings.outbox.batch")
+            .description("Time to fold one outbox batch")
+            .register(registry);
+        this.lag = Timer.builder("hospital.ratings.outbox.lag")
+            .description("Delay between a rating and its fold into the doctor aggregate")
+            .register(registry);
+        Gauge.builder("hospital.ratings.outbox.oldest", oldestPendingMillis, millis -> millis.get() / 1000.0)
+            .description("Age of the oldest rating still waiting in the outbox")
+            .baseUnit("seconds")
+            .register(registry);
+    }
+
+    // Stops early once a batch comes back short, the outbox is drained
+    @Scheduled(fixedDelayString = "${hospital.ratings.outbox.poll-interval:PT1S}")
+    public void dispatch() {
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            long start = System.nanoTime();
+            List<RatingOutboxEntry> batch = ratingService.foldPendingRatings(batchSize);
+            if (batch.isEmpty()) break;
+            batchTime.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            folded.increment(batch.size());
+            LocalDateTime now = LocalDateTime.now();
+            for (RatingOutboxEntry entry : batch) lag.record(Duration.between(entry.createdAt(), now));
+            if (batch.size() < batchSize) break;
+        }
+        oldestPendingMillis.set(ratingService.oldestPendingRatingAt()
+            .map(createdAt -> Math.max(0, Duration.between(createdAt, LocalDateTime.now()).toMillis()))
+            .orElse(0L));
+    }
+}
@@ -1,16 +1,33 @@
 // src/main/java/com/hospital/application/port/ConversationRepositoryPort.java
 package com.hospital.application.port;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
+import com.hospital.domain.model.ConversationCursor;
 import com.hospital.domain.model.ConversationModel;
+import com.hospital.domain.status.ConversationStatus;
 // Interface for conversation
 public interface ConversationRepositoryPort {
     ConversationModel save(ConversationModel conversation);
     Optional<ConversationModel> findById(UUID conversationID);
     List<ConversationModel> findAllByUserId(UUID userID);
-    Optional<ConversationModel> findActiveBetween(UUID userA, UUID userB);
+    // Newest first, statuses empty means any status. With a cursor only conversations older than it.
+    List<ConversationModel> findPageByUserId(UUID userID, Set<ConversationStatus> statuses, ConversationCursor before, int limit);
+    // The pair's ACTIVE conversation, at most one exists per (patient, doctor)
+    Optional<ConversationModel> findActiveBetween(UUID patientID, UUID doctorID);
+    // Reserves the pair for a new ACTIVE conversation, to be saved in the same transaction.
+    // False if the pair already has one, including one created concurrently.
+    boolean claimActivePair(UUID conversationID, UUID patientID, UUID doctorID);
+    // Flips an ACTIVE conversation to CLOSED, bumps its version and frees its pair.
+    // A single conditional statement, false if another close won the transition.
+    boolean closeIfActive(UUID conversationID, LocalDateTime closedAt);
+    // Current versions of the given conversations that are still ACTIVE, closed or missing ones are left out
+    Map<UUID, Long> findActiveVersions(Collection<UUID> conversationIDs);
     void deleteAll();
 }
@@ -0,0 +1,20 @@
+// src/main/java/com/hospital/application/port/ConversationSummaryRepositoryPort.java
+package com.hospital.application.port;
+
+import java.util.List;
+import java.util.UUID;
+
+import com.hospital.domain.model.ConversationMessage;
+import com.hospital.domain.model.ConversationSummaryModel;
+import com.hospital.domain.model.InboxCursor;
+
+// Interface for the inbox read model
+public interface ConversationSummaryRepositoryPort {
+    // Moves each conversation's last message forward and, with countUnread, adds the messages
+    // to the unread count of every participant but their author. Call it in the saving transaction.
+    void recordMessages(List<ConversationMessage> messages, boolean countUnread);
+    // False when the user has no summary row for the conversation
+    boolean markRead(UUID conversationID, UUID userID);
+    // Most recent activity first. With no cursor the first page is returned.
+    List<ConversationSummaryModel> findInbox(UUID userID, InboxCursor before, int limit);
+}
@@ -0,0 +1,15 @@
+// src/main/java/com/hospital/application/port/DoctorRatingStatsRepositoryPort.java
+package com.hospital.application.port;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import com.hospital.domain.model.DoctorRatingStatsModel;
+// Interface for doctor rating aggregates
+public interface DoctorRatingStatsRepositoryPort {
+    void recordScores(Map<UUID, List<Integer>> scoresByDoctor);
+    Optional<DoctorRatingStatsModel> findByDoctorId(UUID doctorId);
+    int rebuildAll();
+}
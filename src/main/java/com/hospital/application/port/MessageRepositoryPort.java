@@ -1,13 +1,32 @@
 // src/main/java/com/hospital/application/port/MessageRepositoryPort.java
 package com.hospital.application.port;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import com.hospital.domain.model.ConversationMessage;
+import com.hospital.domain.model.MessageCursor;
 import com.hospital.domain.model.MessageModel;
 // Interface for message
 public interface MessageRepositoryPort {
     MessageModel save(MessageModel message, UUID conversationID);
+    // Saves only if the conversation is still ACTIVE at conversationVersion, false if it changed since
+    boolean saveIfUnchanged(MessageModel message, UUID conversationID, long conversationVersion);
+    // Inserts in list order, conversations and authors are expected to exist.
+    // The rows are written immediately and nothing stays managed, so call it chunk by chunk.
+    void saveAll(List<ConversationMessage> messages);
+    // The subset of messageIDs already stored in this conversation
+    Set<UUID> findExistingIDs(UUID conversationID, Collection<UUID> messageIDs);
     List<MessageModel> findByConversationID(UUID conversationID);
+    boolean hasMessages(UUID conversationID);
+    // Oldest first. With no cursor the latest page is returned, at most one cursor may be given.
+    List<MessageModel> findPage(UUID conversationID, MessageCursor before, MessageCursor after, int limit);
+    // Read lazily from the database, oldest first. Must be consumed inside a transaction and closed.
+    Stream<ConversationMessage> streamByConversationID(UUID conversationID);
+    // Every conversation the user takes part in, one after the other
+    Stream<ConversationMessage> streamByParticipant(UUID userID);
     void deleteAll();
 }
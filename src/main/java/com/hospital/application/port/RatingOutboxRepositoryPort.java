@@ -0,0 +1,18 @@
+// src/main/java/com/hospital/application/port/RatingOutboxRepositoryPort.java
+package com.hospital.application.port;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import com.hospital.domain.model.RatingModel;
+import com.hospital.domain.model.RatingOutboxEntry;
+// Interface for ratings waiting to be folded into the doctor aggregates
+public interface RatingOutboxRepositoryPort {
+    void append(RatingModel rating);
+    // Oldest entries first, entries claimed by another transaction are skipped
+    List<RatingOutboxEntry> claimBatch(int limit);
+    void remove(List<Long> entryIds);
+    Optional<LocalDateTime> oldestPendingAt();
+    int discardAll();
+}
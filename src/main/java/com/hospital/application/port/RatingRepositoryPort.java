@@ -9,6 +9,4 @@ import com.hospital.domain.model.RatingModel;
 public interface RatingRepositoryPort {
     RatingModel save(RatingModel rating);
     Optional<RatingModel> findByConversationAndPatient(UUID conversationId, UUID patientId);
-    Double averageForDoctor(UUID doctorId);
-    long countForDoctor(UUID doctorId);
 }
@@ -5,6 +5,8 @@ import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import com.hospital.api.projection.DoctorSummary;
+import com.hospital.application.dto.DoctorDirectoryEntry;
 import com.hospital.domain.model.UserModel;
 import com.hospital.domain.role.UserRole;
 // Interface for user
@@ -13,6 +15,10 @@ public interface UserRepositoryPort {
     Optional<UserModel> findById(UUID userID);
     List<UserModel> findAll();
     List<UserModel> findAllByRole(UserRole role);
+    // Names are compared in their normalized form, see NameNormalizer
     List<UserModel> findByNameAndRole(String userName, UserRole role);
+    // Doctors whose normalized name starts with the normalized prefix, in name order
+    List<DoctorDirectoryEntry> searchDoctorsByNamePrefix(String prefix, int limit);
+    List<DoctorSummary> findDoctorLeaderboard(long minRatings, Double afterRating, UUID afterId, int limit);
     void deleteAll();
 }
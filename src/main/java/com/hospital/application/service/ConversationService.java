@@ -3,6 +3,7 @@ package com.hospital.application.service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -12,9 +13,13 @@ import com.hospital.application.common.exceptions.BadRequestException;
 import com.hospital.application.common.exceptions.ForbiddenException;
 import com.hospital.application.common.exceptions.NotFoundException;
 import com.hospital.application.dto.ConversationResponse;
+import com.hospital.application.dto.InboxEntryResponse;
 import com.hospital.application.port.ConversationRepositoryPort;
+import com.hospital.application.port.ConversationSummaryRepositoryPort;
 import com.hospital.application.port.UserRepositoryPort;
+import com.hospital.domain.model.ConversationCursor;
 import com.hospital.domain.model.ConversationModel;
+import com.hospital.domain.model.InboxCursor;
 import com.hospital.domain.model.UserModel;
 import com.hospital.domain.role.UserRole;
 import com.hospital.domain.status.ConversationStatus;
@@ -24,21 +29,74 @@ import com.hospital.domain.status.ConversationStatus;
 @Service
 public class ConversationService {
 
+    public static final int MAX_CONVERSATION_PAGE_SIZE = 100;
+
     private final ConversationRepositoryPort conversationRepository;
+    private final ConversationSummaryRepositoryPort conversationSummaryRepository;
     private final UserRepositoryPort userRepository;
 
     public ConversationService
     (
         ConversationRepositoryPort conversationRepository,   
+        ConversationSummaryRepositoryPort conversationSummaryRepository,
         UserRepositoryPort userRepository
     ) {
         this.conversationRepository = conversationRepository;
+        this.conversationSummaryRepository = conversationSummaryRepository;
         this.userRepository = userRepository;
     }
 
     // ListByUser(UUID userId) -> return all Converstation about user
+    @org.springframework.transaction.annotation.Transactional(readOnly = true)
     public List<ConversationResponse> listByUser(UUID userId) {
-        return conversationRepository.findAllByUserId(userId).stream()
+        return toResponses(conversationRepository.findAllByUserId(userId));
+    }
+
+    // One page of the user's conversations, newest first, optionally only the given statuses.
+    // The next page starts before the last conversation of this one.
+    @org.springframework.transaction.annotation.Transactional(readOnly = true)
+    public List<ConversationResponse> listByUser(UUID userId, Set<ConversationStatus> statuses, ConversationCursor before, int limit) {
+        if (limit < 1 || limit > MAX_CONVERSATION_PAGE_SIZE) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_CONVERSATION_PAGE_SIZE + ".");
+        }
+        return toResponses(conversationRepository.findPageByUserId(userId, statuses, before, limit));
+    }
+
+    // One page of the user's inbox, most recent activity first, with the last message and the user's
+    // unread count of every conversation. The next page starts before the last entry of this one.
+    @org.springframework.transaction.annotation.Transactional(readOnly = true)
+    public List<InboxEntryResponse> listInbox(UUID userId, InboxCursor before, int limit) {
+        if (limit < 1 || limit > MAX_CONVERSATION_PAGE_SIZE) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_CONVERSATION_PAGE_SIZE + ".");
+        }
+        return conversationSummaryRepository.findInbox(userId, before, limit).stream()
+            .map(summary -> new InboxEntryResponse(
+                summary.conversationID(),
+                summary.conversationStatus(),
+                summary.lastActivityAt(),
+                summary.lastMessageID(),
+                summary.lastAuthorID(),
+                summary.lastMessageSnippet(),
+                summary.unreadCount()
+            ))
+            .toList();
+    }
+
+    // Clears the user's unread count. The conversation is only read when nothing was updated,
+    // to tell a missing conversation from a user who is not in it.
+    public void markRead(UUID conversationID, UUID userId) {
+        if (conversationSummaryRepository.markRead(conversationID, userId)) return;
+
+        ConversationModel conversationModel = conversationRepository.findById(conversationID)
+            .orElseThrow(() -> new NotFoundException("Conversation not found"));
+        if (!conversationModel.conversationUsersList().contains(userId)) {
+            throw new ForbiddenException("You are not a participant in this conversation.");
+        }
+        // A participant of a conversation without messages has nothing unread
+    }
+
+    private static List<ConversationResponse> toResponses(List<ConversationModel> conversations) {
+        return conversations.stream()
             .map(
                 conversation -> new ConversationResponse(
                 conversation.conversationID(),
@@ -50,6 +108,14 @@ public class ConversationService {
             .collect(Collectors.toList());
     }
 
+    // Used to authorize subscriptions to a conversation's live messages
+    @org.springframework.transaction.annotation.Transactional(readOnly = true)
+    public boolean isParticipant(UUID conversationID, UUID userID) {
+        return conversationRepository.findById(conversationID)
+            .map(conversation -> conversation.conversationUsersList().contains(userID))
+            .orElse(false);
+    }
+
     // CloseConversation(UUID conversationID, UUID actorId) -> return all Converstation about user
     public ConversationResponse closeConversation(UUID conversationID, UUID actorId) {
         ConversationModel conversationModel = conversationRepository.findById(conversationID)
@@ -68,18 +134,15 @@ public class ConversationService {
             throw new BadRequestException("The conversation is already closed.");
         }
 
-        ConversationModel closed = new ConversationModel(
-            conversationModel.conversationID(), 
-            conversationModel.conversationUsersList(),
-            ConversationStatus.CLOSED, 
-            conversationModel.conversationCreatedAt(), 
-            LocalDateTime.now()
-        );
-        ConversationModel saved = conversationRepository.save(closed);
+        // Guarded on status, a concurrent close makes this one lose instead of writing twice
+        LocalDateTime closedAt = LocalDateTime.now();
+        if (!conversationRepository.closeIfActive(conversationID, closedAt)) {
+            throw new BadRequestException("The conversation is already closed.");
+        }
 
         return new ConversationResponse(
-            saved.conversationID(), saved.conversationUsersList(), saved.conversationStatus(),
-            saved.conversationCreatedAt(), saved.conversationClosedAt()
+            conversationModel.conversationID(), conversationModel.conversationUsersList(), ConversationStatus.CLOSED,
+            conversationModel.conversationCreatedAt(), closedAt
         );
     }
 }
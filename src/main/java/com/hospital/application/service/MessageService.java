@@ -3,20 +3,39 @@ package com.hospital.application.service;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.support.TransactionOperations;
 
+import com.hospital.application.batch.MessageBatchWriter;
 import com.hospital.application.common.exceptions.BadRequestException;
+import com.hospital.application.common.exceptions.ConflictException;
 import com.hospital.application.common.exceptions.ForbiddenException;
 import com.hospital.application.common.exceptions.NotFoundException;
+import com.hospital.application.dto.MessageExportLine;
+import com.hospital.application.dto.MessageImportResponse;
 import com.hospital.application.dto.MessageResponse;
 import com.hospital.application.dto.MessageSendRequest;
+import com.hospital.application.event.MessageSentEvent;
 import com.hospital.application.port.ConversationRepositoryPort;
+import com.hospital.application.port.ConversationSummaryRepositoryPort;
 import com.hospital.application.port.MessageRepositoryPort;
 import com.hospital.application.port.UserRepositoryPort;
+import com.hospital.domain.id.IdGenerator;
+import com.hospital.domain.model.ConversationMessage;
 import com.hospital.domain.model.ConversationModel;
+import com.hospital.domain.model.MessageCursor;
 import com.hospital.domain.model.MessageModel;
 import com.hospital.domain.model.UserModel;
 import com.hospital.domain.role.UserRole;
@@ -26,19 +45,40 @@ import com.hospital.domain.status.ConversationStatus;
 @Service
 public class MessageService {
 
+    public static final int MAX_MESSAGE_PAGE_SIZE = 200;
+    // Rows written per flush-and-clear during an import, a multiple of hibernate.jdbc.batch_size
+    public static final int IMPORT_CHUNK_SIZE = 1000;
+
+    private static final Logger log = LoggerFactory.getLogger(MessageService.class);
+
     private final MessageRepositoryPort messageRepositoryPort;
     private final ConversationRepositoryPort conversationRepositoryPort;
+    private final ConversationSummaryRepositoryPort conversationSummaryRepositoryPort;
     private final UserRepositoryPort userRepositoryPort;
+    private final MessageBatchWriter messageBatchWriter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final IdGenerator idGenerator;
+    private final TransactionOperations transactions;
 
     public MessageService
     (
         MessageRepositoryPort messageRepositoryPort,
         ConversationRepositoryPort conversationRepositoryPort,
-        UserRepositoryPort userRepositoryPort
+        ConversationSummaryRepositoryPort conversationSummaryRepositoryPort,
+        UserRepositoryPort userRepositoryPort,
+        MessageBatchWriter messageBatchWriter,
+        ApplicationEventPublisher eventPublisher,
+        IdGenerator idGenerator,
+        TransactionOperations transactions
     ) {
         this.messageRepositoryPort = messageRepositoryPort;
         this.conversationRepositoryPort = conversationRepositoryPort;
+        this.conversationSummaryRepositoryPort = conversationSummaryRepositoryPort;
         this.userRepositoryPort = userRepositoryPort;
+        this.messageBatchWriter = messageBatchWriter;
+        this.eventPublisher = eventPublisher;
+        this.idGenerator = idGenerator;
+        this.transactions = transactions;
     }
 
     // Send message from patient to doctor with name
@@ -70,36 +110,89 @@ public class MessageService {
 
         ConversationModel conversationModel = conversationRepositoryPort
             .findActiveBetween(patient.userID(), doctor.userID())
-            .orElseGet(() -> {
-                ConversationModel created = new ConversationModel(
-                    UUID.randomUUID(),
-                    List.of(patient.userID(), doctor.userID()),
-                    ConversationStatus.ACTIVE,
-                    LocalDateTime.now(),
-                    null
-                );
-                return conversationRepositoryPort.save(created);
-        });
+            .orElseGet(() -> openConversation(patient.userID(), doctor.userID()));
 
         MessageModel message = new MessageModel(
-            UUID.randomUUID(),
+            idGenerator.next(),
             patient.userID(),
             content,
             LocalDateTime.now()
         );
-        MessageModel saved = messageRepositoryPort.save(message, conversationModel.conversationID());
+        // A close that committed since the lookup rejects the message, retrying opens a new conversation
+        if (!messageRepositoryPort.saveIfUnchanged(message, conversationModel.conversationID(), conversationModel.conversationVersion())) {
+            throw new ConflictException("The conversation was closed concurrently, please retry.");
+        }
+        conversationSummaryRepositoryPort.recordMessages(List.of(new ConversationMessage(conversationModel.conversationID(), message)), true);
 
-        return new MessageResponse(
-            saved.messageID(), saved.authorID(), saved.messageContext(), saved.messageCreatedAt()
+        MessageResponse response = new MessageResponse(
+            message.messageID(), message.authorID(), message.messageContext(), message.messageCreatedAt()
         );
+        eventPublisher.publishEvent(new MessageSentEvent(conversationModel.conversationID(), response));
+        return response;
+    }
+
+    // The pair is claimed before the conversation is written. A concurrent first message for the same
+    // pair loses the claim and joins the conversation the winner created.
+    private ConversationModel openConversation(UUID patientID, UUID doctorID) {
+        UUID conversationID = idGenerator.next();
+        if (!conversationRepositoryPort.claimActivePair(conversationID, patientID, doctorID)) {
+            return conversationRepositoryPort.findActiveBetween(patientID, doctorID)
+                .orElseThrow(() -> new ConflictException("The conversation changed concurrently, please retry."));
+        }
+        return conversationRepositoryPort.save(new ConversationModel(
+            conversationID,
+            List.of(patientID, doctorID),
+            ConversationStatus.ACTIVE,
+            LocalDateTime.now(),
+            null
+        ));
     }
 
     // Send message from existing conversation
     public MessageResponse sendMessage(UUID conversationID, MessageSendRequest messageSendRequest) {
-        if (messageSendRequest == null || messageSendRequest.messageAuthorId() == null) {
+        if (messageSendRequest == null) {
             throw new BadRequestException("authorID is required.");
         }
-        if (messageSendRequest.messageContent() == null || messageSendRequest.messageContent().isBlank()) {
+        ConversationModel conversationModel = checkCanSend(
+            conversationID, messageSendRequest.messageAuthorId(), messageSendRequest.messageContent(), false);
+
+        MessageModel messageModel = new MessageModel(
+            idGenerator.next(),
+            messageSendRequest.messageAuthorId(),
+            messageSendRequest.messageContent(),
+            LocalDateTime.now()
+        );
+        // Optimistic: the insert only happens if the conversation is unchanged since it was checked,
+        // a send racing a close fails here without either of them taking a lock
+        if (!messageRepositoryPort.saveIfUnchanged(messageModel, conversationID, conversationModel.conversationVersion())) {
+            throw new BadRequestException("Conversation is closed, messages cannot be sent.");
+        }
+        conversationSummaryRepositoryPort.recordMessages(List.of(new ConversationMessage(conversationID, messageModel)), true);
+
+        MessageResponse response = new MessageResponse(
+            messageModel.messageID(),
+            messageModel.authorID(),
+            messageModel.messageContext(),
+            messageModel.messageCreatedAt()
+        );
+        eventPublisher.publishEvent(new MessageSentEvent(conversationID, response));
+        return response;
+    }
+
+    // Same rules as sendMessage, but the message is only queued for the next batch insert.
+    // Messages still waiting in the queue count as conversation history for the doctor rule.
+    // The batch rejects the message if the conversation changed before it was written.
+    @org.springframework.transaction.annotation.Transactional(readOnly = true)
+    public CompletableFuture<MessageResponse> submitMessage(UUID conversationID, UUID authorID, String content) {
+        ConversationModel conversationModel = checkCanSend(conversationID, authorID, content, true);
+        return messageBatchWriter.submit(conversationID, conversationModel.conversationVersion(), authorID, content);
+    }
+
+    private ConversationModel checkCanSend(UUID conversationID, UUID authorID, String content, boolean includeQueued) {
+        if (authorID == null) {
+            throw new BadRequestException("authorID is required.");
+        }
+        if (content == null || content.isBlank()) {
             throw new BadRequestException("Message content cannot be empty.");
         }
 
@@ -109,37 +202,155 @@ public class MessageService {
         if (conversationModel.conversationStatus() != ConversationStatus.ACTIVE) {
             throw new BadRequestException("Conversation is closed, messages cannot be sent.");
         }
-        if (!conversationModel.conversationUsersList().contains(messageSendRequest.messageAuthorId())) {
+        if (!conversationModel.conversationUsersList().contains(authorID)) {
             throw new ForbiddenException("You are not a participant in this conversation.");
         }
 
-        UserModel author = userRepositoryPort.findById(messageSendRequest.messageAuthorId())
+        UserModel author = userRepositoryPort.findById(authorID)
                 .orElseThrow(() -> new NotFoundException("Author user not found"));
 
-        if (author.userRoles().contains(UserRole.DOCTOR) && messageRepositoryPort.findByConversationID(conversationID).isEmpty())
+        if (author.userRoles().contains(UserRole.DOCTOR)
+            && !(includeQueued && messageBatchWriter.hasPending(conversationID))
+            && !messageRepositoryPort.hasMessages(conversationID))
         {
             throw new ForbiddenException("The doctor cannot initiate the conversation.");
         }
+        return conversationModel;
+    }
 
-        MessageModel messageModel = new MessageModel(
-            UUID.randomUUID(),
-            messageSendRequest.messageAuthorId(),
-            messageSendRequest.messageContent(),
-            LocalDateTime.now()
-        );
-        MessageModel saved = messageRepositoryPort.save(messageModel, conversationID);
+    // Bulk import of historical messages, e.g. transcripts from the legacy system. The stream is consumed
+    // lazily and each chunk of IMPORT_CHUNK_SIZE is committed in its own transaction, so no transaction or
+    // connection is held while the next lines are still being uploaded. A failed import keeps the chunks
+    // committed before it; messages whose messageID is already stored in the conversation are skipped, so
+    // sending the same file again with its messageIDs resumes it. Authors must be participants; the
+    // conversation may already be closed and the doctor rule does not apply to history. A missing
+    // messageID is generated. Imported history is not pushed to live subscribers and is not counted as unread.
+    @org.springframework.transaction.annotation.Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public MessageImportResponse importMessages(UUID conversationID, Stream<MessageModel> messages) {
+        ConversationModel conversationModel = transactions.execute(status -> conversationRepositoryPort.findById(conversationID))
+                .orElseThrow(() -> new NotFoundException("Conversation not found"));
+        Set<UUID> participants = Set.copyOf(conversationModel.conversationUsersList());
 
-        return new MessageResponse(
-            saved.messageID(),
-            saved.authorID(),
-            saved.messageContext(),
-            saved.messageCreatedAt()
-        );
+        long start = System.nanoTime();
+        long imported = 0;
+        long skipped = 0;
+        List<ConversationMessage> chunk = new ArrayList<>(IMPORT_CHUNK_SIZE);
+        Iterator<MessageModel> iterator = messages.iterator();
+        while (iterator.hasNext()) {
+            MessageModel message = iterator.next();
+            long saved = imported + skipped;
+            long line = saved + chunk.size() + 1;
+            if (message.authorID() == null || !participants.contains(message.authorID())) {
+                throw new ForbiddenException("Message " + line + ": author is not a participant in this conversation." + savedBefore(saved));
+            }
+            if (message.messageContext() == null || message.messageContext().isBlank()) {
+                throw new BadRequestException("Message " + line + ": content cannot be empty." + savedBefore(saved));
+            }
+            if (message.messageCreatedAt() == null) {
+                throw new BadRequestException("Message " + line + ": messageCreatedAt is required." + savedBefore(saved));
+            }
+            if (message.messageID() == null) {
+                message = new MessageModel(idGenerator.next(), message.authorID(), message.messageContext(), message.messageCreatedAt());
+            }
+            chunk.add(new ConversationMessage(conversationID, message));
+            if (chunk.size() == IMPORT_CHUNK_SIZE) {
+                int written = writeImportChunk(conversationID, chunk);
+                imported += written;
+                skipped += chunk.size() - written;
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            int written = writeImportChunk(conversationID, chunk);
+            imported += written;
+            skipped += chunk.size() - written;
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        double rowsPerSecond = elapsedNanos > 0 ? imported * 1e9 / elapsedNanos : 0;
+        log.info("Imported {} messages into conversation {} in {} ms ({} rows/s), {} already there",
+            imported, conversationID, elapsedNanos / 1_000_000, Math.round(rowsPerSecond), skipped);
+        return new MessageImportResponse(conversationID, imported, skipped, elapsedNanos / 1_000_000, rowsPerSecond);
+    }
+
+    // One import chunk in one transaction, leaving out messages a previous attempt already stored.
+    // Returns how many were written.
+    private int writeImportChunk(UUID conversationID, List<ConversationMessage> chunk) {
+        return transactions.execute(status -> {
+            Set<UUID> existing = messageRepositoryPort.findExistingIDs(conversationID,
+                chunk.stream().map(m -> m.message().messageID()).toList());
+            List<ConversationMessage> fresh = existing.isEmpty() ? chunk
+                : chunk.stream().filter(m -> !existing.contains(m.message().messageID())).toList();
+            if (!fresh.isEmpty()) {
+                messageRepositoryPort.saveAll(fresh);
+                conversationSummaryRepositoryPort.recordMessages(fresh, false);
+            }
+            return fresh.size();
+        });
+    }
+
+    // Tells the client how far a failed import got, the committed messages stay
+    private static String savedBefore(long saved) {
+        return saved == 0 ? "" : " The " + saved + " messages before it are saved.";
+    }
+
+    // Transcript export. Messages are read through a database cursor and handed to the sink one by one,
+    // oldest first, so memory stays flat however long the transcript is. The sink runs inside this
+    // read-only transaction. Returns the number of exported messages.
+    @org.springframework.transaction.annotation.Transactional(readOnly = true)
+    public long exportConversation(UUID conversationID, Consumer<MessageExportLine> sink) {
+        if (conversationRepositoryPort.findById(conversationID).isEmpty()) {
+            throw new NotFoundException("Conversation not found");
+        }
+        try (Stream<ConversationMessage> messages = messageRepositoryPort.streamByConversationID(conversationID)) {
+            return export(messages, sink);
+        }
+    }
+
+    // Every conversation the user takes part in, conversation by conversation
+    @org.springframework.transaction.annotation.Transactional(readOnly = true)
+    public long exportUserTranscripts(UUID userID, Consumer<MessageExportLine> sink) {
+        if (userRepositoryPort.findById(userID).isEmpty()) {
+            throw new NotFoundException("User not found");
+        }
+        try (Stream<ConversationMessage> messages = messageRepositoryPort.streamByParticipant(userID)) {
+            return export(messages, sink);
+        }
+    }
+
+    private static long export(Stream<ConversationMessage> messages, Consumer<MessageExportLine> sink) {
+        long exported = 0;
+        Iterator<ConversationMessage> iterator = messages.iterator();
+        while (iterator.hasNext()) {
+            ConversationMessage next = iterator.next();
+            MessageModel message = next.message();
+            sink.accept(new MessageExportLine(
+                next.conversationID(), message.messageID(), message.authorID(), message.messageContext(), message.messageCreatedAt()));
+            exported++;
+        }
+        return exported;
     }
 
     // List all messages from existing conversation
+    @org.springframework.transaction.annotation.Transactional(readOnly = true)
     public List<MessageResponse> listMessages(UUID conversationID) {
-        List<MessageModel> messageModelList = messageRepositoryPort.findByConversationID(conversationID);
+        return toResponses(messageRepositoryPort.findByConversationID(conversationID));
+    }
+
+    // One page of history, oldest first. Without a cursor the latest messages are returned,
+    // before pages backwards from a message, after pages forwards.
+    @org.springframework.transaction.annotation.Transactional(readOnly = true)
+    public List<MessageResponse> listMessages(UUID conversationID, MessageCursor before, MessageCursor after, int limit) {
+        if (limit < 1 || limit > MAX_MESSAGE_PAGE_SIZE) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_MESSAGE_PAGE_SIZE + ".");
+        }
+        if (before != null && after != null) {
+            throw new BadRequestException("Only one of before and after can be given.");
+        }
+        return toResponses(messageRepositoryPort.findPage(conversationID, before, after, limit));
+    }
+
+    private List<MessageResponse> toResponses(List<MessageModel> messageModelList) {
         List<MessageResponse> messageResponseList = new ArrayList<>();
 
         for (MessageModel messageModel : messageModelList) {
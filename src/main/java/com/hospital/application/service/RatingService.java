@@ -4,10 +4,17 @@ package com.hospital.application.service;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
 import java.util.UUID;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import com.hospital.application.cache.DoctorRatingsCache;
 import com.hospital.application.common.exceptions.BadRequestException;
 import com.hospital.application.common.exceptions.ConflictException;
 import com.hospital.application.common.exceptions.ForbiddenException;
@@ -15,11 +22,17 @@ import com.hospital.application.common.exceptions.NotFoundException;
 import com.hospital.application.dto.DoctorRatingResponse;
 import com.hospital.application.dto.RatingCreateRequest;
 import com.hospital.application.dto.RatingResponse;
+import com.hospital.application.event.DoctorRatingsChangedEvent;
 import com.hospital.application.port.ConversationRepositoryPort;
+import com.hospital.application.port.DoctorRatingStatsRepositoryPort;
+import com.hospital.application.port.RatingOutboxRepositoryPort;
 import com.hospital.application.port.RatingRepositoryPort;
 import com.hospital.application.port.UserRepositoryPort;
+import com.hospital.domain.id.IdGenerator;
 import com.hospital.domain.model.ConversationModel;
+import com.hospital.domain.model.DoctorRatingStatsModel;
 import com.hospital.domain.model.RatingModel;
+import com.hospital.domain.model.RatingOutboxEntry;
 import com.hospital.domain.model.UserModel;
 import com.hospital.domain.role.UserRole;
 import com.hospital.domain.status.ConversationStatus;
@@ -31,15 +44,30 @@ public class RatingService {
     private final RatingRepositoryPort ratingRepositoryPort;
     private final ConversationRepositoryPort conversationRepositoryPort;
     private final UserRepositoryPort userRepositoryPort;
+    private final DoctorRatingStatsRepositoryPort doctorRatingStatsRepositoryPort;
+    private final RatingOutboxRepositoryPort ratingOutboxRepositoryPort;
+    private final DoctorRatingsCache doctorRatingsCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final IdGenerator idGenerator;
 
     public RatingService(
         RatingRepositoryPort ratingRepositoryPort,
         ConversationRepositoryPort conversationRepositoryPort,
-        UserRepositoryPort userRepositoryPort
+        UserRepositoryPort userRepositoryPort,
+        DoctorRatingStatsRepositoryPort doctorRatingStatsRepositoryPort,
+        RatingOutboxRepositoryPort ratingOutboxRepositoryPort,
+        DoctorRatingsCache doctorRatingsCache,
+        ApplicationEventPublisher eventPublisher,
+        IdGenerator idGenerator
     ) {
         this.ratingRepositoryPort = ratingRepositoryPort;
         this.conversationRepositoryPort = conversationRepositoryPort;
         this.userRepositoryPort = userRepositoryPort;
+        this.doctorRatingStatsRepositoryPort = doctorRatingStatsRepositoryPort;
+        this.ratingOutboxRepositoryPort = ratingOutboxRepositoryPort;
+        this.doctorRatingsCache = doctorRatingsCache;
+        this.eventPublisher = eventPublisher;
+        this.idGenerator = idGenerator;
     }
 
     // Patient create rating for doctor between 1-5
@@ -75,7 +103,7 @@ public class RatingService {
 
         RatingModel saved = ratingRepositoryPort.save(
             new RatingModel(
-                UUID.randomUUID(),
+                idGenerator.next(),
                 ratingCreateRequest.conversationId(),
                 ratingCreateRequest.patientId(),
                 ratingCreateRequest.doctorId(),
@@ -84,6 +112,10 @@ public class RatingService {
             )
         );
 
+        // Same transaction as the insert, the score reaches the doctor's aggregate through the outbox
+        // without this request contending for the doctor's stats row
+        ratingOutboxRepositoryPort.append(saved);
+
         return new RatingResponse(
             saved.ratingId(), 
             saved.conversationId(), 
@@ -97,11 +129,50 @@ public class RatingService {
     // Return avarage socre for doctor
     @org.springframework.transaction.annotation.Transactional(readOnly = true)
     public DoctorRatingResponse doctorRating(UUID doctorId) {
+        return doctorRatingsCache.rating(doctorId, () -> loadDoctorRating(doctorId));
+    }
+
+    private DoctorRatingResponse loadDoctorRating(UUID doctorId) {
         userRepositoryPort.findById(doctorId).orElseThrow(() -> new NotFoundException("Doctor not found"));
-        Double avg = ratingRepositoryPort.averageForDoctor(doctorId);
-        long count = ratingRepositoryPort.countForDoctor(doctorId);
-        double rounded = (avg == null) ? 0.0 :
-            BigDecimal.valueOf(avg).setScale(2, RoundingMode.HALF_UP).doubleValue();
-        return new DoctorRatingResponse(doctorId, rounded, count);
+        DoctorRatingStatsModel stats = doctorRatingStatsRepositoryPort.findByDoctorId(doctorId).orElse(null);
+        if (stats == null || stats.ratingCount() == 0)
+            return new DoctorRatingResponse(doctorId, 0.0, 0);
+
+        double rounded = BigDecimal.valueOf(stats.scoreSum())
+            .divide(BigDecimal.valueOf(stats.ratingCount()), 2, RoundingMode.HALF_UP)
+            .doubleValue();
+        return new DoctorRatingResponse(doctorId, rounded, stats.ratingCount());
+    }
+
+    // Folds the oldest pending ratings into the doctor aggregates with one upsert for the whole batch.
+    // The claimed entries are removed in the same transaction, a failed fold leaves them for the next one.
+    public List<RatingOutboxEntry> foldPendingRatings(int limit) {
+        List<RatingOutboxEntry> batch = ratingOutboxRepositoryPort.claimBatch(limit);
+        if (batch.isEmpty()) return batch;
+
+        Map<UUID, List<Integer>> scoresByDoctor = new TreeMap<>();
+        for (RatingOutboxEntry entry : batch)
+            scoresByDoctor.computeIfAbsent(entry.doctorId(), id -> new ArrayList<>()).add(entry.score());
+
+        doctorRatingStatsRepositoryPort.recordScores(scoresByDoctor);
+        ratingOutboxRepositoryPort.remove(batch.stream().map(RatingOutboxEntry::entryId).toList());
+        // Cached ratings are dropped once this transaction commits
+        for (UUID doctorId : scoresByDoctor.keySet())
+            eventPublisher.publishEvent(new DoctorRatingsChangedEvent(doctorId));
+        return batch;
+    }
+
+    @org.springframework.transaction.annotation.Transactional(readOnly = true)
+    public Optional<LocalDateTime> oldestPendingRatingAt() {
+        return ratingOutboxRepositoryPort.oldestPendingAt();
+    }
+
+    // Recompute all doctor aggregates from the ratings table. Pending outbox entries are already
+    // in the ratings table, they are dropped so the dispatcher does not count them twice.
+    public int rebuildDoctorRatingStats() {
+        ratingOutboxRepositoryPort.discardAll();
+        int doctors = doctorRatingStatsRepositoryPort.rebuildAll();
+        eventPublisher.publishEvent(new DoctorRatingsChangedEvent(null));
+        return doctors;
     }
 }
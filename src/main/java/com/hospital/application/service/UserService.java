@@ -1,49 +1,65 @@
 // src/main/java/com/hospital/application/service/UserService.java
 package com.hospital.application.service;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import com.hospital.api.projection.DoctorSummary;
-import com.hospital.application.dto.DoctorSummaryDto;
+import com.hospital.application.cache.DoctorRatingsCache;
+import com.hospital.application.common.exceptions.BadRequestException;
+import com.hospital.application.dto.DoctorDirectoryEntry;
 import com.hospital.application.dto.UserCreateRequest;
 import com.hospital.application.dto.UserResponse;
-import com.hospital.application.port.RatingRepositoryPort;
+import com.hospital.application.event.DoctorRatingsChangedEvent;
 import com.hospital.application.port.UserRepositoryPort;
+import com.hospital.domain.id.IdGenerator;
 import com.hospital.domain.model.UserModel;
+import com.hospital.domain.name.NameNormalizer;
 import com.hospital.domain.role.UserRole;
 
 @org.springframework.transaction.annotation.Transactional
 @Service
 public class UserService {
 
+    public static final int MAX_DOCTOR_PAGE_SIZE = 200;
+    public static final int MAX_DOCTOR_SEARCH_SIZE = 50;
+
     private final UserRepositoryPort userRepository;
-    private final RatingRepositoryPort ratingRepository; 
+    private final DoctorRatingsCache doctorRatingsCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final IdGenerator idGenerator;
 
     public UserService(
         UserRepositoryPort userRepository,
-        RatingRepositoryPort ratingRepository
+        DoctorRatingsCache doctorRatingsCache,
+        ApplicationEventPublisher eventPublisher,
+        IdGenerator idGenerator
     ) {
         this.userRepository = userRepository;
-        this.ratingRepository = ratingRepository;
+        this.doctorRatingsCache = doctorRatingsCache;
+        this.eventPublisher = eventPublisher;
+        this.idGenerator = idGenerator;
     }
 
     // Create new user
     public UserResponse createUser(UserCreateRequest userCreateRequest) {
         UserModel userModel = new UserModel
         (
-            UUID.randomUUID(),
+            idGenerator.next(),
             userCreateRequest.userName(),
             userCreateRequest.userRoles()
         );
 
         UserModel saved = userRepository.save(userModel);
+
+        // A new doctor shows up on the leaderboard
+        if (saved.userRoles().contains(UserRole.DOCTOR))
+            eventPublisher.publishEvent(new DoctorRatingsChangedEvent(saved.userID()));
+
         return new UserResponse(
             saved.userID(),
             saved.userName(),
@@ -69,31 +85,34 @@ public class UserService {
         );
     }
     
-    public List<DoctorSummary> listDoctorsWithRatings() {
-        return userRepository.findAllByRole(UserRole.DOCTOR).stream()
-            .map(this::toDoctorSummary)
-            .map(d -> (DoctorSummary) d) 
-            .sorted(Comparator.comparingDouble(DoctorSummary::getRating).reversed())
-            .toList();
-    }
-
-    private DoctorSummary toDoctorSummary(UserModel doctor) {
-        double avg = ratingRepository.averageForDoctor(doctor.userID());
-        long count = ratingRepository.countForDoctor(doctor.userID());
-        double rounded = round(avg, 2);
-
-        return new DoctorSummaryDto(
-            doctor.userID(),
-            doctor.userName(),
-            rounded,
-            (int) count
+    // One page of the doctor leaderboard, best rated first.
+    // Pass the rating and id of the last doctor of the previous page to get the next one.
+    @org.springframework.transaction.annotation.Transactional(readOnly = true)
+    public List<DoctorSummary> listDoctorsWithRatings(long minRatings, Double afterRating, UUID afterId, int limit) {
+        if (limit < 1 || limit > MAX_DOCTOR_PAGE_SIZE) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_DOCTOR_PAGE_SIZE + ".");
+        }
+        if (minRatings < 0) {
+            throw new BadRequestException("minRatings cannot be negative.");
+        }
+        if ((afterRating == null) != (afterId == null)) {
+            throw new BadRequestException("afterRating and afterId must be given together.");
+        }
+        return doctorRatingsCache.leaderboard(
+            new DoctorRatingsCache.LeaderboardKey(minRatings, afterRating, afterId, limit),
+            () -> userRepository.findDoctorLeaderboard(minRatings, afterRating, afterId, limit)
         );
     }
 
-
-    private double round(double value, int scale) {
-        return BigDecimal.valueOf(value)
-                .setScale(scale, RoundingMode.HALF_UP)
-                .doubleValue();
+    // Doctor name typeahead. Case, diacritics and titles are ignored, "dr. ayş" finds "Ayşe Yılmaz".
+    @org.springframework.transaction.annotation.Transactional(readOnly = true)
+    public List<DoctorDirectoryEntry> searchDoctors(String query, int limit) {
+        if (limit < 1 || limit > MAX_DOCTOR_SEARCH_SIZE) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_DOCTOR_SEARCH_SIZE + ".");
+        }
+        if (NameNormalizer.normalize(query).isEmpty()) {
+            throw new BadRequestException("Search text cannot be empty.");
+        }
+        return userRepository.searchDoctorsByNamePrefix(query, limit);
     }
 }
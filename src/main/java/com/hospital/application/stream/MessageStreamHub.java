@@ -0,0 +1,114 @@
+// src/main/java/com/hospital/application/stream/MessageStreamHub.java
+package com.hospital.application.stream;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.hospital.application.dto.MessageResponse;
+import com.hospital.application.event.MessageSentEvent;
+
+// In-process fan-out of committed messages to the subscribers of a conversation.
+// Every subscriber has a bounded buffer; publishing never blocks, a subscriber whose
+// buffer is full is closed and dropped so a slow client cannot hold up the senders.
+@Component
+public class MessageStreamHub {
+
+    public record Stats(int conversations, int subscribers, long published, long dropped) {}
+
+    private final int bufferSize;
+    private final Map<UUID, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    public MessageStreamHub(@Value("${hospital.stream.buffer-size:256}") int bufferSize) {
+        if (bufferSize < 1) throw new IllegalArgumentException("bufferSize must be positive");
+        this.bufferSize = bufferSize;
+    }
+
+    public Subscription subscribe(UUID conversationID) {
+        Subscription subscription = new Subscription(conversationID, bufferSize);
+        // Added inside the compute, a concurrent remove of the last subscriber cannot drop the set in between
+        subscriptions.compute(conversationID, (id, set) -> {
+            set = set == null ? ConcurrentHashMap.newKeySet() : set;
+            set.add(subscription);
+            return set;
+        });
+        return subscription;
+    }
+
+    public void publish(UUID conversationID, MessageResponse message) {
+        Set<Subscription> subscribers = subscriptions.get(conversationID);
+        if (subscribers == null) return;
+        published.incrementAndGet();
+        for (Subscription subscription : subscribers) {
+            if (!subscription.offer(message)) {
+                dropped.incrementAndGet();
+                subscription.close();
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMessageSent(MessageSentEvent event) {
+        publish(event.conversationID(), event.message());
+    }
+
+    public Stats stats() {
+        int subscribers = subscriptions.values().stream().mapToInt(Set::size).sum();
+        return new Stats(subscriptions.size(), subscribers, published.get(), dropped.get());
+    }
+
+    private void remove(Subscription subscription) {
+        subscriptions.computeIfPresent(subscription.conversationID, (id, set) -> {
+            set.remove(subscription);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    // One client's view of a conversation. The consumer polls it from its own thread.
+    public final class Subscription implements AutoCloseable {
+
+        private final UUID conversationID;
+        private final BlockingQueue<MessageResponse> buffer;
+        private volatile boolean closed;
+
+        private Subscription(UUID conversationID, int bufferSize) {
+            this.conversationID = conversationID;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        private boolean offer(MessageResponse message) {
+            return !closed && buffer.offer(message);
+        }
+
+        // Next message, or null when nothing arrived within the timeout or the subscription is closed.
+        // Messages buffered before a close are still handed out.
+        public MessageResponse poll(Duration timeout) throws InterruptedException {
+            MessageResponse message = buffer.poll();
+            if (message != null || closed) return message;
+            return buffer.poll(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        }
+
+        public boolean isClosed() {
+            return closed;
+        }
+
+        @Override
+        public void close() {
+            if (closed) return;
+            closed = true;
+            remove(this);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+// src/main/java/com/hospital/config/IdGeneratorConfig.java
+package com.hospital.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.hospital.domain.id.IdGenerator;
+import com.hospital.domain.id.UuidV7Generator;
+
+@Configuration
+public class IdGeneratorConfig {
+    // Time ordered keys for every new aggregate
+    @Bean
+    public IdGenerator idGenerator() {
+        return new UuidV7Generator();
+    }
+}
@@ -0,0 +1,23 @@
+// src/main/java/com/hospital/config/MetricsConfig.java
+package com.hospital.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.hospital.infrastructure.metrics.RequestMetricsFilter;
+import com.hospital.infrastructure.metrics.StatementBudget;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class MetricsConfig {
+    // First in the chain, so statements issued by other filters count towards the request too
+    @Bean
+    public FilterRegistrationBean<RequestMetricsFilter> requestMetricsFilter(MeterRegistry registry, StatementBudget budget) {
+        FilterRegistrationBean<RequestMetricsFilter> registration = new FilterRegistrationBean<>(new RequestMetricsFilter(registry, budget));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
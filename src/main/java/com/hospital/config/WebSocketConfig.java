@@ -0,0 +1,46 @@
+// src/main/java/com/hospital/config/WebSocketConfig.java
+package com.hospital.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
+import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
+import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
+import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+
+import com.hospital.api.websocket.StompParticipantInterceptor;
+
+// STOMP over WebSocket at /ws. Clients connect with user-id and user-token headers, send to
+// /app/conversations/{id}/messages, subscribe to /topic/conversations/{id} and get their errors
+// on /user/queue/errors.
+@Configuration
+@EnableWebSocketMessageBroker
+public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
+
+    private final StompParticipantInterceptor stompParticipantInterceptor;
+
+    public WebSocketConfig(StompParticipantInterceptor stompParticipantInterceptor) {
+        this.stompParticipantInterceptor = stompParticipantInterceptor;
+    }
+
+    @Override
+    public void registerStompEndpoints(StompEndpointRegistry registry) {
+        // Frames of one session are handled one after another, so a client's sends keep their order
+        registry.addEndpoint("/ws");
+        registry.setPreserveReceiveOrder(true);
+    }
+
+    @Override
+    public void configureMessageBroker(MessageBrokerRegistry registry) {
+        registry.setApplicationDestinationPrefixes("/app");
+        registry.enableSimpleBroker("/topic", "/queue");
+        registry.setUserDestinationPrefix("/user");
+        // And messages reach each subscriber in the order they were committed
+        registry.setPreservePublishOrder(true);
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(stompParticipantInterceptor);
+    }
+}
@@ -0,0 +1,10 @@
+// src/main/java/com/hospital/domain/id/IdGenerator.java
+package com.hospital.domain.id;
+
+import java.util.UUID;
+
+// Source of primary keys for new aggregates
+@FunctionalInterface
+public interface IdGenerator {
+    UUID next();
+}
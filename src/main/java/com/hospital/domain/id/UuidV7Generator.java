@@ -0,0 +1,44 @@
+// src/main/java/com/hospital/domain/id/UuidV7Generator.java
+package com.hospital.domain.id;
+
+import java.time.Clock;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Time ordered UUIDv7 (RFC 9562): 48 bit unix millis, 12 bit counter, 62 random bits.
+// Values are strictly increasing per generator, so new rows land at the right edge of the primary key index.
+public class UuidV7Generator implements IdGenerator {
+
+    private static final int COUNTER_BITS = 12;
+
+    private final Clock clock;
+    // (millis << 12) | counter of the last issued id, lock free via CAS
+    private final AtomicLong last = new AtomicLong();
+
+    public UuidV7Generator() {
+        this(Clock.systemUTC());
+    }
+
+    public UuidV7Generator(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public UUID next() {
+        long candidate = clock.millis() << COUNTER_BITS;
+        long prev;
+        long next;
+        do {
+            prev = last.get();
+            // Same millisecond or clock went back: bump the counter, an overflow carries into the timestamp
+            next = candidate > prev ? candidate : prev + 1;
+        } while (!last.compareAndSet(prev, next));
+
+        long millis = next >>> COUNTER_BITS;
+        long counter = next & ((1L << COUNTER_BITS) - 1);
+        long msb = (millis << 16) | 0x7000L | counter;
+        long lsb = (ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+}
@@ -0,0 +1,11 @@
+// src/main/java/com/hospital/domain/model/ConversationCursor.java
+package com.hospital.domain.model;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Position in a user's conversation list, conversations are ordered newest first by (createdAt, conversationID)
+public record ConversationCursor(
+    LocalDateTime conversationCreatedAt,
+    UUID conversationID
+) {}
@@ -0,0 +1,14 @@
+// src/main/java/com/hospital/domain/model/ConversationMessage.java
+package com.hospital.domain.model;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// A message together with the conversation it belongs to, used for batched writes and exports
+public record ConversationMessage(UUID conversationID, MessageModel message) {
+
+    // Flat form for JPQL constructor expressions
+    public ConversationMessage(UUID conversationID, UUID messageID, UUID authorID, String messageContext, LocalDateTime messageCreatedAt) {
+        this(conversationID, new MessageModel(messageID, authorID, messageContext, messageCreatedAt));
+    }
+}
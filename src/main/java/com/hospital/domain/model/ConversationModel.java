@@ -11,5 +11,13 @@ public record ConversationModel(
     List<UUID> conversationUsersList,
     ConversationStatus conversationStatus,
     LocalDateTime conversationCreatedAt,
-    LocalDateTime conversationClosedAt
-) {}
+    LocalDateTime conversationClosedAt,
+    // Bumped by every change to the conversation, guards writes prepared against an older state
+    long conversationVersion
+) {
+    // A conversation that has not been changed since it was created
+    public ConversationModel(UUID conversationID, List<UUID> conversationUsersList, ConversationStatus conversationStatus,
+                             LocalDateTime conversationCreatedAt, LocalDateTime conversationClosedAt) {
+        this(conversationID, conversationUsersList, conversationStatus, conversationCreatedAt, conversationClosedAt, 0);
+    }
+}
@@ -0,0 +1,19 @@
+// src/main/java/com/hospital/domain/model/ConversationSummaryModel.java
+package com.hospital.domain.model;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.hospital.domain.status.ConversationStatus;
+
+// A conversation as one participant's inbox shows it. The last message fields are null
+// for a conversation without messages.
+public record ConversationSummaryModel(
+    UUID conversationID,
+    ConversationStatus conversationStatus,
+    LocalDateTime lastActivityAt,
+    UUID lastMessageID,
+    UUID lastAuthorID,
+    String lastMessageSnippet,
+    int unreadCount
+) {}
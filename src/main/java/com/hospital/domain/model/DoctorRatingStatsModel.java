@@ -0,0 +1,13 @@
+// src/main/java/com/hospital/domain/model/DoctorRatingStatsModel.java
+package com.hospital.domain.model;
+
+import java.util.List;
+import java.util.UUID;
+
+// scoreHistogram.get(0) holds the number of 1 point ratings, get(4) the number of 5 point ratings
+public record DoctorRatingStatsModel(
+    UUID doctorId,
+    long scoreSum,
+    long ratingCount,
+    List<Long> scoreHistogram
+) {}
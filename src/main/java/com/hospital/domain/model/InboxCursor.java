@@ -0,0 +1,11 @@
+// src/main/java/com/hospital/domain/model/InboxCursor.java
+package com.hospital.domain.model;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Position in a user's inbox, conversations are ordered by (lastActivityAt, conversationID), most recent first
+public record InboxCursor(
+    LocalDateTime lastActivityAt,
+    UUID conversationID
+) {}
@@ -0,0 +1,11 @@
+// src/main/java/com/hospital/domain/model/MessageCursor.java
+package com.hospital.domain.model;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Position in a conversation's history, messages are ordered by (createdAt, messageID)
+public record MessageCursor(
+    LocalDateTime messageCreatedAt,
+    UUID messageID
+) {}
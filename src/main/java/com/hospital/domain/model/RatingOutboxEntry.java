@@ -0,0 +1,14 @@
+// src/main/java/com/hospital/domain/model/RatingOutboxEntry.java
+package com.hospital.domain.model;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// A rating waiting to be folded into its doctor's aggregate, entryId gives the dispatch order
+public record RatingOutboxEntry(
+    long entryId,
+    UUID ratingId,
+    UUID doctorId,
+    int score,
+    LocalDateTime createdAt
+) {}
@@ -0,0 +1,48 @@
+// src/main/java/com/hospital/domain/name/NameNormalizer.java
+package com.hospital.domain.name;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+// Folds a person's name to the form it is looked up by: lower case, no diacritics, words separated
+// by single spaces and leading titles dropped. "Dr. Ayşe  Yılmaz" and "ayse yilmaz" both become "ayse yilmaz".
+// Stored in users.normalized_name: a change to the folding needs a new migration that re-normalizes
+// the existing rows, V3 keeps its own frozen copy and is not affected.
+public final class NameNormalizer {
+
+    // Longest stored form, folding can make a name longer than its 80 characters (ß -> ss)
+    public static final int MAX_LENGTH = 255;
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Set<String> TITLES = Set.of("dr", "prof", "doc", "uzm", "op", "md");
+
+    private NameNormalizer() {}
+
+    public static String normalize(String name) {
+        if (name == null) return "";
+
+        // Letters that do not decompose into a base letter plus a mark
+        String folded = name
+            .replace('ı', 'i').replace('İ', 'I')
+            .replace("ß", "ss").replace('ø', 'o').replace('Ø', 'O')
+            .replace('ł', 'l').replace('Ł', 'L').replace('đ', 'd').replace('Đ', 'D')
+            .replace("æ", "ae").replace("Æ", "AE").replace("œ", "oe").replace("Œ", "OE");
+        folded = COMBINING_MARKS.matcher(Normalizer.normalize(folded, Normalizer.Form.NFKD)).replaceAll("");
+        folded = SEPARATORS.matcher(folded.toLowerCase(Locale.ROOT)).replaceAll(" ").strip();
+        if (folded.isEmpty()) return "";
+
+        List<String> words = new ArrayList<>(List.of(folded.split(" ")));
+        int firstName = 0;
+        while (firstName < words.size() && TITLES.contains(words.get(firstName))) firstName++;
+        // A name made of titles only is kept as it is
+        String normalized = firstName < words.size()
+            ? String.join(" ", words.subList(firstName, words.size()))
+            : folded;
+        return normalized.length() > MAX_LENGTH ? normalized.substring(0, MAX_LENGTH) : normalized;
+    }
+}
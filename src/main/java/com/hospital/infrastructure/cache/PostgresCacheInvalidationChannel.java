@@ -0,0 +1,120 @@
+// src/main/java/com/hospital/infrastructure/cache/PostgresCacheInvalidationChannel.java
+package com.hospital.infrastructure.cache;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.hospital.application.cache.CacheInvalidationChannel;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// Shares invalidations between instances through Postgres LISTEN/NOTIFY.
+// The listener keeps one pooled connection for itself. Notifications sent while it was
+// disconnected are lost, so every subscriber is told to drop everything after a reconnect.
+@Component
+@ConditionalOnProperty(name = "hospital.cache.invalidation", havingValue = "postgres")
+public class PostgresCacheInvalidationChannel implements CacheInvalidationChannel {
+
+    private static final Logger log = LoggerFactory.getLogger(PostgresCacheInvalidationChannel.class);
+
+    static final String CHANNEL = "hospital_cache_invalidation";
+    private static final int POLL_MILLIS = 1000;
+    private static final long RECONNECT_MILLIS = 1000;
+
+    private final DataSource dataSource;
+    // Payload is "<instance> <cache> <key>", own notifications are skipped
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Map<String, List<Consumer<String>>> subscribers = new ConcurrentHashMap<>();
+    private volatile boolean running;
+    private Thread listener;
+
+    public PostgresCacheInvalidationChannel(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        listener = Thread.ofPlatform().name("cache-invalidation-listener").daemon().start(this::listen);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        listener.join();
+    }
+
+    // Runs on its own autocommit connection, so the notification goes out right away
+    // instead of with whatever transaction the caller is in
+    @Override
+    public void publish(String cacheName, String key) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement notify = connection.prepareStatement("select pg_notify(?, ?)")) {
+            notify.setString(1, CHANNEL);
+            notify.setString(2, instanceId + " " + cacheName + " " + key);
+            notify.execute();
+        } catch (SQLException e) {
+            log.warn("Could not publish invalidation of {} in cache {}", key, cacheName, e);
+        }
+    }
+
+    @Override
+    public void subscribe(String cacheName, Consumer<String> onInvalidate) {
+        subscribers.computeIfAbsent(cacheName, name -> new CopyOnWriteArrayList<>()).add(onInvalidate);
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("listen " + CHANNEL);
+                }
+                PGConnection pg = connection.unwrap(PGConnection.class);
+                subscribers.values().forEach(list -> list.forEach(subscriber -> subscriber.accept(ALL)));
+
+                while (running) {
+                    PGNotification[] notifications = pg.getNotifications(POLL_MILLIS);
+                    if (notifications == null) continue;
+                    for (PGNotification notification : notifications) {
+                        deliver(notification.getParameter());
+                    }
+                }
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("unlisten " + CHANNEL);
+                }
+            } catch (SQLException e) {
+                if (!running) return;
+                log.warn("Cache invalidation listener lost its connection, reconnecting", e);
+                try {
+                    Thread.sleep(RECONNECT_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void deliver(String payload) {
+        String[] parts = payload.split(" ", 3);
+        if (parts.length != 3 || parts[0].equals(instanceId)) return;
+        subscribers.getOrDefault(parts[1], List.of()).forEach(subscriber -> subscriber.accept(parts[2]));
+    }
+}
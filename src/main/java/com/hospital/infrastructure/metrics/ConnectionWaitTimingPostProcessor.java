@@ -0,0 +1,52 @@
+// src/main/java/com/hospital/infrastructure/metrics/ConnectionWaitTimingPostProcessor.java
+package com.hospital.infrastructure.metrics;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Component;
+
+// Wraps the DataSource so the time spent in getConnection, which is the pool wait, is added to JdbcActivity.
+// DelegatingDataSource is unwrapped by the Hikari metrics binder, the pool still reports its own meters.
+@Component
+public class ConnectionWaitTimingPostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof TimedDataSource)) {
+            return new TimedDataSource(dataSource);
+        }
+        return bean;
+    }
+
+    static class TimedDataSource extends DelegatingDataSource {
+
+        TimedDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            long start = System.nanoTime();
+            try {
+                return super.getConnection();
+            } finally {
+                JdbcActivity.recordConnectionWait(System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            long start = System.nanoTime();
+            try {
+                return super.getConnection(username, password);
+            } finally {
+                JdbcActivity.recordConnectionWait(System.nanoTime() - start);
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+// src/main/java/com/hospital/infrastructure/metrics/EntityLoadCounter.java
+package com.hospital.infrastructure.metrics;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+// Counts every entity Hibernate hydrates, from queries and lazy loads alike
+@Component
+public class EntityLoadCounter {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public EntityLoadCounter(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @PostConstruct
+    public void register() {
+        PostLoadEventListener listener = event -> JdbcActivity.recordEntityLoad();
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry()
+            .requireService(EventListenerRegistry.class)
+            .appendListeners(EventType.POST_LOAD, listener);
+    }
+}
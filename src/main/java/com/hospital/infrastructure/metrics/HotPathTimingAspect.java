@@ -0,0 +1,77 @@
+// src/main/java/com/hospital/infrastructure/metrics/HotPathTimingAspect.java
+package com.hospital.infrastructure.metrics;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// Latency of every public *Service and *RepositoryAdapter method as hospital.method,
+// tagged with the class, the method and the route of the request that called it.
+// Service calls also count their statements and are held to the service call budget.
+@Aspect
+@Component
+public class HotPathTimingAspect {
+
+    private final MeterRegistry registry;
+    private final StatementBudget budget;
+    // Registered once per tag combination, the hot path only does a map lookup
+    private final ConcurrentMap<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    public HotPathTimingAspect(MeterRegistry registry, StatementBudget budget) {
+        this.registry = registry;
+        this.budget = budget;
+    }
+
+    @Around("execution(public * com.hospital.application.service.*Service.*(..))")
+    public Object timeService(ProceedingJoinPoint call) throws Throwable {
+        JdbcActivity activity = JdbcActivity.open();
+        try {
+            return time(call);
+        } finally {
+            activity.close();
+            budget.checkServiceCall(call.getTarget().getClass().getSimpleName() + "." + call.getSignature().getName(), activity);
+        }
+    }
+
+    @Around("execution(public * com.hospital.infrastructure.persistance.jpa.adapter.*RepositoryAdapter.*(..))")
+    public Object timeRepositoryAdapter(ProceedingJoinPoint call) throws Throwable {
+        return time(call);
+    }
+
+    private Object time(ProceedingJoinPoint call) throws Throwable {
+        long start = System.nanoTime();
+        String outcome = "success";
+        try {
+            return call.proceed();
+        } catch (Throwable e) {
+            outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            TimerKey key = new TimerKey(call.getTarget().getClass().getSimpleName(), call.getSignature().getName(),
+                RequestMetricsFilter.currentRoute(), outcome);
+            Timer timer = timers.get(key);
+            if (timer == null) timer = timers.computeIfAbsent(key, this::register);
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer register(TimerKey key) {
+        return Timer.builder("hospital.method")
+            .description("Latency of service and repository adapter methods")
+            .tags("class", key.className(),
+                  "method", key.method(),
+                  "uri", key.uri(),
+                  "outcome", key.outcome())
+            .register(registry);
+    }
+
+    private record TimerKey(String className, String method, String uri, String outcome) {}
+}
@@ -0,0 +1,126 @@
+// src/main/java/com/hospital/infrastructure/metrics/JdbcActivity.java
+package com.hospital.infrastructure.metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// Database work done by the current thread while a scope is open: statements prepared,
+// entities hydrated and time spent waiting for a pooled connection.
+// Scopes nest (request, service call, test assertion), work is counted in every open scope.
+// Hibernate creates the statement inspector itself, so the scopes are reached through a thread local.
+public final class JdbcActivity implements AutoCloseable {
+
+    // Statements run by a scope, grouped by their SQL text
+    public record StatementCount(String sql, String callSite, long count) {}
+
+    private static final ThreadLocal<JdbcActivity> CURRENT = new ThreadLocal<>();
+    // Distinct SQL texts remembered per scope, IN lists of varying length would otherwise grow it without bound
+    private static final int MAX_DISTINCT_STATEMENTS = 256;
+    private static final int CALL_SITE_FRAMES = 3;
+    private static final StackWalker STACK = StackWalker.getInstance();
+
+    private static final class Site {
+        final String callSite;
+        long count;
+
+        Site(String callSite) { this.callSite = callSite; }
+    }
+
+    private final JdbcActivity parent;
+    private final Map<String, Site> bySql = new LinkedHashMap<>();
+    private long statements;
+    private long entityLoads;
+    private long connectionWaitNanos;
+    private boolean closed;
+
+    private JdbcActivity(JdbcActivity parent) {
+        this.parent = parent;
+    }
+
+    // Starts counting on this thread, close it on the same thread
+    public static JdbcActivity open() {
+        JdbcActivity activity = new JdbcActivity(CURRENT.get());
+        CURRENT.set(activity);
+        return activity;
+    }
+
+    public static JdbcActivity current() {
+        return CURRENT.get();
+    }
+
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+        if (CURRENT.get() != this) return;
+        if (parent == null) CURRENT.remove();
+        else CURRENT.set(parent);
+    }
+
+    static void recordStatement(String sql) {
+        String callSite = null;
+        for (JdbcActivity activity = CURRENT.get(); activity != null; activity = activity.parent) {
+            activity.statements++;
+            Site site = activity.bySql.get(sql);
+            if (site == null) {
+                if (activity.bySql.size() >= MAX_DISTINCT_STATEMENTS) continue;
+                // Walked once per distinct statement, repeats of an N+1 do not pay for it again
+                if (callSite == null) callSite = callSite();
+                site = new Site(callSite);
+                activity.bySql.put(sql, site);
+            }
+            site.count++;
+        }
+    }
+
+    static void recordEntityLoad() {
+        for (JdbcActivity activity = CURRENT.get(); activity != null; activity = activity.parent) {
+            activity.entityLoads++;
+        }
+    }
+
+    static void recordConnectionWait(long nanos) {
+        for (JdbcActivity activity = CURRENT.get(); activity != null; activity = activity.parent) {
+            activity.connectionWaitNanos += nanos;
+        }
+    }
+
+    public long statements() { return statements; }
+
+    public long entityLoads() { return entityLoads; }
+
+    public long connectionWaitNanos() { return connectionWaitNanos; }
+
+    // Most executed statements first
+    public List<StatementCount> statementCounts() {
+        List<StatementCount> counts = new ArrayList<>(bySql.size());
+        bySql.forEach((sql, site) -> counts.add(new StatementCount(sql, site.callSite, site.count)));
+        counts.sort(Comparator.comparingLong(StatementCount::count).reversed());
+        return counts;
+    }
+
+    // One line per statement, for logs and assertion messages
+    public String describe(int maxStatements) {
+        return statementCounts().stream()
+            .limit(maxStatements)
+            .map(c -> "  " + c.count() + "x at " + c.callSite() + ": " + c.sql())
+            .collect(Collectors.joining("\n"));
+    }
+
+    // Innermost application frames below the statement, skipping this package and Spring proxies
+    private static String callSite() {
+        return STACK.walk(frames -> frames
+            .filter(f -> f.getClassName().startsWith("com.hospital.")
+                && !f.getClassName().startsWith("com.hospital.infrastructure.metrics.")
+                && !f.getClassName().contains("$$"))
+            .limit(CALL_SITE_FRAMES)
+            .map(f -> f.getClassName().substring(f.getClassName().lastIndexOf('.') + 1)
+                + "." + f.getMethodName() + ":" + f.getLineNumber())
+            .collect(Collectors.collectingAndThen(Collectors.joining(" <- "),
+                site -> site.isEmpty() ? "unknown" : site)));
+    }
+}
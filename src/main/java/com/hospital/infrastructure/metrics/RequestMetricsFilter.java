@@ -0,0 +1,94 @@
+// src/main/java/com/hospital/infrastructure/metrics/RequestMetricsFilter.java
+package com.hospital.infrastructure.metrics;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Records the database work of each request, tagged like http.server.requests with method, route and status:
+// hospital.request.statements, hospital.request.entity.loads and hospital.request.connection.wait.
+// Also holds the request to its statement budget. Registered in MetricsConfig.
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    // Route tag outside a matched handler, e.g. 404s, background threads and WebSocket messages
+    public static final String NO_ROUTE = "none";
+
+    private final MeterRegistry registry;
+    private final StatementBudget budget;
+    // Registered once per tag combination, each request only does a map lookup
+    private final ConcurrentMap<RouteKey, RouteMeters> meters = new ConcurrentHashMap<>();
+
+    public RequestMetricsFilter(MeterRegistry registry, StatementBudget budget) {
+        this.registry = registry;
+        this.budget = budget;
+    }
+
+    // Route template of the request handled on this thread, never the raw path so the tag stays bounded
+    public static String currentRoute() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) return NO_ROUTE;
+        Object pattern = attributes.getAttribute(
+            HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        return pattern == null ? NO_ROUTE : pattern.toString();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+        throws ServletException, IOException {
+        JdbcActivity activity = JdbcActivity.open();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            activity.close();
+            record(request, response, activity);
+        }
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response, JdbcActivity activity) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String route = pattern == null ? NO_ROUTE : pattern.toString();
+        String method = request.getMethod();
+        budget.checkRequest(method, route, activity);
+
+        RouteKey key = new RouteKey(method, route, Integer.toString(response.getStatus()));
+        RouteMeters routeMeters = meters.get(key);
+        if (routeMeters == null) routeMeters = meters.computeIfAbsent(key, this::register);
+        routeMeters.statements().record(activity.statements());
+        routeMeters.entityLoads().record(activity.entityLoads());
+        routeMeters.connectionWait().record(activity.connectionWaitNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private RouteMeters register(RouteKey key) {
+        return new RouteMeters(
+            DistributionSummary.builder("hospital.request.statements")
+                .description("SQL statements prepared per request")
+                .tags("method", key.method(), "uri", key.uri(), "status", key.status())
+                .register(registry),
+            DistributionSummary.builder("hospital.request.entity.loads")
+                .description("Entities hydrated per request")
+                .tags("method", key.method(), "uri", key.uri(), "status", key.status())
+                .register(registry),
+            Timer.builder("hospital.request.connection.wait")
+                .description("Time spent waiting for pooled connections per request")
+                .tags("method", key.method(), "uri", key.uri(), "status", key.status())
+                .register(registry));
+    }
+
+    private record RouteKey(String method, String uri, String status) {}
+
+    private record RouteMeters(DistributionSummary statements, DistributionSummary entityLoads, Timer connectionWait) {}
+}
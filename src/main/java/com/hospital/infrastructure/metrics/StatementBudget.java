@@ -0,0 +1,73 @@
+// src/main/java/com/hospital/infrastructure/metrics/StatementBudget.java
+package com.hospital.infrastructure.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Statement budgets per HTTP request and per service call. Going over one, or repeating the same
+// statement repeat-threshold times (the usual N+1 shape), is logged with the call sites and
+// counted in hospital.sql.budget.exceeded. Nothing is rejected, a zero budget turns the check off.
+@Component
+public class StatementBudget {
+
+    private static final Logger log = LoggerFactory.getLogger(StatementBudget.class);
+    private static final int LOGGED_STATEMENTS = 5;
+
+    private final long requestBudget;
+    private final long serviceCallBudget;
+    private final long repeatThreshold;
+    private final Counter requestExceeded;
+    private final Counter serviceExceeded;
+    private final Counter repeated;
+
+    public StatementBudget(
+        MeterRegistry registry,
+        @Value("${hospital.sql.budget.request:25}") long requestBudget,
+        @Value("${hospital.sql.budget.service-call:15}") long serviceCallBudget,
+        @Value("${hospital.sql.budget.repeat-threshold:10}") long repeatThreshold
+    ) {
+        this.requestBudget = requestBudget;
+        this.serviceCallBudget = serviceCallBudget;
+        this.repeatThreshold = repeatThreshold;
+        this.requestExceeded = counter(registry, "request");
+        this.serviceExceeded = counter(registry, "service");
+        this.repeated = counter(registry, "repeat");
+    }
+
+    public void checkRequest(String method, String route, JdbcActivity activity) {
+        if (requestBudget <= 0 || activity.statements() <= requestBudget) return;
+        exceeded(requestExceeded, method + " " + route, activity, requestBudget);
+    }
+
+    // Repeats are reported here only, the request around the call would report the same ones again
+    public void checkServiceCall(String operation, JdbcActivity activity) {
+        if (serviceCallBudget > 0 && activity.statements() > serviceCallBudget) {
+            exceeded(serviceExceeded, operation, activity, serviceCallBudget);
+        }
+        if (repeatThreshold <= 0) return;
+        for (JdbcActivity.StatementCount statement : activity.statementCounts()) {
+            if (statement.count() < repeatThreshold) break;
+            repeated.increment();
+            log.warn("{} ran the same statement {} times, likely N+1 at {}: {}",
+                operation, statement.count(), statement.callSite(), statement.sql());
+        }
+    }
+
+    private void exceeded(Counter counter, String name, JdbcActivity activity, long budget) {
+        counter.increment();
+        log.warn("{} ran {} SQL statements, budget is {}. Most executed:\n{}",
+            name, activity.statements(), budget, activity.describe(LOGGED_STATEMENTS));
+    }
+
+    private static Counter counter(MeterRegistry registry, String scope) {
+        return Counter.builder("hospital.sql.budget.exceeded")
+            .description("Requests and service calls over their statement budget, and repeated statements")
+            .tag("scope", scope)
+            .register(registry);
+    }
+}
@@ -0,0 +1,14 @@
+// src/main/java/com/hospital/infrastructure/metrics/StatementCountingInspector.java
+package com.hospital.infrastructure.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Registered through hibernate.session_factory.statement_inspector, sees every statement Hibernate prepares
+public class StatementCountingInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        JdbcActivity.recordStatement(sql);
+        return sql;
+    }
+}
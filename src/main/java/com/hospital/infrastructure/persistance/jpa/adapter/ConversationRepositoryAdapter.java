@@ -1,19 +1,32 @@
 // src/main/java/com/hospital/infrastructure/persistence/jpa/adapter/ConversationRepositoryAdapter.java
 package com.hospital.infrastructure.persistance.jpa.adapter;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
 import com.hospital.application.port.ConversationRepositoryPort;
+import com.hospital.domain.model.ConversationCursor;
 import com.hospital.domain.model.ConversationModel;
 import com.hospital.domain.status.ConversationStatus;
 import com.hospital.infrastructure.persistance.jpa.entity.ConversationEntity;
 import com.hospital.infrastructure.persistance.jpa.entity.UserEntity;
+import com.hospital.infrastructure.persistance.jpa.repository.ConversationParticipantRow;
+import com.hospital.infrastructure.persistance.jpa.repository.ConversationRow;
+import com.hospital.infrastructure.persistance.jpa.repository.ConversationVersionRow;
+import com.hospital.infrastructure.persistance.jpa.repository.JpaActiveConversationPairRepository;
 import com.hospital.infrastructure.persistance.jpa.repository.JpaConversationRepository;
 import com.hospital.infrastructure.persistance.jpa.repository.JpaUserRepository;
 
@@ -22,25 +35,32 @@ public class ConversationRepositoryAdapter implements ConversationRepositoryPort
 
     private final JpaConversationRepository jpaConversationRepository;
     private final JpaUserRepository jpaUserRepository;
+    private final JpaActiveConversationPairRepository jpaActiveConversationPairRepository;
 
     public ConversationRepositoryAdapter
     (
         JpaConversationRepository jpaConversationRepository,
-        JpaUserRepository jpaUserRepository
+        JpaUserRepository jpaUserRepository,
+        JpaActiveConversationPairRepository jpaActiveConversationPairRepository
     ){
         this.jpaConversationRepository = jpaConversationRepository;
         this.jpaUserRepository = jpaUserRepository;
+        this.jpaActiveConversationPairRepository = jpaActiveConversationPairRepository;
     }
 
-    // Create user entity from domain model
+    // Create user entity from domain model, all participants are resolved in one query
     @Override
     public ConversationModel save(ConversationModel conversationModel){
-        List<UserEntity> participants = new ArrayList<>();
+        Map<UUID, UserEntity> usersById = jpaUserRepository.findAllById(conversationModel.conversationUsersList())
+            .stream()
+            .collect(Collectors.toMap(UserEntity::getUserID, Function.identity()));
 
+        List<UserEntity> participants = new ArrayList<>();
         for (UUID conversationUUID : conversationModel.conversationUsersList()) 
         {
-            UserEntity user = jpaUserRepository.findById(conversationUUID)
-                .orElseThrow(() -> new IllegalArgumentException("Participant not found: " + conversationUUID));
+            UserEntity user = usersById.get(conversationUUID);
+            if (user == null)
+                throw new IllegalArgumentException("Participant not found: " + conversationUUID);
             participants.add(user);
         }
 
@@ -65,7 +85,8 @@ public class ConversationRepositoryAdapter implements ConversationRepositoryPort
             userUUIDList,
             saved.getConversationEntityStatus(),
             saved.getConversationEntityCreatedAt(),
-            saved.getConversationEntityClosedAt()
+            saved.getConversationEntityClosedAt(),
+            saved.getConversationEntityVersion()
         );
     }
 
@@ -80,45 +101,85 @@ public class ConversationRepositoryAdapter implements ConversationRepositoryPort
                 userIds,
                 saved.getConversationEntityStatus(),
                 saved.getConversationEntityCreatedAt(),
-                saved.getConversationEntityClosedAt()
+                saved.getConversationEntityClosedAt(),
+                saved.getConversationEntityVersion()
             );
         });
     }
 
     @Override
     public List<ConversationModel> findAllByUserId(UUID userID){
-        List<ConversationEntity> conversationEntityList = jpaConversationRepository.findAllByUserId(userID);
-        List<ConversationModel> ConversationModelList = new ArrayList<>();
-
-        for (ConversationEntity conversationEntity : conversationEntityList){
-            List<UUID> userIds = conversationEntity.getConversationEntityUserList()
-                .stream().map(UserEntity::getUserID).toList();
-            ConversationModelList.add(new ConversationModel(
-                conversationEntity.getConversationID(),
-                userIds,
-                conversationEntity.getConversationEntityStatus(),
-                conversationEntity.getConversationEntityCreatedAt(),
-                conversationEntity.getConversationEntityClosedAt()
+        return withParticipants(jpaConversationRepository.findRowsByUserId(
+            userID, EnumSet.allOf(ConversationStatus.class), Limit.unlimited()));
+    }
+
+    @Override
+    public List<ConversationModel> findPageByUserId(UUID userID, Set<ConversationStatus> statuses, ConversationCursor before, int limit){
+        Set<ConversationStatus> matching = statuses == null || statuses.isEmpty()
+            ? EnumSet.allOf(ConversationStatus.class)
+            : statuses;
+        List<ConversationRow> rows = before == null
+            ? jpaConversationRepository.findRowsByUserId(userID, matching, Limit.of(limit))
+            : jpaConversationRepository.findRowsByUserIdBefore(
+                userID, matching, before.conversationCreatedAt(), before.conversationID(), Limit.of(limit));
+        return withParticipants(rows);
+    }
+
+    // Second query for the participant ids of all rows, keeps the listing at two statements
+    private List<ConversationModel> withParticipants(List<ConversationRow> rows){
+        if (rows.isEmpty()) return List.of();
+
+        Map<UUID, List<UUID>> participants = new HashMap<>();
+        for (ConversationParticipantRow row : jpaConversationRepository.findParticipants(
+                rows.stream().map(ConversationRow::conversationID).toList())) {
+            participants.computeIfAbsent(row.conversationID(), id -> new ArrayList<>()).add(row.userID());
+        }
+
+        List<ConversationModel> conversationModelList = new ArrayList<>(rows.size());
+        for (ConversationRow row : rows){
+            conversationModelList.add(new ConversationModel(
+                row.conversationID(),
+                participants.getOrDefault(row.conversationID(), List.of()),
+                row.conversationStatus(),
+                row.conversationCreatedAt(),
+                row.conversationClosedAt(),
+                row.conversationVersion()
             ));
         }
-        return ConversationModelList;
+        return conversationModelList;
+    }
+
+    // Point read on the unique (patient, doctor) key instead of a self-join over conversation_users
+    @Override
+    public Optional<ConversationModel> findActiveBetween(UUID patientID, UUID doctorID) {
+        return jpaActiveConversationPairRepository.findActive(patientID, doctorID)
+            .map(row -> new ConversationModel(
+                row.conversationID(),
+                List.of(patientID, doctorID),
+                row.conversationStatus(),
+                row.conversationCreatedAt(),
+                row.conversationClosedAt(),
+                row.conversationVersion()
+            ));
     }
 
     @Override
-    @Transactional(readOnly = true)
-    public Optional<ConversationModel> findActiveBetween(UUID userA, UUID userB) {
-        List<ConversationEntity> list =
-            jpaConversationRepository.findBetweenWithStatus(userA, userB, ConversationStatus.ACTIVE);
+    public boolean claimActivePair(UUID conversationID, UUID patientID, UUID doctorID) {
+        return jpaActiveConversationPairRepository.claim(conversationID, patientID, doctorID) == 1;
+    }
 
-        return list.stream().findFirst().map(saved -> {
-            List<UUID> userIds = saved.getConversationEntityUserList()
-                                      .stream().map(UserEntity::getUserID).toList();
-            return new ConversationModel
-            (
-                saved.getConversationID(), userIds, saved.getConversationEntityStatus(),
-                saved.getConversationEntityCreatedAt(), saved.getConversationEntityClosedAt()
-            );
-        });
+    @Override
+    public boolean closeIfActive(UUID conversationID, LocalDateTime closedAt) {
+        if (jpaConversationRepository.closeIfActive(conversationID, closedAt) != 1) return false;
+        jpaActiveConversationPairRepository.release(conversationID);
+        return true;
+    }
+
+    @Override
+    public Map<UUID, Long> findActiveVersions(Collection<UUID> conversationIDs) {
+        if (conversationIDs.isEmpty()) return Map.of();
+        return jpaConversationRepository.findActiveVersions(conversationIDs).stream()
+            .collect(Collectors.toMap(ConversationVersionRow::conversationID, ConversationVersionRow::conversationVersion));
     }
 
     @Override
@@ -0,0 +1,82 @@
+// src/main/java/com/hospital/infrastructure/persistance/jpa/adapter/ConversationSummaryRepositoryAdapter.java
+package com.hospital.infrastructure.persistance.jpa.adapter;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import com.hospital.application.port.ConversationSummaryRepositoryPort;
+import com.hospital.domain.model.ConversationMessage;
+import com.hospital.domain.model.ConversationSummaryModel;
+import com.hospital.domain.model.InboxCursor;
+import com.hospital.domain.model.MessageModel;
+import com.hospital.infrastructure.persistance.jpa.repository.JpaConversationSummaryRepository;
+
+@Component
+public class ConversationSummaryRepositoryAdapter implements ConversationSummaryRepositoryPort {
+
+    // Characters of the last message kept for the inbox preview
+    static final int SNIPPET_LENGTH = 200;
+
+    private record Group(UUID conversationID, UUID authorID) {}
+
+    private final JpaConversationSummaryRepository jpa;
+
+    public ConversationSummaryRepositoryAdapter(JpaConversationSummaryRepository jpa) {
+        this.jpa = jpa;
+    }
+
+    // One upsert per conversation and author, carrying the group's size and its latest message.
+    // Groups go in conversation order so transactions touching several conversations lock them alike.
+    @Override
+    public void recordMessages(List<ConversationMessage> messages, boolean countUnread) {
+        Map<Group, MessageModel> latest = new LinkedHashMap<>();
+        Map<Group, Integer> counts = new LinkedHashMap<>();
+        for (ConversationMessage conversationMessage : messages) {
+            MessageModel message = conversationMessage.message();
+            Group group = new Group(conversationMessage.conversationID(), message.authorID());
+            latest.merge(group, message, (a, b) -> b.messageCreatedAt().isBefore(a.messageCreatedAt()) ? a : b);
+            counts.merge(group, 1, Integer::sum);
+        }
+
+        latest.keySet().stream()
+            .sorted(Comparator.comparing(Group::conversationID).thenComparing(Group::authorID))
+            .forEach(group -> {
+                MessageModel message = latest.get(group);
+                jpa.upsert(
+                    group.conversationID(),
+                    message.messageID(),
+                    group.authorID(),
+                    snippet(message.messageContext()),
+                    message.messageCreatedAt(),
+                    countUnread ? counts.get(group) : 0
+                );
+            });
+    }
+
+    @Override
+    public boolean markRead(UUID conversationID, UUID userID) {
+        return jpa.markRead(conversationID, userID) > 0;
+    }
+
+    @Override
+    public List<ConversationSummaryModel> findInbox(UUID userID, InboxCursor before, int limit) {
+        return before == null
+            ? jpa.findInbox(userID, Limit.of(limit))
+            : jpa.findInboxBefore(userID, before.lastActivityAt(), before.conversationID(), Limit.of(limit));
+    }
+
+    // Cut on a code point boundary so a surrogate pair is never split
+    static String snippet(String content) {
+        Objects.requireNonNull(content);
+        if (content.length() <= SNIPPET_LENGTH) return content;
+        int end = Character.isHighSurrogate(content.charAt(SNIPPET_LENGTH - 1)) ? SNIPPET_LENGTH - 1 : SNIPPET_LENGTH;
+        return content.substring(0, end);
+    }
+}
@@ -0,0 +1,77 @@
+// src/main/java/com/hospital/infrastructure/persistance/jpa/adapter/DoctorRatingStatsRepositoryAdapter.java
+package com.hospital.infrastructure.persistance.jpa.adapter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.stereotype.Component;
+
+import com.hospital.application.port.DoctorRatingStatsRepositoryPort;
+import com.hospital.domain.model.DoctorRatingStatsModel;
+import com.hospital.infrastructure.persistance.jpa.repository.JpaDoctorRatingStatsRepository;
+
+@Component
+public class DoctorRatingStatsRepositoryAdapter implements DoctorRatingStatsRepositoryPort {
+
+    private final JpaDoctorRatingStatsRepository statsRepo;
+
+    public DoctorRatingStatsRepositoryAdapter(JpaDoctorRatingStatsRepository statsRepo) {
+        this.statsRepo = statsRepo;
+    }
+
+    // Fold new scores into the doctors' aggregate rows with a single upsert
+    @Override
+    public void recordScores(Map<UUID, List<Integer>> scoresByDoctor) {
+        if (scoresByDoctor.isEmpty()) return;
+
+        int doctors = scoresByDoctor.size();
+        UUID[] doctorIds = new UUID[doctors];
+        long[] scoreSums = new long[doctors];
+        long[] ratingCounts = new long[doctors];
+        long[][] buckets = new long[5][doctors];
+        int i = 0;
+        for (Map.Entry<UUID, List<Integer>> doctor : scoresByDoctor.entrySet()) {
+            doctorIds[i] = doctor.getKey();
+            for (int score : doctor.getValue()) {
+                if (score < 1 || score > 5)
+                    throw new IllegalArgumentException("Score out of range: " + score);
+                scoreSums[i] += score;
+                ratingCounts[i]++;
+                buckets[score - 1][i]++;
+            }
+            i++;
+        }
+
+        statsRepo.addToStats(
+            doctorIds, scoreSums, ratingCounts,
+            buckets[0], buckets[1], buckets[2], buckets[3], buckets[4]
+        );
+    }
+
+    // Single primary key lookup
+    @Override
+    public Optional<DoctorRatingStatsModel> findByDoctorId(UUID doctorId) {
+        return statsRepo.findById(doctorId).map(stats -> new DoctorRatingStatsModel(
+            stats.getDoctorId(),
+            stats.getScoreSum(),
+            stats.getRatingCount(),
+            List.of(
+                stats.getScore1Count(),
+                stats.getScore2Count(),
+                stats.getScore3Count(),
+                stats.getScore4Count(),
+                stats.getScore5Count()
+            )
+        ));
+    }
+
+    // Recompute every aggregate from the ratings table, returns the number of rebuilt rows
+    @Override
+    public int rebuildAll() {
+        statsRepo.lockForRebuild();
+        statsRepo.deleteAllStats();
+        return statsRepo.insertFromRatings();
+    }
+}
@@ -2,12 +2,20 @@
 package com.hospital.infrastructure.persistance.jpa.adapter;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Component;
 
 import com.hospital.application.port.MessageRepositoryPort;
+import com.hospital.domain.model.ConversationMessage;
+import com.hospital.domain.model.MessageCursor;
 import com.hospital.domain.model.MessageModel;
 import com.hospital.infrastructure.persistance.jpa.entity.ConversationEntity;
 import com.hospital.infrastructure.persistance.jpa.entity.MessageEntity;
@@ -16,30 +24,34 @@ import com.hospital.infrastructure.persistance.jpa.repository.JpaConversationRep
 import com.hospital.infrastructure.persistance.jpa.repository.JpaMessageRepository;
 import com.hospital.infrastructure.persistance.jpa.repository.JpaUserRepository;
 
+import jakarta.persistence.EntityManager;
+
 @Component
 public class MessageRepositoryAdapter implements MessageRepositoryPort {
 
     private final JpaMessageRepository jpaMessageRepository;
     private final JpaConversationRepository jpaConversationRepository;
     private final JpaUserRepository jpaUserRepository;
+    private final EntityManager entityManager;
 
     public MessageRepositoryAdapter(
         JpaMessageRepository jpaMessageRepository,                            
         JpaConversationRepository jpaConversationRepository,
-        JpaUserRepository jpaUserRepository
+        JpaUserRepository jpaUserRepository,
+        EntityManager entityManager
     ){
         this.jpaMessageRepository = jpaMessageRepository;
         this.jpaConversationRepository = jpaConversationRepository;
         this.jpaUserRepository = jpaUserRepository;
+        this.entityManager = entityManager;
     }
 
-    // Save message entity with using conversationID
+    // Save message entity with using conversationID.
+    // The caller has already validated the conversation and author, so only references are used and the send is a single INSERT.
     @Override
     public MessageModel save(MessageModel messageModel, UUID conversationID){
-        ConversationEntity conversationEntity = jpaConversationRepository
-            .findById(conversationID).orElseThrow();
-        UserEntity author = jpaUserRepository
-            .findById(messageModel.authorID()).orElseThrow();
+        ConversationEntity conversationEntity = jpaConversationRepository.getReferenceById(conversationID);
+        UserEntity author = jpaUserRepository.getReferenceById(messageModel.authorID());
 
         MessageEntity entity = MessageEntity.createMessageEntity(
             messageModel.messageID(),
@@ -49,34 +61,86 @@ public class MessageRepositoryAdapter implements MessageRepositoryPort {
             messageModel.messageCreatedAt()
         );
 
-        MessageEntity saved = jpaMessageRepository.save(entity);
+        jpaMessageRepository.save(entity);
+        return messageModel;
+    }
 
-        return new MessageModel(
-            saved.getMessageID(),
-            saved.getAuthor().getUserID(),
-            saved.getMessageContext(),
-            saved.getMessageCreatedAt()
-        );
+    // Single INSERT ... SELECT guarded by the conversation's status and version
+    @Override
+    public boolean saveIfUnchanged(MessageModel messageModel, UUID conversationID, long conversationVersion){
+        return jpaMessageRepository.insertIfUnchanged(
+            messageModel.messageID(),
+            conversationID,
+            conversationVersion,
+            messageModel.authorID(),
+            messageModel.messageContext(),
+            messageModel.messageCreatedAt()
+        ) == 1;
+    }
+
+    // Same reference-only entities as save, Hibernate sends them as JDBC batches (hibernate.jdbc.batch_size).
+    // Flushed and detached right away so the persistence context stays small over a long import.
+    @Override
+    public void saveAll(List<ConversationMessage> messages){
+        List<MessageEntity> entities = new ArrayList<>(messages.size());
+        for (ConversationMessage conversationMessage : messages) {
+            MessageModel messageModel = conversationMessage.message();
+            entities.add(MessageEntity.createMessageEntity(
+                messageModel.messageID(),
+                jpaConversationRepository.getReferenceById(conversationMessage.conversationID()),
+                jpaUserRepository.getReferenceById(messageModel.authorID()),
+                messageModel.messageContext(),
+                messageModel.messageCreatedAt()
+            ));
+        }
+        jpaMessageRepository.saveAll(entities);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Override
+    public Set<UUID> findExistingIDs(UUID conversationID, Collection<UUID> messageIDs){
+        if (messageIDs.isEmpty()) return Set.of();
+        return new HashSet<>(jpaMessageRepository.findExistingIDs(conversationID, messageIDs));
     }
 
     // take all messages using JpaMessageRepository
     @Override
     public List<MessageModel> findByConversationID(UUID conversationID){
+        return jpaMessageRepository.findModelsByConversationID(conversationID);
+    }
 
-        List<MessageEntity> messageEntityList =
-        jpaMessageRepository.findByMessageConversation_ConversationIDOrderByMessageCreatedAtAsc(conversationID);
+    // Stops at the first row of the conversation index
+    @Override
+    public boolean hasMessages(UUID conversationID){
+        return jpaMessageRepository.existsByMessageConversation_ConversationID(conversationID);
+    }
 
-        List<MessageModel> messageModelList = new ArrayList<>();
+    @Override
+    public Stream<ConversationMessage> streamByConversationID(UUID conversationID){
+        return jpaMessageRepository.streamByConversationID(conversationID);
+    }
 
-        for (MessageEntity messageEntity : messageEntityList){
-            messageModelList.add(new MessageModel(
-                messageEntity.getMessageID(),
-                messageEntity.getAuthor().getUserID(),
-                messageEntity.getMessageContext(),
-                messageEntity.getMessageCreatedAt()
-            ));
-        }
-        return messageModelList;
+    @Override
+    public Stream<ConversationMessage> streamByParticipant(UUID userID){
+        return jpaMessageRepository.streamByParticipant(userID);
+    }
+
+    // One keyset page, always returned oldest first
+    @Override
+    public List<MessageModel> findPage(UUID conversationID, MessageCursor before, MessageCursor after, int limit){
+        if (before != null && after != null)
+            throw new IllegalArgumentException("Only one of before and after can be given");
+
+        if (after != null)
+            return jpaMessageRepository.findModelsAfter(
+                conversationID, after.messageCreatedAt(), after.messageID(), Limit.of(limit));
+
+        List<MessageModel> newestFirst = new ArrayList<>(before != null
+            ? jpaMessageRepository.findModelsBefore(conversationID, before.messageCreatedAt(), before.messageID(), Limit.of(limit))
+            : jpaMessageRepository.findLatestModels(conversationID, Limit.of(limit)));
+        Collections.reverse(newestFirst);
+        return newestFirst;
     }
 
     @Override
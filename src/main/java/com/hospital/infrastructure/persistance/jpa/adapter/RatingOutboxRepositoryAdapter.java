@@ -0,0 +1,60 @@
+// src/main/java/com/hospital/infrastructure/persistance/jpa/adapter/RatingOutboxRepositoryAdapter.java
+package com.hospital.infrastructure.persistance.jpa.adapter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.stereotype.Component;
+
+import com.hospital.application.port.RatingOutboxRepositoryPort;
+import com.hospital.domain.model.RatingModel;
+import com.hospital.domain.model.RatingOutboxEntry;
+import com.hospital.infrastructure.persistance.jpa.repository.JpaRatingOutboxRepository;
+
+@Component
+public class RatingOutboxRepositoryAdapter implements RatingOutboxRepositoryPort {
+
+    private final JpaRatingOutboxRepository outboxRepo;
+
+    public RatingOutboxRepositoryAdapter(JpaRatingOutboxRepository outboxRepo) {
+        this.outboxRepo = outboxRepo;
+    }
+
+    @Override
+    public void append(RatingModel rating) {
+        outboxRepo.append(rating.ratingId(), rating.doctorId(), rating.score(), rating.createdAt());
+    }
+
+    // Claimed rows stay locked until the calling transaction ends
+    @Override
+    public List<RatingOutboxEntry> claimBatch(int limit) {
+        return outboxRepo.claimBatch(limit).stream()
+            .map(entry -> new RatingOutboxEntry(
+                entry.getId(),
+                entry.getRatingId(),
+                entry.getDoctorId(),
+                entry.getScore(),
+                entry.getCreatedAt()
+            ))
+            .toList();
+    }
+
+    @Override
+    public void remove(List<Long> entryIds) {
+        if (entryIds.isEmpty()) return;
+        outboxRepo.deleteByIds(entryIds);
+    }
+
+    @Override
+    public Optional<LocalDateTime> oldestPendingAt() {
+        return Optional.ofNullable(outboxRepo.oldestCreatedAt());
+    }
+
+    // Drops every pending entry, for a rebuild that recomputes the aggregates from the ratings table
+    @Override
+    public int discardAll() {
+        outboxRepo.lockForRebuild();
+        return outboxRepo.deleteAllEntries();
+    }
+}
@@ -79,18 +79,4 @@ public class RatingRepositoryAdapter implements RatingRepositoryPort {
                 saved.getCreatedAt()
             ));
     }
-
-    // Return avarage vote calculation for doctor
-    @Override
-    public Double averageForDoctor(UUID doctorId) {
-        var list = ratingRepo.findByDoctor_UserID(doctorId);
-        if (list.isEmpty()) return 0.0;
-        return list.stream().mapToInt(RatingEntity::getScore).average().orElse(0.0);
-    }
-
-    // Return count of votes for doctor
-    @Override
-    public long countForDoctor(UUID doctorId) {
-        return ratingRepo.countByDoctor_UserID(doctorId);
-    }
 }
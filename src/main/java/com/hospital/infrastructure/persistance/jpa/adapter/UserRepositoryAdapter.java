@@ -6,12 +6,18 @@ import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Component;
 
+import com.hospital.api.projection.DoctorSummary;
+import com.hospital.application.dto.DoctorDirectoryEntry;
+import com.hospital.application.dto.DoctorSummaryDto;
 import com.hospital.application.port.UserRepositoryPort;
 import com.hospital.domain.model.UserModel;
+import com.hospital.domain.name.NameNormalizer;
 import com.hospital.domain.role.UserRole;
 import com.hospital.infrastructure.persistance.jpa.entity.UserEntity;
+import com.hospital.infrastructure.persistance.jpa.mapper.RoleMask;
 import com.hospital.infrastructure.persistance.jpa.mapper.UserMapper;
 import com.hospital.infrastructure.persistance.jpa.repository.JpaUserRepository;
 
@@ -54,7 +60,7 @@ public class UserRepositoryAdapter implements UserRepositoryPort{
     // Return users which have roles
     @Override
     public List<UserModel> findAllByRole(UserRole userRole){
-        List<UserEntity> userEntityList = jpa.findByUserRoleSetContaining(userRole);
+        List<UserEntity> userEntityList = jpa.findByRoleMaskIn(RoleMask.containing(userRole));
         List<UserModel> userDomainList = new ArrayList<>();
 
         for(UserEntity userEntity : userEntityList){
@@ -64,10 +70,10 @@ public class UserRepositoryAdapter implements UserRepositoryPort{
         return userDomainList;
     }
 
-    // Return users which have name and roles
+    // Return users which have name and roles, "Dr. Ayşe Yılmaz" finds "ayse yilmaz"
     @Override
     public List<UserModel> findByNameAndRole(String userName, UserRole role) {
-        List<UserEntity> userEntityList = jpa.findByUserNameAndUserRoleSetContaining(userName, role);
+        List<UserEntity> userEntityList = jpa.findByNormalizedNameAndRoleMaskIn(NameNormalizer.normalize(userName), RoleMask.containing(role));
         List<UserModel> userModelList = new ArrayList<>();
 
         for (UserEntity userEntity : userEntityList)
@@ -75,6 +81,28 @@ public class UserRepositoryAdapter implements UserRepositoryPort{
         return userModelList;
     }
 
+    @Override
+    public List<DoctorDirectoryEntry> searchDoctorsByNamePrefix(String prefix, int limit) {
+        String from = NameNormalizer.normalize(prefix);
+        // Above every name that starts with the prefix
+        String to = from + Character.MAX_VALUE;
+        return jpa.findDoctorsByNormalizedNameBetween(from, to, RoleMask.containing(UserRole.DOCTOR), Limit.of(limit));
+    }
+
+    // Name, average and count of doctors in one query, keyset paginated on (rating, id)
+    @Override
+    public List<DoctorSummary> findDoctorLeaderboard(long minRatings, Double afterRating, UUID afterId, int limit) {
+        List<Short> doctorMasks = RoleMask.containing(UserRole.DOCTOR);
+        List<DoctorSummary> rows = afterRating == null || afterId == null
+            ? jpa.findDoctorLeaderboard(minRatings, doctorMasks, limit)
+            : jpa.findDoctorLeaderboardAfter(minRatings, afterRating, afterId, doctorMasks, limit);
+
+        List<DoctorSummary> doctorSummaryList = new ArrayList<>(rows.size());
+        for (DoctorSummary row : rows)
+            doctorSummaryList.add(new DoctorSummaryDto(row.getId(), row.getFullName(), row.getRating(), row.getRatingsCount()));
+        return doctorSummaryList;
+    }
+
     @Override
     public void deleteAll() {
         try {
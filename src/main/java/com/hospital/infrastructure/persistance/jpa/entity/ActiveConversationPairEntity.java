@@ -0,0 +1,32 @@
+// src/main/java/com/hospital/infrastructure/persistance/jpa/entity/ActiveConversationPairEntity.java
+package com.hospital.infrastructure.persistance.jpa.entity;
+
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+// The ACTIVE conversation of a patient/doctor pair, unique on the pair. Written with native
+// statements only (claim and release), mapped for the point read.
+@Entity
+@Table(name = "active_conversation_pairs")
+public class ActiveConversationPairEntity {
+
+    @Id
+    @Column(name = "conversation_id", nullable = false, updatable = false)
+    private UUID conversationID;
+
+    @Column(name = "patient_id", nullable = false, updatable = false)
+    private UUID patientID;
+
+    @Column(name = "doctor_id", nullable = false, updatable = false)
+    private UUID doctorID;
+
+    public UUID getConversationID(){ return conversationID; }
+    public UUID getPatientID(){ return patientID; }
+    public UUID getDoctorID(){ return doctorID; }
+
+    protected ActiveConversationPairEntity() {}
+}
@@ -6,6 +6,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
+import org.springframework.data.domain.Persistable;
+
 import com.hospital.domain.status.ConversationStatus;
 
 import jakarta.persistence.Column;
@@ -14,11 +16,15 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
 
 @Entity
 @Table(name = "conversations")
-public class ConversationEntity  {
+public class ConversationEntity implements Persistable<UUID> {
 
     @Id
     @Column(nullable = false, updatable = false)
@@ -38,6 +44,15 @@ public class ConversationEntity  {
     private LocalDateTime conversationCreatedAt;
     private LocalDateTime conversationClosedAt;
 
+    // Stale entity updates fail with an optimistic lock exception, bulk updates bump it themselves
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    // Ids are assigned by the application, this lets save() persist without a SELECT first
+    @Transient
+    private boolean isNew = true;
+
     public static ConversationEntity createConversationEntity
     (
         UUID conversationID,
@@ -55,11 +70,19 @@ public class ConversationEntity  {
         return conversationEntity;
     }
 
+    @Override public UUID getId(){ return conversationID; }
+    @Override public boolean isNew(){ return isNew; }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew(){ this.isNew = false; }
+
     public UUID getConversationID(){ return conversationID; }
     public List<UserEntity> getConversationEntityUserList(){ return conversationUserList; }
     public ConversationStatus getConversationEntityStatus(){ return conversationStatus; }
     public LocalDateTime getConversationEntityCreatedAt(){ return conversationCreatedAt; }
     public LocalDateTime getConversationEntityClosedAt(){ return conversationClosedAt; }
+    public long getConversationEntityVersion(){ return version; }
 
     public void setConversationEntityId(UUID conversationID){ this.conversationID = conversationID; }
     public void setConversationEntityUserList(List<UserEntity> users){
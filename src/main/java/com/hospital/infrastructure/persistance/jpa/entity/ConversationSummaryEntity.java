@@ -0,0 +1,71 @@
+// src/main/java/com/hospital/infrastructure/persistance/jpa/entity/ConversationSummaryEntity.java
+package com.hospital.infrastructure.persistance.jpa.entity;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+
+// One participant's view of a conversation for the inbox. Written with native upserts only,
+// mapped for the inbox query.
+@Entity
+@Table(name = "conversation_summary")
+@IdClass(ConversationSummaryEntity.Key.class)
+public class ConversationSummaryEntity {
+
+    public static class Key implements Serializable {
+        private UUID conversationID;
+        private UUID participantID;
+
+        protected Key() {}
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key key
+                && Objects.equals(conversationID, key.conversationID)
+                && Objects.equals(participantID, key.participantID);
+        }
+
+        @Override
+        public int hashCode() { return Objects.hash(conversationID, participantID); }
+    }
+
+    @Id
+    @Column(name = "conversation_id", nullable = false, updatable = false)
+    private UUID conversationID;
+
+    @Id
+    @Column(name = "participant_id", nullable = false, updatable = false)
+    private UUID participantID;
+
+    @Column(name = "last_activity_at", nullable = false)
+    private LocalDateTime lastActivityAt;
+
+    @Column(name = "last_message_id")
+    private UUID lastMessageID;
+
+    @Column(name = "last_author_id")
+    private UUID lastAuthorID;
+
+    @Column(name = "last_message_snippet", length = 200)
+    private String lastMessageSnippet;
+
+    @Column(name = "unread_count", nullable = false)
+    private int unreadCount;
+
+    public UUID getConversationID(){ return conversationID; }
+    public UUID getParticipantID(){ return participantID; }
+    public LocalDateTime getLastActivityAt(){ return lastActivityAt; }
+    public UUID getLastMessageID(){ return lastMessageID; }
+    public UUID getLastAuthorID(){ return lastAuthorID; }
+    public String getLastMessageSnippet(){ return lastMessageSnippet; }
+    public int getUnreadCount(){ return unreadCount; }
+
+    protected ConversationSummaryEntity() {}
+}
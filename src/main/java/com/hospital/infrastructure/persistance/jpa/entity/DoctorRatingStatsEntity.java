@@ -0,0 +1,67 @@
+// src/main/java/com/hospital/infrastructure/persistance/jpa/entity/DoctorRatingStatsEntity.java
+package com.hospital.infrastructure.persistance.jpa.entity;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+// One row per rated doctor, kept up to date on every rating insert
+@Entity
+@Table(name = "doctor_rating_stats")
+public class DoctorRatingStatsEntity {
+
+    @Id
+    @Column(name = "doctor_id", nullable = false, updatable = false)
+    private UUID doctorId;
+
+    @Column(name = "score_sum", nullable = false)
+    private long scoreSum;
+
+    @Column(name = "rating_count", nullable = false)
+    private long ratingCount;
+
+    @Column(name = "score_1_count", nullable = false)
+    private long score1Count;
+
+    @Column(name = "score_2_count", nullable = false)
+    private long score2Count;
+
+    @Column(name = "score_3_count", nullable = false)
+    private long score3Count;
+
+    @Column(name = "score_4_count", nullable = false)
+    private long score4Count;
+
+    @Column(name = "score_5_count", nullable = false)
+    private long score5Count;
+
+    // score_sum / rating_count rounded to 2 places, the leaderboard order
+    @Column(name = "avg_rating", nullable = false, precision = 3, scale = 2)
+    private BigDecimal avgRating;
+
+    public UUID getDoctorId() { return doctorId; }
+    public long getScoreSum() { return scoreSum; }
+    public long getRatingCount() { return ratingCount; }
+    public long getScore1Count() { return score1Count; }
+    public long getScore2Count() { return score2Count; }
+    public long getScore3Count() { return score3Count; }
+    public long getScore4Count() { return score4Count; }
+    public long getScore5Count() { return score5Count; }
+    public BigDecimal getAvgRating() { return avgRating; }
+
+    public void setDoctorId(UUID doctorId) { this.doctorId = doctorId; }
+    public void setScoreSum(long scoreSum) { this.scoreSum = scoreSum; }
+    public void setRatingCount(long ratingCount) { this.ratingCount = ratingCount; }
+    public void setScore1Count(long score1Count) { this.score1Count = score1Count; }
+    public void setScore2Count(long score2Count) { this.score2Count = score2Count; }
+    public void setScore3Count(long score3Count) { this.score3Count = score3Count; }
+    public void setScore4Count(long score4Count) { this.score4Count = score4Count; }
+    public void setScore5Count(long score5Count) { this.score5Count = score5Count; }
+    public void setAvgRating(BigDecimal avgRating) { this.avgRating = avgRating; }
+
+    public DoctorRatingStatsEntity() {}
+}
@@ -4,16 +4,21 @@ package com.hospital.infrastructure.persistance.jpa.entity;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+import org.springframework.data.domain.Persistable;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 
 @Entity
 @Table(name = "messages")
-public class MessageEntity {
+public class MessageEntity implements Persistable<UUID> {
     
     @Id
     @Column(nullable = false, updatable = false)
@@ -31,6 +36,10 @@ public class MessageEntity {
 
     private LocalDateTime messageCreatedAt;
 
+    // Ids are assigned by the application, this lets save() persist without a SELECT first
+    @Transient
+    private boolean isNew = true;
+
     public static MessageEntity createMessageEntity
     (
         UUID messageID,
@@ -48,6 +57,13 @@ public class MessageEntity {
         return messageEntity;
     }
 
+    @Override public UUID getId(){ return messageID; }
+    @Override public boolean isNew(){ return isNew; }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew(){ this.isNew = false; }
+
     public UUID getMessageID(){ return messageID; }
     public ConversationEntity getConversation(){ return messageConversation; }
     public UserEntity getAuthor(){ return messageAuthor; }
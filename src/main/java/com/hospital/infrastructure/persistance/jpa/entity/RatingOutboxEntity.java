@@ -0,0 +1,41 @@
+// src/main/java/com/hospital/infrastructure/persistance/jpa/entity/RatingOutboxEntity.java
+package com.hospital.infrastructure.persistance.jpa.entity;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+// A rating not yet folded into doctor_rating_stats. Written and deleted with native statements
+// only, mapped for the batch claim.
+@Entity
+@Table(name = "rating_outbox")
+public class RatingOutboxEntity {
+
+    @Id
+    @Column(name = "id", nullable = false, updatable = false)
+    private Long id;
+
+    @Column(name = "rating_id", nullable = false, updatable = false)
+    private UUID ratingId;
+
+    @Column(name = "doctor_id", nullable = false, updatable = false)
+    private UUID doctorId;
+
+    @Column(name = "score", nullable = false, updatable = false)
+    private int score;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public Long getId(){ return id; }
+    public UUID getRatingId(){ return ratingId; }
+    public UUID getDoctorId(){ return doctorId; }
+    public int getScore(){ return score; }
+    public LocalDateTime getCreatedAt(){ return createdAt; }
+
+    protected RatingOutboxEntity() {}
+}
@@ -5,17 +5,13 @@ package com.hospital.infrastructure.persistance.jpa.entity;
 import java.util.Set;
 import java.util.UUID;
 
+import com.hospital.domain.name.NameNormalizer;
 import com.hospital.domain.role.UserRole;
+import com.hospital.infrastructure.persistance.jpa.mapper.RoleMask;
 
-import jakarta.persistence.CollectionTable;
 import jakarta.persistence.Column;
-import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
-import jakarta.persistence.EnumType;
-import jakarta.persistence.Enumerated;
-import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
-import jakarta.persistence.JoinColumn;
 import jakarta.persistence.Table;
 
 @Entity
@@ -29,21 +25,28 @@ public class UserEntity {
     @Column (name = "name", nullable = false, length = 80)
     private String userName;
 
-    @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(name = "user_roles", joinColumns = @JoinColumn(name = "user_id"))
-    @Enumerated(EnumType.STRING)
-    @Column(name = "role", nullable = false, length = 20)
-    private Set<UserRole> userRoleSet;
+    // Lookup form of the name, always derived from userName
+    @Column(name = "normalized_name", nullable = false, length = NameNormalizer.MAX_LENGTH)
+    private String normalizedName;
+
+    // Role set as a bitmask, see RoleMask
+    @Column(name = "roles", nullable = false)
+    private short roleMask;
 
     public UUID getUserID(){ return userID; }
     public String getUserName(){ return userName; }
-    public Set<UserRole> getUserRoles(){ return userRoleSet; }
+    public String getNormalizedName(){ return normalizedName; }
+    public Set<UserRole> getUserRoles(){ return RoleMask.toRoles(roleMask); }
+    public short getRoleMask(){ return roleMask; }
 
     public void setUserEntityId(UUID userID){ this.userID = userID; }
-    public void setUserEntityName(String userName){ this.userName = userName; }
+    public void setUserEntityName(String userName){
+        this.userName = userName;
+        this.normalizedName = NameNormalizer.normalize(userName);
+    }
     public void setUserEntityRoles(Set<UserRole> userRoleSet){
         if (userRoleSet != null)
-            this.userRoleSet = userRoleSet; 
+            this.roleMask = RoleMask.of(userRoleSet);
     }
     public UserEntity() {}
 }
\ No newline at end of file
@@ -0,0 +1,46 @@
+// src/main/java/com/hospital/infrastructure/persistance/jpa/mapper/RoleMask.java
+package com.hospital.infrastructure.persistance.jpa.mapper;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import com.hospital.domain.role.UserRole;
+
+// users.roles stores the role set as a bitmask, bit n is the role with ordinal n (PATIENT = 1, DOCTOR = 2).
+// New roles must be appended to UserRole so stored masks keep their meaning.
+public final class RoleMask {
+
+    // Every mask a smallint can hold for the current roles
+    private static final int ALL = (1 << UserRole.values().length) - 1;
+
+    private RoleMask() {}
+
+    public static short of(Set<UserRole> roles) {
+        int mask = 0;
+        for (UserRole role : roles) mask |= bit(role);
+        return (short) mask;
+    }
+
+    public static EnumSet<UserRole> toRoles(short mask) {
+        EnumSet<UserRole> roles = EnumSet.noneOf(UserRole.class);
+        for (UserRole role : UserRole.values()) {
+            if ((mask & bit(role)) != 0) roles.add(role);
+        }
+        return roles;
+    }
+
+    // All masks that include the role, "has role" becomes an indexable roles in (...) predicate
+    public static List<Short> containing(UserRole role) {
+        List<Short> masks = new ArrayList<>();
+        for (int mask = 1; mask <= ALL; mask++) {
+            if ((mask & bit(role)) != 0) masks.add((short) mask);
+        }
+        return masks;
+    }
+
+    private static int bit(UserRole role) {
+        return 1 << role.ordinal();
+    }
+}
@@ -0,0 +1,10 @@
+// src/main/java/com/hospital/infrastructure/persistance/jpa/repository/ConversationParticipantRow.java
+package com.hospital.infrastructure.persistance.jpa.repository;
+
+import java.util.UUID;
+
+// One conversation_users row
+public record ConversationParticipantRow(
+    UUID conversationID,
+    UUID userID
+) {}
@@ -0,0 +1,16 @@
+// src/main/java/com/hospital/infrastructure/persistance/jpa/repository/ConversationRow.java
+package com.hospital.infrastructure.persistance.jpa.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.hospital.domain.status.ConversationStatus;
+
+// Conversation columns only, participants are read separately from conversation_users
+public record ConversationRow(
+    UUID conversationID,
+    ConversationStatus conversationStatus,
+    LocalDateTime conversationCreatedAt,
+    LocalDateTime conversationClosedAt,
+    long conversationVersion
+) {}
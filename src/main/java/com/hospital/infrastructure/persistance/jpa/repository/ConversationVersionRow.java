@@ -0,0 +1,10 @@
+// src/main/java/com/hospital/infrastructure/persistance/jpa/repository/ConversationVersionRow.java
+package com.hospital.infrastructure.persistance.jpa.repository;
+
+import java.util.UUID;
+
+// A conversation id with its current version
+public record ConversationVersionRow(
+    UUID conversationID,
+    long conversationVersion
+) {}
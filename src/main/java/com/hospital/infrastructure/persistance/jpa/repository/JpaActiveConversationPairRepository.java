@@ -0,0 +1,38 @@
+// src/main/java/com/hospital/infrastructure/persistance/jpa/repository/JpaActiveConversationPairRepository.java
+package com.hospital.infrastructure.persistance.jpa.repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import com.hospital.infrastructure.persistance.jpa.entity.ActiveConversationPairEntity;
+
+public interface JpaActiveConversationPairRepository extends JpaRepository<ActiveConversationPairEntity, UUID> {
+
+    // Single unique-index read of the pair's ACTIVE conversation
+    @Query("""
+        select new com.hospital.infrastructure.persistance.jpa.repository.ConversationRow(
+            c.conversationID, c.conversationStatus, c.conversationCreatedAt, c.conversationClosedAt, c.version)
+        from ActiveConversationPairEntity a
+          join ConversationEntity c on c.conversationID = a.conversationID
+        where a.patientID = :patientID
+          and a.doctorID = :doctorID
+        """)
+    Optional<ConversationRow> findActive(UUID patientID, UUID doctorID);
+
+    // 0 when the pair is already taken. A concurrent uncommitted claim makes this wait for its outcome.
+    @Modifying
+    @Query(value = """
+        insert into active_conversation_pairs (conversation_id, patient_id, doctor_id)
+        values (:conversationID, :patientID, :doctorID)
+        on conflict (patient_id, doctor_id) do nothing
+        """, nativeQuery = true)
+    int claim(UUID conversationID, UUID patientID, UUID doctorID);
+
+    @Modifying
+    @Query(value = "delete from active_conversation_pairs where conversation_id = :conversationID", nativeQuery = true)
+    int release(UUID conversationID);
+}
@@ -1,10 +1,14 @@
 // src/main/java/com/hospital/infrastructure/persistance/jpa/repository/JpaConversationRepository.java
 package com.hospital.infrastructure.persistance.jpa.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
 import com.hospital.domain.status.ConversationStatus;
@@ -12,22 +16,61 @@ import com.hospital.infrastructure.persistance.jpa.entity.ConversationEntity;
 
 public interface JpaConversationRepository extends JpaRepository<ConversationEntity, UUID> {
 
+  // Listing reads projections, no entity, participant collection or user roles is loaded.
+  // Newest first; the first page, then keyset pages strictly older than the cursor.
   @Query("""
-      select distinct c from ConversationEntity c
-        join c.conversationUserList u1
-        join c.conversationUserList u2
-      where u1.userID = :userA
-        and u2.userID = :userB
-        and c.conversationStatus = :status
-      order by c.conversationCreatedAt desc
+      select new com.hospital.infrastructure.persistance.jpa.repository.ConversationRow(
+          c.conversationID, c.conversationStatus, c.conversationCreatedAt, c.conversationClosedAt, c.version)
+      from ConversationEntity c
+        join c.conversationUserList u
+      where u.userID = :userId
+        and c.conversationStatus in :statuses
+      order by c.conversationCreatedAt desc, c.conversationID desc
       """)
-  List<ConversationEntity> findBetweenWithStatus(UUID userA, UUID userB, ConversationStatus status);
+  List<ConversationRow> findRowsByUserId(UUID userId, Collection<ConversationStatus> statuses, Limit limit);
 
   @Query("""
-      select c from ConversationEntity c
+      select new com.hospital.infrastructure.persistance.jpa.repository.ConversationRow(
+          c.conversationID, c.conversationStatus, c.conversationCreatedAt, c.conversationClosedAt, c.version)
+      from ConversationEntity c
         join c.conversationUserList u
       where u.userID = :userId
-      order by c.conversationCreatedAt desc
+        and c.conversationStatus in :statuses
+        and (c.conversationCreatedAt < :createdAt
+             or (c.conversationCreatedAt = :createdAt and c.conversationID < :conversationID))
+      order by c.conversationCreatedAt desc, c.conversationID desc
+      """)
+  List<ConversationRow> findRowsByUserIdBefore(UUID userId, Collection<ConversationStatus> statuses,
+                                               LocalDateTime createdAt, UUID conversationID, Limit limit);
+
+  // Participant ids of a whole page in one query
+  @Query("""
+      select new com.hospital.infrastructure.persistance.jpa.repository.ConversationParticipantRow(c.conversationID, u.userID)
+      from ConversationEntity c
+        join c.conversationUserList u
+      where c.conversationID in :conversationIDs
+      """)
+  List<ConversationParticipantRow> findParticipants(Collection<UUID> conversationIDs);
+
+  // Status transition only, conversation_users is not touched. Returns 0 if the conversation was not active.
+  // Bumps the version, sends validated against the active conversation no longer match it.
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("""
+      update ConversationEntity c
+         set c.conversationStatus = com.hospital.domain.status.ConversationStatus.CLOSED,
+             c.conversationClosedAt = :closedAt,
+             c.version = c.version + 1
+       where c.conversationID = :conversationID
+         and c.conversationStatus = com.hospital.domain.status.ConversationStatus.ACTIVE
+      """)
+  int closeIfActive(UUID conversationID, LocalDateTime closedAt);
+
+  // Current version of each conversation that is still active
+  @Query("""
+      select new com.hospital.infrastructure.persistance.jpa.repository.ConversationVersionRow(c.conversationID, c.version)
+      from ConversationEntity c
+      where c.conversationID in :conversationIDs
+        and c.conversationStatus = com.hospital.domain.status.ConversationStatus.ACTIVE
       """)
-  List<ConversationEntity> findAllByUserId(UUID userId);
+  List<ConversationVersionRow> findActiveVersions(Collection<UUID> conversationIDs);
 }
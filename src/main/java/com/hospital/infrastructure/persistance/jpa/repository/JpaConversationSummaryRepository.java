@@ -0,0 +1,75 @@
+// src/main/java/com/hospital/infrastructure/persistance/jpa/repository/JpaConversationSummaryRepository.java
+package com.hospital.infrastructure.persistance.jpa.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import com.hospital.domain.model.ConversationSummaryModel;
+import com.hospital.infrastructure.persistance.jpa.entity.ConversationSummaryEntity;
+
+public interface JpaConversationSummaryRepository extends JpaRepository<ConversationSummaryEntity, ConversationSummaryEntity.Key> {
+
+    // Range scan of idx_conversation_summary_inbox plus a primary key read of each conversation's status
+    @Query("""
+        select new com.hospital.domain.model.ConversationSummaryModel(
+            s.conversationID, c.conversationStatus, s.lastActivityAt,
+            s.lastMessageID, s.lastAuthorID, s.lastMessageSnippet, s.unreadCount)
+        from ConversationSummaryEntity s
+          join ConversationEntity c on c.conversationID = s.conversationID
+        where s.participantID = :userID
+        order by s.lastActivityAt desc, s.conversationID desc
+        """)
+    List<ConversationSummaryModel> findInbox(UUID userID, Limit limit);
+
+    @Query("""
+        select new com.hospital.domain.model.ConversationSummaryModel(
+            s.conversationID, c.conversationStatus, s.lastActivityAt,
+            s.lastMessageID, s.lastAuthorID, s.lastMessageSnippet, s.unreadCount)
+        from ConversationSummaryEntity s
+          join ConversationEntity c on c.conversationID = s.conversationID
+        where s.participantID = :userID
+          and (s.lastActivityAt < :lastActivityAt
+               or (s.lastActivityAt = :lastActivityAt and s.conversationID < :conversationID))
+        order by s.lastActivityAt desc, s.conversationID desc
+        """)
+    List<ConversationSummaryModel> findInboxBefore(UUID userID, LocalDateTime lastActivityAt, UUID conversationID, Limit limit);
+
+    // One row per participant, created on the conversation's first message. The last message only moves
+    // forward in time, so imported history cannot replace a newer message. Rows are locked in
+    // participant order, concurrent senders of one conversation wait instead of deadlocking.
+    // DISTINCT leaves untyped parameters as text, hence the casts.
+    @Modifying
+    @Query(value = """
+        insert into conversation_summary as s
+            (conversation_id, participant_id, last_activity_at, last_message_id, last_author_id,
+             last_message_snippet, unread_count)
+        select distinct cu.conversation_id, cu.user_id, cast(:createdAt as timestamp), cast(:messageID as uuid),
+               cast(:authorID as uuid), cast(:snippet as varchar), case when cu.user_id = :authorID then 0 else :unread end
+        from conversation_users cu
+        where cu.conversation_id = :conversationID
+        order by cu.user_id
+        on conflict (conversation_id, participant_id) do update set
+            unread_count = s.unread_count + excluded.unread_count,
+            last_activity_at = greatest(s.last_activity_at, excluded.last_activity_at),
+            last_message_id = case when excluded.last_activity_at >= s.last_activity_at
+                                   then excluded.last_message_id else s.last_message_id end,
+            last_author_id = case when excluded.last_activity_at >= s.last_activity_at
+                                  then excluded.last_author_id else s.last_author_id end,
+            last_message_snippet = case when excluded.last_activity_at >= s.last_activity_at
+                                        then excluded.last_message_snippet else s.last_message_snippet end
+        """, nativeQuery = true)
+    int upsert(UUID conversationID, UUID messageID, UUID authorID, String snippet, LocalDateTime createdAt, int unread);
+
+    @Modifying
+    @Query(value = """
+        update conversation_summary set unread_count = 0
+        where conversation_id = :conversationID and participant_id = :userID
+        """, nativeQuery = true)
+    int markRead(UUID conversationID, UUID userID);
+}
@@ -0,0 +1,69 @@
+// src/main/java/com/hospital/infrastructure/persistance/jpa/repository/JpaDoctorRatingStatsRepository.java
+package com.hospital.infrastructure.persistance.jpa.repository;
+
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import com.hospital.infrastructure.persistance.jpa.entity.DoctorRatingStatsEntity;
+
+public interface JpaDoctorRatingStatsRepository extends JpaRepository<DoctorRatingStatsEntity, UUID> {
+
+    // Atomic upsert of one row per doctor, concurrent folds never lose an increment.
+    // Rows are locked in doctor order, so folds sharing doctors wait instead of deadlocking.
+    // avg_rating is recomputed from the new totals, it is what the leaderboard index orders by.
+    @Modifying
+    @Query(value = """
+        insert into doctor_rating_stats as s
+            (doctor_id, score_sum, rating_count,
+             score_1_count, score_2_count, score_3_count, score_4_count, score_5_count, avg_rating)
+        select d.*, round(cast(d.score_sum as numeric) / d.rating_count, 2)
+        from unnest(
+            cast(:doctorIds as uuid[]), cast(:scoreSums as bigint[]), cast(:ratingCounts as bigint[]),
+            cast(:score1Counts as bigint[]), cast(:score2Counts as bigint[]), cast(:score3Counts as bigint[]),
+            cast(:score4Counts as bigint[]), cast(:score5Counts as bigint[]))
+            as d(doctor_id, score_sum, rating_count, score_1_count, score_2_count, score_3_count, score_4_count, score_5_count)
+        order by 1
+        on conflict (doctor_id) do update set
+            avg_rating    = round(cast(s.score_sum + excluded.score_sum as numeric) / (s.rating_count + excluded.rating_count), 2),
+            score_sum     = s.score_sum     + excluded.score_sum,
+            rating_count  = s.rating_count  + excluded.rating_count,
+            score_1_count = s.score_1_count + excluded.score_1_count,
+            score_2_count = s.score_2_count + excluded.score_2_count,
+            score_3_count = s.score_3_count + excluded.score_3_count,
+            score_4_count = s.score_4_count + excluded.score_4_count,
+            score_5_count = s.score_5_count + excluded.score_5_count
+        """, nativeQuery = true)
+    int addToStats(
+        UUID[] doctorIds, long[] scoreSums, long[] ratingCounts,
+        long[] score1Counts, long[] score2Counts, long[] score3Counts, long[] score4Counts, long[] score5Counts
+    );
+
+    // Blocks concurrent upserts until the rebuilding transaction commits, plain reads keep working
+    @Modifying
+    @Query(value = "lock table doctor_rating_stats in exclusive mode", nativeQuery = true)
+    void lockForRebuild();
+
+    @Modifying
+    @Query(value = "delete from doctor_rating_stats", nativeQuery = true)
+    int deleteAllStats();
+
+    @Modifying
+    @Query(value = """
+        insert into doctor_rating_stats
+            (doctor_id, score_sum, rating_count,
+             score_1_count, score_2_count, score_3_count, score_4_count, score_5_count, avg_rating)
+        select r.doctor_id, sum(r.score), count(*),
+               count(*) filter (where r.score = 1),
+               count(*) filter (where r.score = 2),
+               count(*) filter (where r.score = 3),
+               count(*) filter (where r.score = 4),
+               count(*) filter (where r.score = 5),
+               round(cast(sum(r.score) as numeric) / count(*), 2)
+        from ratings r
+        group by r.doctor_id
+        """, nativeQuery = true)
+    int insertFromRatings();
+}
@@ -1,13 +1,113 @@
 // src/main/java/com/hospital/infrastructure/persistence/jpa/repository/JpaMessageRepository.java
 package com.hospital.infrastructure.persistance.jpa.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import com.hospital.domain.model.ConversationMessage;
+import com.hospital.domain.model.MessageModel;
 import com.hospital.infrastructure.persistance.jpa.entity.MessageEntity;
 
+import jakarta.persistence.QueryHint;
+
 public interface JpaMessageRepository extends JpaRepository<MessageEntity, UUID> {
     List<MessageEntity> findByMessageConversation_ConversationIDOrderByMessageCreatedAtAsc(UUID conversationID);
+    boolean existsByMessageConversation_ConversationID(UUID conversationID);
+
+    // The queries below select only the columns a MessageModel needs, no conversation or author entity is loaded
+
+    @Query("""
+        select new com.hospital.domain.model.MessageModel(m.messageID, m.messageAuthor.userID, m.messageContext, m.messageCreatedAt)
+        from MessageEntity m
+        where m.messageConversation.conversationID = :conversationID
+        order by m.messageCreatedAt asc, m.messageID asc
+        """)
+    List<MessageModel> findModelsByConversationID(UUID conversationID);
+
+    // Newest first, callers reverse the page
+    @Query("""
+        select new com.hospital.domain.model.MessageModel(m.messageID, m.messageAuthor.userID, m.messageContext, m.messageCreatedAt)
+        from MessageEntity m
+        where m.messageConversation.conversationID = :conversationID
+        order by m.messageCreatedAt desc, m.messageID desc
+        """)
+    List<MessageModel> findLatestModels(UUID conversationID, Limit limit);
+
+    // Newest first, callers reverse the page
+    @Query("""
+        select new com.hospital.domain.model.MessageModel(m.messageID, m.messageAuthor.userID, m.messageContext, m.messageCreatedAt)
+        from MessageEntity m
+        where m.messageConversation.conversationID = :conversationID
+          and (m.messageCreatedAt < :createdAt or (m.messageCreatedAt = :createdAt and m.messageID < :messageID))
+        order by m.messageCreatedAt desc, m.messageID desc
+        """)
+    List<MessageModel> findModelsBefore(UUID conversationID, LocalDateTime createdAt, UUID messageID, Limit limit);
+
+    @Query("""
+        select new com.hospital.domain.model.MessageModel(m.messageID, m.messageAuthor.userID, m.messageContext, m.messageCreatedAt)
+        from MessageEntity m
+        where m.messageConversation.conversationID = :conversationID
+          and (m.messageCreatedAt > :createdAt or (m.messageCreatedAt = :createdAt and m.messageID > :messageID))
+        order by m.messageCreatedAt asc, m.messageID asc
+        """)
+    List<MessageModel> findModelsAfter(UUID conversationID, LocalDateTime createdAt, UUID messageID, Limit limit);
+
+    @Query("""
+        select m.messageID
+        from MessageEntity m
+        where m.messageConversation.conversationID = :conversationID
+          and m.messageID in :messageIDs
+        """)
+    List<UUID> findExistingIDs(UUID conversationID, Collection<UUID> messageIDs);
+
+    // Exports read through a server-side cursor: run inside a transaction and close the stream
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+        select new com.hospital.domain.model.ConversationMessage(
+            m.messageConversation.conversationID, m.messageID, m.messageAuthor.userID, m.messageContext, m.messageCreatedAt)
+        from MessageEntity m
+        where m.messageConversation.conversationID = :conversationID
+        order by m.messageCreatedAt asc, m.messageID asc
+        """)
+    Stream<ConversationMessage> streamByConversationID(UUID conversationID);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+        select new com.hospital.domain.model.ConversationMessage(
+            c.conversationID, m.messageID, m.messageAuthor.userID, m.messageContext, m.messageCreatedAt)
+        from MessageEntity m
+        join m.messageConversation c
+        where exists (
+            select 1 from ConversationEntity p join p.conversationUserList u
+            where p = c and u.userID = :userID
+        )
+        order by c.conversationCreatedAt asc, c.conversationID asc, m.messageCreatedAt asc, m.messageID asc
+        """)
+    Stream<ConversationMessage> streamByParticipant(UUID userID);
+
+    // Inserts only while the conversation is ACTIVE (status 0) and still at the version the send was
+    // validated against. No row is locked, a close that committed in between makes this insert nothing.
+    @Modifying
+    @Query(value = """
+        insert into messages (messageid, conversation_id, author_id, message_context, message_created_at)
+        select cast(:messageID as uuid), c.conversationid, cast(:authorID as uuid),
+               cast(:content as varchar), cast(:createdAt as timestamp)
+        from conversations c
+        where c.conversationid = :conversationID
+          and c.version = :conversationVersion
+          and c.status = 0
+        """, nativeQuery = true)
+    int insertIfUnchanged(UUID messageID, UUID conversationID, long conversationVersion,
+                          UUID authorID, String content, LocalDateTime createdAt);
 }
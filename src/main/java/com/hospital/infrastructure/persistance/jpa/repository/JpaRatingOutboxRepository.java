@@ -0,0 +1,49 @@
+// src/main/java/com/hospital/infrastructure/persistance/jpa/repository/JpaRatingOutboxRepository.java
+package com.hospital.infrastructure.persistance.jpa.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import com.hospital.infrastructure.persistance.jpa.entity.RatingOutboxEntity;
+
+public interface JpaRatingOutboxRepository extends JpaRepository<RatingOutboxEntity, Long> {
+
+    // A retried append of the same rating leaves the existing entry alone
+    @Modifying
+    @Query(value = """
+        insert into rating_outbox (rating_id, doctor_id, score, created_at)
+        values (:ratingId, :doctorId, :score, :createdAt)
+        on conflict (rating_id) do nothing
+        """, nativeQuery = true)
+    int append(UUID ratingId, UUID doctorId, int score, LocalDateTime createdAt);
+
+    // Rows locked by another dispatcher are skipped instead of waited for
+    @Query(value = """
+        select * from rating_outbox
+        order by id
+        limit :limit
+        for update skip locked
+        """, nativeQuery = true)
+    List<RatingOutboxEntity> claimBatch(int limit);
+
+    @Modifying
+    @Query(value = "delete from rating_outbox where id in (:ids)", nativeQuery = true)
+    int deleteByIds(List<Long> ids);
+
+    @Query(value = "select created_at from rating_outbox order by id limit 1", nativeQuery = true)
+    LocalDateTime oldestCreatedAt();
+
+    // Waits for dispatchers holding claimed rows and blocks new appends until the transaction ends
+    @Modifying
+    @Query(value = "lock table rating_outbox in exclusive mode", nativeQuery = true)
+    void lockForRebuild();
+
+    @Modifying
+    @Query(value = "delete from rating_outbox", nativeQuery = true)
+    int deleteAllEntries();
+}
@@ -1,15 +1,102 @@
 // src/main/java/com/hospital/infrastructure/persistence/jpa/repository/JpaUserRepository.java
 package com.hospital.infrastructure.persistance.jpa.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
-import com.hospital.domain.role.UserRole;
+import com.hospital.api.projection.DoctorSummary;
+import com.hospital.application.dto.DoctorDirectoryEntry;
 import com.hospital.infrastructure.persistance.jpa.entity.UserEntity;
 
 public interface JpaUserRepository extends JpaRepository<UserEntity, UUID> {
-    List<UserEntity> findByUserNameAndUserRoleSetContaining(String userName, UserRole role);
-    List<UserEntity> findByUserRoleSetContaining(UserRole role); 
-}
\ No newline at end of file
+    // roleMasks is every mask that includes the wanted role, see RoleMask.containing
+    List<UserEntity> findByNormalizedNameAndRoleMaskIn(String normalizedName, Collection<Short> roleMasks);
+    List<UserEntity> findByRoleMaskIn(Collection<Short> roleMasks);
+
+    // Doctor name typeahead, a range scan of idx_users_normalized_name from the prefix up to the next one
+    @Query("""
+        select new com.hospital.application.dto.DoctorDirectoryEntry(u.userID, u.userName)
+        from UserEntity u
+        where u.roleMask in :doctorMasks
+          and u.normalizedName >= :from
+          and u.normalizedName < :to
+        order by u.normalizedName, u.userID
+        """)
+    List<DoctorDirectoryEntry> findDoctorsByNormalizedNameBetween(String from, String to, Collection<Short> doctorMasks, Limit limit);
+
+    // Doctor leaderboard, best rated first, ties broken by id so the order is total. Doctors without
+    // ratings follow every rated one (avg_rating is null for them) and report 0; they only qualify
+    // without a minimum. doctorMasks is every mask with the DOCTOR bit, see RoleMask.containing.
+    // Each branch reads at most limit rows, the rated one in idx_doctor_rating_stats_leaderboard order.
+    @Query(value = """
+        select id as "id", fullName as "fullName", rating as "rating", ratingsCount as "ratingsCount"
+        from (
+            (select u.id, u.name as fullName, s.avg_rating,
+                    cast(s.avg_rating as double precision) as rating,
+                    cast(s.rating_count as integer) as ratingsCount
+             from doctor_rating_stats s
+             join users u on u.id = s.doctor_id
+             where u.roles in :doctorMasks
+               and s.rating_count >= :minRatings
+             order by s.avg_rating desc, s.doctor_id
+             limit :limit)
+            union all
+            (select u.id, u.name, null, 0, 0
+             from users u
+             where :minRatings <= 0
+               and u.roles in :doctorMasks
+               and not exists (select 1 from doctor_rating_stats s where s.doctor_id = u.id)
+             order by u.id
+             limit :limit)
+        ) page
+        order by avg_rating desc nulls last, id
+        limit :limit
+        """, nativeQuery = true)
+    List<DoctorSummary> findDoctorLeaderboard(long minRatings, Collection<Short> doctorMasks, int limit);
+
+    // Next page after the (rating, id) of the last row the client has seen. Unrated doctors are also
+    // listed at 0, so whether the cursor is in the rated part is decided by its stats row: a rated
+    // cursor continues in the index and then starts the unrated part, an unrated one continues by id.
+    // The first rating condition is implied by the second, it is there so the index scan starts at the cursor.
+    @Query(value = """
+        with cursor_row as (
+            select cast(:afterRating as numeric) > 0
+                   or exists (select 1 from doctor_rating_stats c where c.doctor_id = cast(:afterId as uuid)) as rated
+        )
+        select id as "id", fullName as "fullName", rating as "rating", ratingsCount as "ratingsCount"
+        from (
+            (select u.id, u.name as fullName, s.avg_rating,
+                    cast(s.avg_rating as double precision) as rating,
+                    cast(s.rating_count as integer) as ratingsCount
+             from doctor_rating_stats s
+             join users u on u.id = s.doctor_id
+             where (select rated from cursor_row)
+               and u.roles in :doctorMasks
+               and s.rating_count >= :minRatings
+               and s.avg_rating <= cast(:afterRating as numeric)
+               and (s.avg_rating < cast(:afterRating as numeric)
+                    or s.doctor_id > cast(:afterId as uuid))
+             order by s.avg_rating desc, s.doctor_id
+             limit :limit)
+            union all
+            (select u.id, u.name, null, 0, 0
+             from users u
+             where :minRatings <= 0
+               and u.roles in :doctorMasks
+               and u.id > (select case when rated then cast('00000000-0000-0000-0000-000000000000' as uuid)
+                                       else cast(:afterId as uuid) end
+                           from cursor_row)
+               and not exists (select 1 from doctor_rating_stats s where s.doctor_id = u.id)
+             order by u.id
+             limit :limit)
+        ) page
+        order by avg_rating desc nulls last, id
+        limit :limit
+        """, nativeQuery = true)
+    List<DoctorSummary> findDoctorLeaderboardAfter(long minRatings, double afterRating, UUID afterId, Collection<Short> doctorMasks, int limit);
+}
@@ -0,0 +1,84 @@
+// src/main/java/db/migration/V3__users_normalized_name.java
+package db.migration;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+// Adds users.normalized_name, the lookup form of the name, backfills it and indexes it.
+// The "C" collation keeps comparisons byte-wise, so a prefix search is a plain range scan on the index.
+// The backfill uses a frozen copy of NameNormalizer as it was when this migration was written:
+// Java migrations have no checksum, so calling the live class would silently change what V3
+// produces. A later change to NameNormalizer needs its own migration that re-normalizes users.
+public class V3__users_normalized_name extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int MAX_LENGTH = 255;
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Set<String> TITLES = Set.of("dr", "prof", "doc", "uzm", "op", "md");
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("alter table users add column normalized_name varchar(" + MAX_LENGTH + ") collate \"C\"");
+        }
+
+        try (Statement select = connection.createStatement();
+             PreparedStatement update = connection.prepareStatement("update users set normalized_name = ? where id = ?")) {
+            select.setFetchSize(BATCH_SIZE);
+            int pending = 0;
+            try (ResultSet users = select.executeQuery("select id, name from users")) {
+                while (users.next()) {
+                    update.setString(1, normalize(users.getString("name")));
+                    update.setObject(2, users.getObject("id"));
+                    update.addBatch();
+                    if (++pending == BATCH_SIZE) {
+                        update.executeBatch();
+                        pending = 0;
+                    }
+                }
+            }
+            if (pending > 0) update.executeBatch();
+        }
+
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("alter table users alter column normalized_name set not null");
+            // Exact doctor resolution and prefix search, id makes the order total
+            ddl.execute("create index idx_users_normalized_name on users (normalized_name, id)");
+        }
+    }
+
+    // NameNormalizer.normalize at V3, do not change
+    private static String normalize(String name) {
+        if (name == null) return "";
+
+        String folded = name
+            .replace('ı', 'i').replace('İ', 'I')
+            .replace("ß", "ss").replace('ø', 'o').replace('Ø', 'O')
+            .replace('ł', 'l').replace('Ł', 'L').replace('đ', 'd').replace('Đ', 'D')
+            .replace("æ", "ae").replace("Æ", "AE").replace("œ", "oe").replace("Œ", "OE");
+        folded = COMBINING_MARKS.matcher(Normalizer.normalize(folded, Normalizer.Form.NFKD)).replaceAll("");
+        folded = SEPARATORS.matcher(folded.toLowerCase(Locale.ROOT)).replaceAll(" ").strip();
+        if (folded.isEmpty()) return "";
+
+        List<String> words = new ArrayList<>(List.of(folded.split(" ")));
+        int firstName = 0;
+        while (firstName < words.size() && TITLES.contains(words.get(firstName))) firstName++;
+        String normalized = firstName < words.size()
+            ? String.join(" ", words.subList(firstName, words.size()))
+            : folded;
+        return normalized.length() > MAX_LENGTH ? normalized.substring(0, MAX_LENGTH) : normalized;
+    }
+}
@@ -0,0 +1,79 @@
+-- Baseline schema, matches the JPA mappings that were created with ddl-auto before migrations
+
+create table users (
+    id   uuid        not null,
+    name varchar(80) not null,
+    primary key (id)
+);
+
+create table user_roles (
+    user_id uuid        not null references users,
+    role    varchar(20) not null check (role in ('PATIENT', 'DOCTOR')),
+    primary key (user_id, role)
+);
+
+create table conversations (
+    conversationid          uuid     not null,
+    status                  smallint not null check (status between 0 and 1),
+    conversation_created_at timestamp(6),
+    conversation_closed_at  timestamp(6),
+    primary key (conversationid)
+);
+
+create table conversation_users (
+    conversation_id uuid not null references conversations,
+    user_id         uuid not null references users
+);
+
+create table messages (
+    messageid          uuid          not null,
+    conversation_id    uuid          not null references conversations,
+    author_id          uuid          not null references users,
+    message_context    varchar(1000) not null,
+    message_created_at timestamp(6),
+    primary key (messageid)
+);
+
+create table ratings (
+    id              uuid         not null,
+    conversation_id uuid         not null references conversations,
+    patient_id      uuid         not null references users,
+    doctor_id       uuid         not null references users,
+    score           integer      not null,
+    created_at      timestamp(6) not null,
+    primary key (id),
+    unique (conversation_id, patient_id)
+);
+
+create table doctor_rating_stats (
+    doctor_id     uuid   not null,
+    score_sum     bigint not null,
+    rating_count  bigint not null,
+    score_1_count bigint not null,
+    score_2_count bigint not null,
+    score_3_count bigint not null,
+    score_4_count bigint not null,
+    score_5_count bigint not null,
+    avg_rating    numeric(3,2) not null,
+    primary key (doctor_id)
+);
+
+-- Message history pages and the "has messages" probe, ordered like the keyset cursor
+create index idx_messages_conversation_created on messages (conversation_id, message_created_at, messageid);
+
+-- Participants of a conversation, and conversations of a user (listByUser, findActiveBetween)
+create index idx_conversation_users_conversation on conversation_users (conversation_id, user_id);
+create index idx_conversation_users_user on conversation_users (user_id, conversation_id);
+
+-- Conversations by status, newest first
+create index idx_conversations_status_created on conversations (status, conversation_created_at desc);
+
+-- Ratings of a doctor and the stats rebuild grouped by doctor
+create index idx_ratings_doctor on ratings (doctor_id, score);
+
+-- Doctor leaderboard pages, a range scan from the keyset cursor instead of a sort of all doctors
+create index idx_doctor_rating_stats_leaderboard on doctor_rating_stats (avg_rating desc, doctor_id);
+
+-- Doctor lookup by name and users by role (leaderboard, findAllByRole)
+create index idx_users_name on users (name);
+create index idx_user_roles_role on user_roles (role, user_id);
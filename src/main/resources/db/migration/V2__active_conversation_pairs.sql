@@ -0,0 +1,22 @@
+-- At most one ACTIVE conversation per (patient, doctor) pair. A row exists only while its conversation
+-- is ACTIVE: it is claimed before the conversation is inserted and deleted when the conversation closes.
+-- The foreign key is deferred because the claim comes first in the same transaction.
+create table active_conversation_pairs (
+    conversation_id uuid not null references conversations on delete cascade deferrable initially deferred,
+    patient_id      uuid not null,
+    doctor_id       uuid not null,
+    primary key (conversation_id),
+    unique (patient_id, doctor_id)
+);
+
+-- Existing ACTIVE conversations, the newest one wins if a pair already has several
+insert into active_conversation_pairs (conversation_id, patient_id, doctor_id)
+select distinct on (p.user_id, d.user_id) c.conversationid, p.user_id, d.user_id
+from conversations c
+join conversation_users p on p.conversation_id = c.conversationid
+join user_roles pr on pr.user_id = p.user_id and pr.role = 'PATIENT'
+join conversation_users d on d.conversation_id = c.conversationid and d.user_id <> p.user_id
+join user_roles dr on dr.user_id = d.user_id and dr.role = 'DOCTOR'
+where c.status = 0
+order by p.user_id, d.user_id, c.conversation_created_at desc, c.conversationid desc
+on conflict do nothing;
@@ -0,0 +1,21 @@
+-- Roles move from the user_roles table into a bitmask on users (PATIENT = 1, DOCTOR = 2, see RoleMask),
+-- so loading a user no longer needs a second query or a join
+alter table users add column roles smallint not null default 0;
+
+update users u
+set roles = r.mask
+from (
+    select user_id,
+           sum(case role when 'PATIENT' then 1 when 'DOCTOR' then 2 end) as mask
+    from user_roles
+    group by user_id
+) r
+where r.user_id = u.id;
+
+alter table users alter column roles drop default;
+alter table users add constraint users_roles_check check (roles between 0 and 3);
+
+drop table user_roles;
+
+-- "Has role" is queried as roles in (...), doctor name lookups and search stay on idx_users_normalized_name
+create index idx_users_roles on users (roles, id);
@@ -0,0 +1,39 @@
+-- Inbox read model, one row per conversation participant: the latest message and the participant's
+-- unread count. Rows are upserted in the transaction that saves messages, so a conversation shows up
+-- in its participants' inboxes once it has a message.
+create table conversation_summary (
+    conversation_id      uuid         not null references conversations on delete cascade,
+    participant_id       uuid         not null references users on delete cascade,
+    last_activity_at     timestamp(6) not null,
+    last_message_id      uuid,
+    last_author_id       uuid,
+    last_message_snippet varchar(200),
+    unread_count         integer      not null default 0 check (unread_count >= 0),
+    primary key (conversation_id, participant_id)
+);
+
+-- Inbox pages, most recent activity first
+create index idx_conversation_summary_inbox
+    on conversation_summary (participant_id, last_activity_at desc, conversation_id desc);
+
+-- Existing conversations with their latest message. Nothing was tracked as read before, so history
+-- starts out read.
+insert into conversation_summary
+    (conversation_id, participant_id, last_activity_at, last_message_id, last_author_id, last_message_snippet)
+select distinct on (cu.conversation_id, cu.user_id)
+       cu.conversation_id,
+       cu.user_id,
+       coalesce(m.message_created_at, c.conversation_created_at, now()),
+       m.messageid,
+       m.author_id,
+       left(m.message_context, 200)
+from conversation_users cu
+join conversations c on c.conversationid = cu.conversation_id
+left join lateral (
+    select messageid, author_id, message_context, message_created_at
+    from messages
+    where conversation_id = cu.conversation_id
+    order by message_created_at desc nulls last, messageid desc
+    limit 1
+) m on true
+order by cu.conversation_id, cu.user_id;
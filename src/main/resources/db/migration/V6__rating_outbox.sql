@@ -0,0 +1,12 @@
+-- Ratings not yet folded into doctor_rating_stats. A row is written in the rating's transaction
+-- and deleted in the transaction that folds it, so every rating is counted exactly once.
+-- The id gives the dispatch order, oldest first.
+create table rating_outbox (
+    id         bigint       generated always as identity,
+    rating_id  uuid         not null references ratings on delete cascade,
+    doctor_id  uuid         not null,
+    score      integer      not null check (score between 1 and 5),
+    created_at timestamp(6) not null,
+    primary key (id),
+    unique (rating_id)
+);
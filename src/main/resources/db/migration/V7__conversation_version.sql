@@ -0,0 +1,3 @@
+-- Optimistic concurrency for conversations. Every change to a conversation row bumps the version,
+-- a write prepared against an older version affects no rows instead of overwriting the change.
+alter table conversations add column version bigint not null default 0;
@@ -11,10 +11,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import static com.hospital.IntegrationTest.StatementAssertions.assertStatements;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hospital.application.port.UserRepositoryPort;
 import com.hospital.domain.model.UserModel;
@@ -47,10 +49,50 @@ public class ApiIntegrationTest extends AbstractIntegrationTest {
         record Req(String doctorName, UUID patientId, String content) {}
         var body = new Req("Veli Doktor", patient.userID(), "Merhaba hocam");
 
-        mockMvc.perform(post("/api/messages/first")
+        // doctor by name, active pair probe and claim, participants, then the conversation,
+        // participant and message inserts and the inbox summary upsert. The patient is served by the user cache.
+        assertStatements(8, () -> mockMvc.perform(post("/api/messages/first")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(om.writeValueAsString(body)))
             .andExpect(status().isOk())
-            .andExpect(jsonPath("$.messageContent").value("Merhaba hocam"));
+            .andExpect(jsonPath("$.messageContent").value("Merhaba hocam")));
+    }
+
+    @Test
+    void conversation_listing_is_two_statements_however_many_conversations() throws Exception {
+        record Req(String doctorName, UUID patientId, String content) {}
+        mockMvc.perform(post("/api/messages/first")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(om.writeValueAsString(new Req("Veli Doktor", patient.userID(), "Merhaba"))))
+            .andExpect(status().isOk());
+        for (int i = 0; i < 5; i++) {
+            UserModel doctor = userRepo.save(new UserModel(UUID.randomUUID(), "Doktor " + i, Set.of(UserRole.DOCTOR)));
+            mockMvc.perform(post("/api/messages/first")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsString(new Req(doctor.userName(), patient.userID(), "Merhaba"))))
+                .andExpect(status().isOk());
+        }
+
+        assertStatements(2, () -> mockMvc.perform(get("/api/conversations/user/{id}", patient.userID()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(6)));
+    }
+
+    @Test
+    void inbox_is_one_statement_and_counts_unread_for_the_other_participant() throws Exception {
+        record Req(String doctorName, UUID patientId, String content) {}
+        for (int i = 0; i < 3; i++) {
+            UserModel doctor = userRepo.save(new UserModel(UUID.randomUUID(), "Doktor " + i, Set.of(UserRole.DOCTOR)));
+            mockMvc.perform(post("/api/messages/first")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsString(new Req(doctor.userName(), patient.userID(), "Merhaba " + i))))
+                .andExpect(status().isOk());
+        }
+
+        assertStatements(1, () -> mockMvc.perform(get("/api/conversations/inbox/{id}", patient.userID()).param("limit", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$[0].lastMessageSnippet").value("Merhaba 2"))
+            .andExpect(jsonPath("$[0].unreadCount").value(0)));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,153 @@
+// src/test/java/com/hospital/IntegrationTest/ConversationConcurrencyTest.java
+
+package com.hospital.IntegrationTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static com.hospital.IntegrationTest.TestDataFactory.newDoctor;
+import static com.hospital.IntegrationTest.TestDataFactory.newPatient;
+import com.hospital.application.common.exceptions.BadRequestException;
+import com.hospital.application.dto.MessageSendRequest;
+import com.hospital.application.port.ConversationRepositoryPort;
+import com.hospital.application.port.MessageRepositoryPort;
+import com.hospital.application.port.UserRepositoryPort;
+import com.hospital.application.service.ConversationService;
+import com.hospital.application.service.MessageService;
+import com.hospital.domain.model.ConversationModel;
+import com.hospital.domain.model.UserModel;
+import com.hospital.domain.status.ConversationStatus;
+
+// Many threads against one conversation: closes and sends race without locks, the version
+// and the guarded statements decide who wins, and nothing written is lost or counted twice.
+public class ConversationConcurrencyTest extends AbstractIntegrationTest {
+
+    private static final int THREADS = 64;
+
+    @Autowired
+    UserRepositoryPort userRepo;
+
+    @Autowired
+    MessageRepositoryPort messageRepo;
+
+    @Autowired
+    ConversationRepositoryPort convRepo;
+
+    @Autowired
+    MessageService messageService;
+
+    @Autowired
+    ConversationService conversationService;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    UserModel patient;
+    UserModel doctor;
+    UUID conversationID;
+
+    @BeforeEach
+    void setup() {
+        messageRepo.deleteAll();
+        convRepo.deleteAll();
+        userRepo.deleteAll();
+
+        patient = newPatient(userRepo, "Ali Hasta");
+        doctor  = newDoctor(userRepo,  "Ahmet Cuhsin");
+        messageService.sendByPatientToDoctorName("Ahmet Cuhsin", patient.userID(), "m0");
+        conversationID = convRepo.findActiveBetween(patient.userID(), doctor.userID()).orElseThrow().conversationID();
+    }
+
+    // Participants are loaded lazily, so the conversation is read inside a transaction
+    private ConversationModel reload() {
+        return transactionTemplate.execute(status -> convRepo.findById(conversationID).orElseThrow());
+    }
+
+    @Test
+    void concurrent_closes_have_exactly_one_winner() throws Exception {
+        var start = new CountDownLatch(1);
+        List<Future<?>> closes = new ArrayList<>();
+        try (var pool = Executors.newFixedThreadPool(THREADS)) {
+            for (int i = 0; i < THREADS; i++) {
+                closes.add(pool.submit(() -> {
+                    start.await();
+                    return conversationService.closeConversation(conversationID, patient.userID());
+                }));
+            }
+            start.countDown();
+        }
+
+        int won = 0;
+        for (var close : closes) {
+            try {
+                close.get();
+                won++;
+            } catch (ExecutionException e) {
+                assertThat(e.getCause()).isInstanceOf(BadRequestException.class);
+            }
+        }
+        assertThat(won).isEqualTo(1);
+
+        var conversation = reload();
+        assertThat(conversation.conversationStatus()).isEqualTo(ConversationStatus.CLOSED);
+        assertThat(conversation.conversationVersion()).isEqualTo(1);
+    }
+
+    @Test
+    void sends_racing_a_close_are_either_stored_or_rejected() throws Exception {
+        var start = new CountDownLatch(1);
+        var sentBeforeClose = new CountDownLatch(THREADS);
+        List<Future<Integer>> senders = new ArrayList<>();
+        try (var pool = Executors.newFixedThreadPool(THREADS)) {
+            for (int i = 0; i < THREADS; i++) {
+                boolean batched = i % 2 == 1;
+                // Each thread sends until the close rejects it, so the close always lands mid-flight.
+                // Direct sends and batched submits take different paths to the same guard.
+                senders.add(pool.submit(() -> {
+                    start.await();
+                    for (int sent = 0; ; sent++) {
+                        try {
+                            if (batched) messageService.submitMessage(conversationID, patient.userID(), "b" + sent).get(30, TimeUnit.SECONDS);
+                            else messageService.sendMessage(conversationID, new MessageSendRequest(patient.userID(), "d" + sent));
+                        } catch (BadRequestException | ExecutionException e) {
+                            Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+                            assertThat(cause).isInstanceOf(BadRequestException.class).hasMessageContaining("closed");
+                            return sent;
+                        }
+                        sentBeforeClose.countDown();
+                    }
+                }));
+            }
+            start.countDown();
+            sentBeforeClose.await(30, TimeUnit.SECONDS);
+            conversationService.closeConversation(conversationID, patient.userID());
+        }
+
+        int stored = 1;
+        for (var sender : senders) stored += sender.get();
+
+        // Every acknowledged message is stored and none of the rejected ones are
+        assertThat(messageRepo.findByConversationID(conversationID)).hasSize(stored);
+        // The summary counter saw every stored message exactly once
+        var inbox = conversationService.listInbox(doctor.userID(), null, 10);
+        assertThat(inbox).hasSize(1);
+        assertThat(inbox.getFirst().unreadCount()).isEqualTo(stored);
+        assertThat(inbox.getFirst().conversationStatus()).isEqualTo(ConversationStatus.CLOSED);
+
+        var conversation = reload();
+        assertThat(conversation.conversationStatus()).isEqualTo(ConversationStatus.CLOSED);
+        assertThat(conversation.conversationVersion()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,104 @@
+// src/test/java/com/hospital/IntegrationTest/MessageSendStatementCountTest.java
+
+package com.hospital.IntegrationTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static com.hospital.IntegrationTest.TestDataFactory.newDoctor;
+import static com.hospital.IntegrationTest.TestDataFactory.newPatient;
+import com.hospital.application.dto.MessageSendRequest;
+import com.hospital.application.port.ConversationRepositoryPort;
+import com.hospital.application.port.MessageRepositoryPort;
+import com.hospital.application.port.UserRepositoryPort;
+import com.hospital.application.service.MessageService;
+import com.hospital.domain.model.ConversationModel;
+import com.hospital.domain.model.UserModel;
+import com.hospital.domain.status.ConversationStatus;
+import com.hospital.infrastructure.metrics.JdbcActivity;
+
+// Guards the message send hot path: validation reads plus exactly one INSERT.
+// Statements are counted by the statement inspector, native ones included.
+public class MessageSendStatementCountTest extends AbstractIntegrationTest {
+
+    @Autowired 
+    UserRepositoryPort userRepo;
+
+    @Autowired 
+    MessageRepositoryPort messageRepo;
+
+    @Autowired 
+    ConversationRepositoryPort convRepo;
+
+    @Autowired 
+    MessageService messageService;
+
+    UserModel patient;
+    UserModel doctor;
+    ConversationModel conversation;
+
+    @BeforeEach
+    void setup() {
+        messageRepo.deleteAll();
+        convRepo.deleteAll();
+        userRepo.deleteAll();
+
+        patient = newPatient(userRepo, "Ali Hasta");
+        doctor = newDoctor(userRepo, "Ahmet Cuhsin");
+        conversation = convRepo.save(new ConversationModel(
+            UUID.randomUUID(),
+            List.of(patient.userID(), doctor.userID()),
+            ConversationStatus.ACTIVE,
+            LocalDateTime.now(),
+            null
+        ));
+        // Both authors are served from the user cache, as they are after their first request
+        userRepo.findById(patient.userID());
+        userRepo.findById(doctor.userID());
+    }
+
+    private JdbcActivity send(UUID authorID, String content) {
+        try (JdbcActivity activity = JdbcActivity.open()) {
+            messageService.sendMessage(conversation.conversationID(), new MessageSendRequest(authorID, content));
+            return activity;
+        }
+    }
+
+    private static long statementsStartingWith(JdbcActivity activity, String prefix) {
+        return activity.statementCounts().stream()
+            .filter(c -> c.sql().stripLeading().toLowerCase().startsWith(prefix))
+            .mapToLong(JdbcActivity.StatementCount::count)
+            .sum();
+    }
+
+    @Test
+    void patient_send_is_validation_reads_plus_one_insert() {
+        JdbcActivity activity = send(patient.userID(), "Merhaba");
+
+        // The conversation with its version, its participants joined with their users (roles are a column),
+        // then the guarded INSERT ... SELECT and the inbox summary upsert. The author comes from the user cache.
+        assertThat(statementsStartingWith(activity, "insert into messages")).as(activity.describe(10)).isEqualTo(1);
+        assertThat(activity.statements()).as(activity.describe(10)).isEqualTo(4);
+    }
+
+    @Test
+    void doctor_reply_probes_existence_instead_of_loading_history() {
+        for (int i = 0; i < 20; i++) {
+            send(patient.userID(), "m" + i);
+        }
+
+        JdbcActivity activity = send(doctor.userID(), "Buyrun");
+
+        // Same statements as a patient send plus one EXISTS probe, independent of the history length.
+        // The conversation and its two participants are the only entities loaded.
+        assertThat(statementsStartingWith(activity, "insert into messages")).as(activity.describe(10)).isEqualTo(1);
+        assertThat(activity.entityLoads()).as(activity.describe(10)).isEqualTo(3);
+        assertThat(activity.statements()).as(activity.describe(10)).isEqualTo(5);
+    }
+}
@@ -0,0 +1,30 @@
+// src/test/java/com/hospital/IntegrationTest/StatementAssertions.java
+
+package com.hospital.IntegrationTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.hospital.infrastructure.metrics.JdbcActivity;
+
+// Fails a test when the SQL statement count of an action changes. Counts every statement Hibernate
+// prepares on this thread, MockMvc requests included, and lists them when the count is off:
+//
+//   assertStatements(2, () -> mockMvc.perform(get("/api/conversations/user/{id}", id)));
+public final class StatementAssertions {
+    private StatementAssertions(){}
+
+    @FunctionalInterface
+    public interface Action<T> {
+        T run() throws Exception;
+    }
+
+    public static <T> T assertStatements(long expected, Action<T> action) throws Exception {
+        try (JdbcActivity activity = JdbcActivity.open()) {
+            T result = action.run();
+            assertThat(activity.statements())
+                .as(() -> "SQL statements, most executed:\n" + activity.describe(20))
+                .isEqualTo(expected);
+            return result;
+        }
+    }
+}
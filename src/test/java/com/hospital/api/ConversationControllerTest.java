@@ -3,9 +3,11 @@ package com.hospital.api;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import org.junit.jupiter.api.Test;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -20,7 +22,10 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import com.hospital.application.common.exceptions.NotFoundException;
 import com.hospital.application.dto.ConversationResponse;
+import com.hospital.application.dto.InboxEntryResponse;
 import com.hospital.application.service.ConversationService;
+import com.hospital.domain.model.ConversationCursor;
+import com.hospital.domain.model.InboxCursor;
 import com.hospital.domain.status.ConversationStatus;
 
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -56,6 +61,31 @@ class ConversationControllerTest {
             .value("ACTIVE"));
     }
 
+    @Test
+    void listByUser_with_status_and_cursor_returns_page() throws Exception {
+        var userID = UUID.randomUUID();
+        var beforeId = UUID.randomUUID();
+        var beforeCreatedAt = LocalDateTime.of(2024, 5, 1, 12, 0);
+        var page = List.of(new ConversationResponse(
+            UUID.randomUUID(), List.of(userID), ConversationStatus.CLOSED, beforeCreatedAt.minusDays(1), beforeCreatedAt));
+
+        when(conversationService.listByUser(userID, Set.of(ConversationStatus.CLOSED), new ConversationCursor(beforeCreatedAt, beforeId), 5))
+            .thenReturn(page);
+
+        mvc.perform(get("/api/conversations/user/{userId}", userID)
+            .param("status", "CLOSED")
+            .param("beforeCreatedAt", "2024-05-01T12:00:00")
+            .param("beforeId", beforeId.toString())
+            .param("limit", "5"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].conversationStatus")
+            .value("CLOSED"));
+
+        mvc.perform(get("/api/conversations/user/{userId}", userID)
+            .param("beforeId", beforeId.toString()))
+            .andExpect(status().isBadRequest());
+    }
+
     @Test
     void close_returns_closed_conversation() throws Exception {
         var conversationID = UUID.randomUUID();
@@ -92,4 +122,39 @@ class ConversationControllerTest {
             .andExpect(jsonPath("$.message")
             .value("Conversation not found"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void inbox_returns_entries_and_takes_a_cursor() throws Exception {
+        var userID = UUID.randomUUID();
+        var beforeId = UUID.randomUUID();
+        var beforeActivityAt = LocalDateTime.of(2024, 5, 1, 12, 0);
+        var entry = new InboxEntryResponse(UUID.randomUUID(), ConversationStatus.ACTIVE, beforeActivityAt.minusHours(1),
+            UUID.randomUUID(), UUID.randomUUID(), "Merhaba", 2);
+
+        when(conversationService.listInbox(userID, null, 20)).thenReturn(List.of(entry));
+        when(conversationService.listInbox(userID, new InboxCursor(beforeActivityAt, beforeId), 10)).thenReturn(List.of());
+
+        mvc.perform(get("/api/conversations/inbox/{userId}", userID))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].lastMessageSnippet").value("Merhaba"))
+            .andExpect(jsonPath("$[0].unreadCount").value(2));
+        mvc.perform(get("/api/conversations/inbox/{userId}", userID)
+            .param("beforeActivityAt", "2024-05-01T12:00:00")
+            .param("beforeId", beforeId.toString())
+            .param("limit", "10"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(0));
+        mvc.perform(get("/api/conversations/inbox/{userId}", userID).param("beforeId", beforeId.toString()))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void markRead_returns_no_content() throws Exception {
+        var conversationID = UUID.randomUUID();
+        var userID = UUID.randomUUID();
+
+        mvc.perform(post("/api/conversations/{conversationId}/read", conversationID).param("userId", userID.toString()))
+            .andExpect(status().isNoContent());
+        verify(conversationService).markRead(conversationID, userID);
+    }
+}
@@ -5,6 +5,8 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 import org.junit.jupiter.api.Test;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
@@ -16,14 +18,20 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hospital.application.dto.MessageExportLine;
+import com.hospital.application.dto.MessageImportResponse;
 import com.hospital.application.dto.MessageResponse;
 import com.hospital.application.dto.MessageSendRequest;
 import com.hospital.application.dto.PatientToDoctorNameMessageRequest;
 import com.hospital.application.service.MessageService;
+import com.hospital.domain.model.MessageCursor;
+import com.hospital.domain.model.MessageModel;
 
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 @WebMvcTest(controllers = MessageController.class)
@@ -129,4 +137,165 @@ class MessageControllerTest {
             .andExpect(jsonPath("$[1].messageContent")
                 .value("b"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void listMessages_with_cursor_returns_page() throws Exception {
+        var conversationID = UUID.randomUUID();
+        var beforeId = UUID.randomUUID();
+        var beforeCreatedAt = LocalDateTime.of(2025, 1, 2, 10, 30);
+        var message = new MessageResponse(UUID.randomUUID(), UUID.randomUUID(), "a", LocalDateTime.now());
+
+        when(messageService.listMessages(conversationID, new MessageCursor(beforeCreatedAt, beforeId), null, 20))
+            .thenReturn(List.of(message));
+
+        mvc.perform(get("/api/messages/conversation/{conversationId}", conversationID)
+            .param("beforeCreatedAt", "2025-01-02T10:30:00")
+            .param("beforeId", beforeId.toString())
+            .param("limit", "20"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].messageContent")
+                .value("a"));
+    }
+
+    @Test
+    void listMessages_with_half_cursor_returns_400() throws Exception {
+        mvc.perform(get("/api/messages/conversation/{conversationId}", UUID.randomUUID())
+            .param("afterId", UUID.randomUUID().toString()))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message")
+                .value("afterCreatedAt and afterId must be given together."));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void importMessages_streams_ndjson_lines_to_service() throws Exception {
+        var conversationID = UUID.randomUUID();
+        var authorId = UUID.randomUUID();
+        var body = """
+        {"messageAuthorId":"%1$s","messageContent":"a","messageCreatedAt":"2020-01-01T10:00:00"}
+        {"messageAuthorId":"%1$s","messageContent":"b","messageCreatedAt":"2020-01-01T10:01:00"}
+        """.formatted(authorId);
+
+        when(messageService.importMessages(any(UUID.class), any())).thenAnswer(i -> {
+            var contents = ((java.util.stream.Stream<MessageModel>) i.getArgument(1)).map(MessageModel::messageContext).toList();
+            assertThat(contents).containsExactly("a", "b");
+            return new MessageImportResponse(conversationID, contents.size(), 0, 5, 400.0);
+        });
+
+        mvc.perform(post("/api/messages/conversation/{conversationId}/bulk", conversationID)
+            .contentType(MessageController.NDJSON)
+            .content(body))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.importedMessages")
+                .value(2))
+            .andExpect(jsonPath("$.rowsPerSecond")
+                .value(400.0));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void importMessages_malformed_line_returns_400() throws Exception {
+        when(messageService.importMessages(any(UUID.class), any())).thenAnswer(i -> {
+            ((java.util.stream.Stream<MessageModel>) i.getArgument(1)).forEach(m -> {});
+            return null;
+        });
+
+        mvc.perform(post("/api/messages/conversation/{conversationId}/bulk", UUID.randomUUID())
+            .contentType(MessageController.NDJSON)
+            .content("{\"messageContent\":\"a\"}\n{\"messageCreatedAt\":\"yesterday\"}\n"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message")
+                .value(org.hamcrest.Matchers.startsWith("Line 2:")));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void exportConversation_writes_one_json_line_per_message() throws Exception {
+        var conversationID = UUID.randomUUID();
+        var authorId = UUID.randomUUID();
+        when(messageService.exportConversation(any(UUID.class), any())).thenAnswer(i -> {
+            var sink = (java.util.function.Consumer<MessageExportLine>) i.getArgument(1);
+            sink.accept(new MessageExportLine(conversationID, UUID.randomUUID(), authorId, "a", LocalDateTime.of(2020, 1, 1, 10, 0)));
+            sink.accept(new MessageExportLine(conversationID, UUID.randomUUID(), authorId, "b", LocalDateTime.of(2020, 1, 1, 10, 1)));
+            return 2L;
+        });
+
+        var body = mvc.perform(get("/api/messages/conversation/{conversationId}/export", conversationID))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Content-Type", org.hamcrest.Matchers.startsWith(MessageController.NDJSON)))
+            .andExpect(header().doesNotExist("Content-Encoding"))
+            .andReturn().getResponse().getContentAsString();
+
+        var lines = body.split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readValue(lines[1], MessageExportLine.class).messageContent()).isEqualTo("b");
+        assertThat(lines[0]).contains("\"messageCreatedAt\":\"2020-01-01T10:00:00\"");
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void exportConversation_gzips_when_accepted() throws Exception {
+        var conversationID = UUID.randomUUID();
+        when(messageService.exportConversation(any(UUID.class), any())).thenAnswer(i -> {
+            ((java.util.function.Consumer<MessageExportLine>) i.getArgument(1)).accept(
+                new MessageExportLine(conversationID, UUID.randomUUID(), UUID.randomUUID(), "hello", LocalDateTime.now()));
+            return 1L;
+        });
+
+        var bytes = mvc.perform(get("/api/messages/conversation/{conversationId}/export", conversationID)
+            .header("Accept-Encoding", "gzip, deflate"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Content-Encoding", "gzip"))
+            .andReturn().getResponse().getContentAsByteArray();
+
+        try (var in = new java.util.zip.GZIPInputStream(new java.io.ByteArrayInputStream(bytes))) {
+            var line = new String(in.readAllBytes(), java.nio.charset.StandardCharsets.UTF_8);
+            assertThat(line).endsWith("\n").contains("\"messageContent\":\"hello\"");
+        }
+    }
+
+    @Test
+    void exportConversation_refused_gzip_is_sent_plain() throws Exception {
+        when(messageService.exportConversation(any(UUID.class), any())).thenReturn(0L);
+
+        mvc.perform(get("/api/messages/conversation/{conversationId}/export", UUID.randomUUID())
+            .header("Accept-Encoding", "gzip;q=0, identity"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("Content-Encoding"));
+    }
+
+    @Test
+    void acceptsGzip_reads_codings_and_q_values() {
+        for (String accepted : new String[] { "gzip", "GZIP", "deflate, gzip;q=0.5", "gzip ; q=1.0", "*", "br, *;q=0.1", "gzip;q=0, gzip" }) {
+            assertThat(MessageController.acceptsGzip(java.util.Collections.enumeration(List.of(accepted)))).as(accepted).isTrue();
+        }
+        for (String refused : new String[] { "", "identity", "x-gzip", "gzipped", "gzip;q=0", "gzip;q=0.000", "*;q=0",
+                                             "gzip;q=0, *", "gzip;q=abc", "deflate, br" }) {
+            assertThat(MessageController.acceptsGzip(java.util.Collections.enumeration(List.of(refused)))).as(refused).isFalse();
+        }
+        assertThat(MessageController.acceptsGzip(java.util.Collections.enumeration(List.of("deflate", "gzip")))).isTrue();
+        assertThat(MessageController.acceptsGzip(null)).isFalse();
+    }
+
+    @Test
+    void exportConversation_unknown_conversation_returns_plain_404() throws Exception {
+        when(messageService.exportConversation(any(UUID.class), any()))
+            .thenThrow(new com.hospital.application.common.exceptions.NotFoundException("Conversation not found"));
+
+        mvc.perform(get("/api/messages/conversation/{conversationId}/export", UUID.randomUUID())
+            .header("Accept-Encoding", "gzip"))
+            .andExpect(status().isNotFound())
+            .andExpect(header().doesNotExist("Content-Encoding"))
+            .andExpect(jsonPath("$.message")
+                .value("Conversation not found"));
+    }
+
+    @Test
+    void exportUserTranscripts_with_no_messages_returns_empty_body() throws Exception {
+        when(messageService.exportUserTranscripts(any(UUID.class), any())).thenReturn(0L);
+
+        mvc.perform(get("/api/messages/user/{userId}/export", UUID.randomUUID()))
+            .andExpect(status().isOk())
+            .andExpect(content().string(""));
+    }
+}
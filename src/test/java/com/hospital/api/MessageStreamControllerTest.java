@@ -0,0 +1,54 @@
+// src/test/java/com/hospital/api/MessageStreamControllerTest.java
+package com.hospital.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.hospital.application.dto.MessageResponse;
+import com.hospital.application.stream.MessageStreamHub;
+
+@WebMvcTest(controllers = MessageStreamController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@Import(MessageStreamHub.class)
+class MessageStreamControllerTest {
+
+    @Autowired
+    MockMvc mvc;
+
+    @Autowired
+    MessageStreamHub hub;
+
+    @Test
+    void stream_pushes_published_messages_as_events() throws Exception {
+        var conversationId = UUID.randomUUID();
+
+        MvcResult result = mvc.perform(get("/api/messages/conversation/{id}/stream", conversationId))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        var message = new MessageResponse(UUID.randomUUID(), UUID.randomUUID(), "hi", LocalDateTime.now());
+        hub.publish(conversationId, message);
+
+        String body = "";
+        for (int i = 0; i < 100 && !body.contains("hi"); i++) {
+            Thread.sleep(20);
+            body = result.getResponse().getContentAsString();
+        }
+        assertThat(body)
+            .contains("id:" + message.messageID())
+            .contains("event:message")
+            .contains("\"messageContent\":\"hi\"");
+    }
+}
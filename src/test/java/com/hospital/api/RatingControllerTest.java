@@ -91,4 +91,13 @@ class RatingControllerTest {
             .andExpect(jsonPath("$.ratingCount")
                 .value(8));
     }
-}
\ No newline at end of file
+
+    @Test
+    void rebuildStats_returns_the_number_of_doctors() throws Exception {
+        when(ratingService.rebuildDoctorRatingStats()).thenReturn(12);
+
+        mvc.perform(post("/api/ratings/stats/rebuild"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.doctors").value(12));
+    }
+}
@@ -13,6 +13,8 @@ import java.util.UUID;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hospital.application.common.exceptions.NotFoundException;
+import com.hospital.application.dto.DoctorDirectoryEntry;
+import com.hospital.application.dto.DoctorSummaryDto;
 import com.hospital.application.dto.UserCreateRequest;
 import com.hospital.application.dto.UserResponse;
 import com.hospital.application.service.UserService;
@@ -113,4 +115,41 @@ class UserControllerTest {
             .andExpect(jsonPath("$.message")
                 .value("User not found"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void listDoctors_passes_paging_params() throws Exception {
+        var afterId = UUID.randomUUID();
+        var doctor = new DoctorSummaryDto(UUID.randomUUID(), "Doc", 4.5, 2);
+
+        when(userService.listDoctorsWithRatings(2, 4.75, afterId, 10)).thenReturn(List.of(doctor));
+
+        mvc.perform(get("/api/users/doctors")
+            .param("minRatings", "2")
+            .param("afterRating", "4.75")
+            .param("afterId", afterId.toString())
+            .param("limit", "10"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].fullName")
+                .value("Doc"))
+            .andExpect(jsonPath("$[0].rating")
+                .value(4.5))
+            .andExpect(jsonPath("$[0].ratingsCount")
+                .value(2));
+    }
+
+    @Test
+    void searchDoctors_returns_matches() throws Exception {
+        var entry = new DoctorDirectoryEntry(UUID.randomUUID(), "Ayşe Yılmaz");
+
+        when(userService.searchDoctors("ayş", 5)).thenReturn(List.of(entry));
+
+        mvc.perform(get("/api/users/doctors/search")
+            .param("q", "ayş")
+            .param("limit", "5"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].doctorID")
+                .value(entry.doctorID().toString()))
+            .andExpect(jsonPath("$[0].doctorName")
+                .value("Ayşe Yılmaz"));
+    }
+}
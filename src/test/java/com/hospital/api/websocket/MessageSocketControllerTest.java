@@ -0,0 +1,157 @@
+// src/test/java/com/hospital/api/websocket/MessageSocketControllerTest.java
+package com.hospital.api.websocket;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.security.Principal;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+
+import com.hospital.application.common.exceptions.BadRequestException;
+import com.hospital.application.common.exceptions.ForbiddenException;
+import com.hospital.application.dto.ChatMessageRequest;
+import com.hospital.application.dto.MessageResponse;
+import com.hospital.application.dto.UserResponse;
+import com.hospital.application.service.ConversationService;
+import com.hospital.application.service.MessageService;
+import com.hospital.application.service.UserService;
+
+class MessageSocketControllerTest {
+
+    MessageService messageService = mock(MessageService.class);
+    SimpMessagingTemplate messagingTemplate = mock(SimpMessagingTemplate.class);
+    MessageSocketController controller = new MessageSocketController(messageService, messagingTemplate);
+
+    UserService userService = mock(UserService.class);
+    ConversationService conversationService = mock(ConversationService.class);
+    static final String SECRET = "0123456789abcdef0123456789abcdef";
+    java.time.Clock clock = java.time.Clock.fixed(java.time.Instant.parse("2026-01-01T00:00:00Z"), java.time.ZoneOffset.UTC);
+    StompConnectTokens tokens = new StompConnectTokens(SECRET, clock);
+    StompParticipantInterceptor interceptor = new StompParticipantInterceptor(userService, conversationService, tokens);
+
+    UUID userID = UUID.randomUUID();
+    Principal principal = () -> userID.toString();
+
+    @Test
+    void send_submits_as_the_connected_user() {
+        var conversationID = UUID.randomUUID();
+        when(messageService.submitMessage(conversationID, userID, "hi"))
+            .thenReturn(new CompletableFuture<MessageResponse>());
+
+        controller.send(conversationID, new ChatMessageRequest("hi"), principal);
+
+        verify(messageService).submitMessage(conversationID, userID, "hi");
+        verifyNoInteractions(messagingTemplate);
+    }
+
+    @Test
+    void failed_batch_is_reported_to_the_sender() {
+        var conversationID = UUID.randomUUID();
+        when(messageService.submitMessage(conversationID, userID, "hi"))
+            .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("db down")));
+
+        controller.send(conversationID, new ChatMessageRequest("hi"), principal);
+
+        verify(messagingTemplate).convertAndSendToUser(userID.toString(), MessageSocketController.ERROR_QUEUE,
+            Map.of("message", "Message could not be saved."));
+    }
+
+    @Test
+    void rejected_batch_message_is_reported_with_its_reason() {
+        var conversationID = UUID.randomUUID();
+        var closed = new CompletableFuture<MessageResponse>();
+        when(messageService.submitMessage(conversationID, userID, "hi"))
+            .thenReturn(closed.thenApply(response -> response));
+
+        controller.send(conversationID, new ChatMessageRequest("hi"), principal);
+        closed.completeExceptionally(new BadRequestException("Conversation is closed."));
+
+        verify(messagingTemplate).convertAndSendToUser(userID.toString(), MessageSocketController.ERROR_QUEUE,
+            Map.of("message", "Conversation is closed."));
+    }
+
+    @Test
+    void connect_sets_the_user_and_subscribe_requires_participation() {
+        when(userService.getUser(userID)).thenReturn(new UserResponse(userID, "P", java.util.Set.of()));
+        var connect = StompHeaderAccessor.create(StompCommand.CONNECT);
+        connect.addNativeHeader(StompParticipantInterceptor.USER_HEADER, userID.toString());
+        connect.addNativeHeader(StompParticipantInterceptor.TOKEN_HEADER, tokens.issue(userID, clock.instant().plusSeconds(60)));
+        connect.setLeaveMutable(true);
+
+        var connected = interceptor.preSend(MessageBuilder.createMessage(new byte[0], connect.getMessageHeaders()), null);
+        assertThat(StompHeaderAccessor.wrap(connected).getUser().getName()).isEqualTo(userID.toString());
+
+        var conversationID = UUID.randomUUID();
+        var subscribe = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        subscribe.setDestination(StompParticipantInterceptor.CONVERSATION_TOPIC + conversationID);
+        subscribe.setUser(principal);
+        var message = MessageBuilder.createMessage(new byte[0], subscribe.getMessageHeaders());
+
+        assertThatThrownBy(() -> interceptor.preSend(message, null)).isInstanceOf(ForbiddenException.class);
+        when(conversationService.isParticipant(conversationID, userID)).thenReturn(true);
+        assertThat(interceptor.preSend(message, null)).isSameAs(message);
+    }
+
+    @Test
+    void connect_without_a_valid_token_for_the_user_is_refused() {
+        when(userService.getUser(any())).thenReturn(new UserResponse(userID, "P", java.util.Set.of()));
+        var later = clock.instant().plusSeconds(60);
+        String valid = tokens.issue(userID, later);
+        String forged = valid.substring(0, valid.length() - 2) + (valid.endsWith("AA") ? "BB" : "AA");
+
+        for (String token : new String[] { null, "", "abc", valid.substring(0, valid.indexOf('.')), forged,
+                                           tokens.issue(UUID.randomUUID(), later),
+                                           tokens.issue(userID, clock.instant()),
+                                           new StompConnectTokens(SECRET.replace('0', '1'), clock).issue(userID, later) }) {
+            assertThatThrownBy(() -> interceptor.preSend(connect(token), null))
+                .as(String.valueOf(token)).isInstanceOf(ForbiddenException.class);
+        }
+        assertThat(interceptor.preSend(connect(valid), null)).isNotNull();
+
+        var disabled = new StompParticipantInterceptor(userService, conversationService, new StompConnectTokens("", clock));
+        assertThatThrownBy(() -> disabled.preSend(connect(valid), null))
+            .isInstanceOf(ForbiddenException.class).hasMessageContaining("not enabled");
+        assertThatThrownBy(() -> new StompConnectTokens("short", clock)).isInstanceOf(IllegalStateException.class);
+    }
+
+    private org.springframework.messaging.Message<byte[]> connect(String token) {
+        var connect = StompHeaderAccessor.create(StompCommand.CONNECT);
+        connect.addNativeHeader(StompParticipantInterceptor.USER_HEADER, userID.toString());
+        if (token != null) connect.addNativeHeader(StompParticipantInterceptor.TOKEN_HEADER, token);
+        connect.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], connect.getMessageHeaders());
+    }
+
+    @Test
+    void subscribe_outside_the_allowlist_is_refused() {
+        var conversationID = UUID.randomUUID();
+        when(conversationService.isParticipant(any(), eq(userID))).thenReturn(true);
+
+        for (String destination : new String[] {
+            "/topic/**", "/topic/conversations/*", "/topic/conversations/{id}", "/queue/errors",
+            StompParticipantInterceptor.CONVERSATION_TOPIC + conversationID + "/**",
+            StompParticipantInterceptor.CONVERSATION_TOPIC + conversationID.toString().toUpperCase() }) {
+            assertThatThrownBy(() -> interceptor.preSend(subscribe(destination), null))
+                .as(destination).isInstanceOf(ForbiddenException.class);
+        }
+
+        var errors = subscribe(StompParticipantInterceptor.USER_ERROR_QUEUE);
+        assertThat(interceptor.preSend(errors, null)).isSameAs(errors);
+        verify(conversationService, never()).isParticipant(any(), any());
+    }
+
+    private org.springframework.messaging.Message<byte[]> subscribe(String destination) {
+        var subscribe = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        subscribe.setDestination(destination);
+        subscribe.setUser(principal);
+        return MessageBuilder.createMessage(new byte[0], subscribe.getMessageHeaders());
+    }
+}
@@ -0,0 +1,196 @@
+// src/test/java/com/hospital/application/batch/MessageBatchWriterTest.java
+package com.hospital.application.batch;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionOperations;
+
+import com.hospital.application.common.exceptions.BadRequestException;
+import com.hospital.application.common.exceptions.ServiceUnavailableException;
+import com.hospital.application.dto.MessageResponse;
+import com.hospital.application.event.MessageSentEvent;
+import com.hospital.application.port.ConversationRepositoryPort;
+import com.hospital.application.port.ConversationSummaryRepositoryPort;
+import com.hospital.application.port.MessageRepositoryPort;
+import com.hospital.domain.id.UuidV7Generator;
+import com.hospital.domain.model.ConversationMessage;
+
+class MessageBatchWriterTest {
+
+    MessageRepositoryPort messageRepositoryPort = mock(MessageRepositoryPort.class);
+    ConversationRepositoryPort conversationRepositoryPort = mock(ConversationRepositoryPort.class);
+    ConversationSummaryRepositoryPort conversationSummaryRepositoryPort = mock(ConversationSummaryRepositoryPort.class);
+    ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    List<List<ConversationMessage>> batches = Collections.synchronizedList(new ArrayList<>());
+    MessageBatchWriter writer;
+
+    MessageBatchWriter start(int maxBatchSize, Duration flushInterval) {
+        return start(maxBatchSize, flushInterval, 1000);
+    }
+
+    MessageBatchWriter start(int maxBatchSize, Duration flushInterval, int queueCapacity) {
+        doAnswer(i -> batches.add(List.copyOf(i.getArgument(0)))).when(messageRepositoryPort).saveAll(any());
+        // Every conversation is active and still at version 0 unless a test says otherwise
+        when(conversationRepositoryPort.findActiveVersions(any())).thenAnswer(i -> i.<Collection<UUID>>getArgument(0).stream()
+            .collect(Collectors.toMap(Function.identity(), id -> 0L)));
+        writer = new MessageBatchWriter(messageRepositoryPort, conversationRepositoryPort, conversationSummaryRepositoryPort, TransactionOperations.withoutTransaction(),
+            eventPublisher, new UuidV7Generator(), maxBatchSize, flushInterval, queueCapacity);
+        writer.start();
+        return writer;
+    }
+
+    @AfterEach
+    void stop() throws InterruptedException {
+        if (writer != null) writer.stop();
+    }
+
+    @Test
+    void groups_messages_into_batches_in_submission_order() throws Exception {
+        start(3, Duration.ofSeconds(1));
+        var conversationID = UUID.randomUUID();
+        var authorID = UUID.randomUUID();
+
+        List<CompletableFuture<MessageResponse>> results = new ArrayList<>();
+        for (int i = 0; i < 7; i++) results.add(writer.submit(conversationID, 0L, authorID, "m" + i));
+        assertThat(writer.hasPending(conversationID)).isTrue();
+        for (var result : results) result.get(5, TimeUnit.SECONDS);
+
+        // Two full batches right away, the last message once the interval has passed
+        assertThat(batches).extracting(List::size).containsExactly(3, 3, 1);
+        assertThat(batches.stream().flatMap(List::stream).map(m -> m.message().messageContext()))
+            .containsExactly("m0", "m1", "m2", "m3", "m4", "m5", "m6");
+        assertThat(results.get(0).get().messageContent()).isEqualTo("m0");
+        verify(eventPublisher, times(7)).publishEvent(any(MessageSentEvent.class));
+        verify(conversationSummaryRepositoryPort, times(3)).recordMessages(any(), eq(true));
+        assertThat(writer.hasPending(conversationID)).isFalse();
+    }
+
+    @Test
+    void flushes_a_partial_batch_after_the_interval() throws Exception {
+        start(100, Duration.ofMillis(50));
+
+        writer.submit(UUID.randomUUID(), 0L, UUID.randomUUID(), "alone").get(5, TimeUnit.SECONDS);
+
+        assertThat(batches).hasSize(1);
+    }
+
+    @Test
+    void failed_batch_fails_every_message_in_it() throws Exception {
+        var blocked = new CountDownLatch(1);
+        start(2, Duration.ofSeconds(1));
+        doAnswer(i -> {
+            blocked.await();
+            throw new IllegalStateException("db down");
+        }).when(messageRepositoryPort).saveAll(any());
+
+        var first = writer.submit(UUID.randomUUID(), 0L, UUID.randomUUID(), "a");
+        var second = writer.submit(UUID.randomUUID(), 0L, UUID.randomUUID(), "b");
+        blocked.countDown();
+
+        assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class)
+            .hasRootCauseMessage("db down");
+        assertThatThrownBy(() -> second.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class);
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void stop_writes_what_is_still_queued() throws Exception {
+        start(100, Duration.ofSeconds(10));
+
+        var result = writer.submit(UUID.randomUUID(), 0L, UUID.randomUUID(), "last");
+        writer.stop();
+
+        assertThat(result).isCompleted();
+        assertThatThrownBy(() -> writer.submit(UUID.randomUUID(), 0L, UUID.randomUUID(), "late"))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void message_of_a_conversation_closed_since_it_was_accepted_is_rejected() throws Exception {
+        var open = UUID.randomUUID();
+        var closed = UUID.randomUUID();
+        var changed = UUID.randomUUID();
+        start(3, Duration.ofSeconds(1));
+        doReturn(Map.of(open, 0L, changed, 2L)).when(conversationRepositoryPort).findActiveVersions(any());
+
+        var kept = writer.submit(open, 0L, UUID.randomUUID(), "kept");
+        var rejected = writer.submit(closed, 0L, UUID.randomUUID(), "closed");
+        var stale = writer.submit(changed, 1L, UUID.randomUUID(), "stale");
+
+        assertThat(kept.get(5, TimeUnit.SECONDS).messageContent()).isEqualTo("kept");
+        assertThatThrownBy(() -> rejected.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> stale.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(BadRequestException.class);
+        assertThat(batches).hasSize(1);
+        assertThat(batches.getFirst()).extracting(m -> m.message().messageContext()).containsExactly("kept");
+        verify(eventPublisher, times(1)).publishEvent(any(MessageSentEvent.class));
+        assertThat(writer.hasPending(closed)).isFalse();
+    }
+
+    @Test
+    void full_queue_refuses_new_messages_until_it_drains() throws Exception {
+        var saving = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        start(1, Duration.ofSeconds(1), 2);
+        doAnswer(i -> {
+            saving.countDown();
+            release.await();
+            return null;
+        }).when(messageRepositoryPort).saveAll(any());
+
+        var conversationID = UUID.randomUUID();
+        var inFlight = writer.submit(conversationID, 0L, UUID.randomUUID(), "a");
+        saving.await(5, TimeUnit.SECONDS);
+        var queued = List.of(writer.submit(conversationID, 0L, UUID.randomUUID(), "b"),
+                             writer.submit(conversationID, 0L, UUID.randomUUID(), "c"));
+
+        assertThatThrownBy(() -> writer.submit(conversationID, 0L, UUID.randomUUID(), "d"))
+            .isInstanceOf(ServiceUnavailableException.class);
+
+        release.countDown();
+        inFlight.get(5, TimeUnit.SECONDS);
+        for (var result : queued) result.get(5, TimeUnit.SECONDS);
+        writer.submit(conversationID, 0L, UUID.randomUUID(), "e").get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void writer_dying_fails_what_is_queued_and_stops_accepting() throws Exception {
+        var saving = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        start(1, Duration.ofSeconds(1));
+        doAnswer(i -> {
+            saving.countDown();
+            release.await();
+            throw new Error("writer died");
+        }).when(messageRepositoryPort).saveAll(any());
+
+        var conversationID = UUID.randomUUID();
+        var inFlight = writer.submit(conversationID, 0L, UUID.randomUUID(), "a");
+        saving.await(5, TimeUnit.SECONDS);
+        var queued = writer.submit(conversationID, 0L, UUID.randomUUID(), "b");
+        release.countDown();
+
+        assertThatThrownBy(() -> inFlight.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> queued.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(writer.hasPending(conversationID)).isFalse();
+        assertThatThrownBy(() -> writer.submit(conversationID, 0L, UUID.randomUUID(), "late"))
+            .isInstanceOf(IllegalStateException.class);
+    }
+}
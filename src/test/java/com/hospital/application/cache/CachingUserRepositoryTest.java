@@ -0,0 +1,102 @@
+// src/test/java/com/hospital/application/cache/CachingUserRepositoryTest.java
+package com.hospital.application.cache;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.hospital.application.port.UserRepositoryPort;
+import com.hospital.domain.model.UserModel;
+import com.hospital.domain.role.UserRole;
+
+class CachingUserRepositoryTest {
+
+    UserRepositoryPort delegate = mock(UserRepositoryPort.class);
+    UserRepositoryPort otherDelegate = mock(UserRepositoryPort.class);
+    CacheInvalidationChannel channel = new InProcessCacheInvalidationChannel();
+    CachingUserRepository cache = newCache(delegate);
+    // A second instance sharing the channel
+    CachingUserRepository otherInstance = newCache(otherDelegate);
+
+    UUID id = UUID.randomUUID();
+    UserModel ali = new UserModel(id, "Ali", EnumSet.of(UserRole.PATIENT));
+
+    CachingUserRepository newCache(UserRepositoryPort repository) {
+        return new CachingUserRepository(repository, channel, true, 1_000_000, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void findById_reads_through_once_and_returns_immutable_roles() {
+        when(delegate.findById(id)).thenReturn(Optional.of(ali));
+
+        assertThat(cache.findById(id)).contains(new UserModel(id, "Ali", Set.of(UserRole.PATIENT)));
+        UserModel cached = cache.findById(id).orElseThrow();
+
+        verify(delegate, times(1)).findById(id);
+        assertThatThrownBy(() -> cached.userRoles().add(UserRole.DOCTOR))
+            .isInstanceOf(UnsupportedOperationException.class);
+        assertThat(cache.stats().hits()).isEqualTo(1);
+        assertThat(cache.stats().hitRate()).isEqualTo(0.5);
+    }
+
+    @Test
+    void missing_user_is_not_cached() {
+        when(delegate.findById(id)).thenReturn(Optional.empty());
+
+        assertThat(cache.findById(id)).isEmpty();
+        assertThat(cache.findById(id)).isEmpty();
+
+        verify(delegate, times(2)).findById(id);
+    }
+
+    @Test
+    void save_writes_through_and_other_instances_drop_their_copy() {
+        when(otherDelegate.findById(id)).thenReturn(Optional.of(ali));
+        otherInstance.findById(id);
+
+        UserModel renamed = new UserModel(id, "Ali Veli", Set.of(UserRole.PATIENT));
+        when(delegate.save(any())).thenReturn(renamed);
+        when(otherDelegate.findById(id)).thenReturn(Optional.of(renamed));
+        cache.save(renamed);
+
+        assertThat(cache.findById(id)).contains(renamed);
+        verify(delegate, never()).findById(id);
+        assertThat(otherInstance.findById(id)).contains(renamed);
+        verify(otherDelegate, times(2)).findById(id);
+    }
+
+    @Test
+    void deleteAll_clears_every_instance() {
+        when(delegate.findById(id)).thenReturn(Optional.of(ali));
+        when(otherDelegate.findById(id)).thenReturn(Optional.of(ali));
+        cache.findById(id);
+        otherInstance.findById(id);
+
+        cache.deleteAll();
+
+        assertThat(cache.stats().size()).isZero();
+        assertThat(otherInstance.stats().size()).isZero();
+    }
+
+    @Test
+    void disabled_cache_is_emptied_and_bypassed() {
+        when(delegate.findById(id)).thenReturn(Optional.of(ali));
+        cache.findById(id);
+
+        cache.setEnabled(false);
+        cache.findById(id);
+        cache.findById(id);
+
+        verify(delegate, times(3)).findById(id);
+        assertThat(cache.stats().size()).isZero();
+        assertThat(cache.isEnabled()).isFalse();
+    }
+}
@@ -0,0 +1,80 @@
+// src/test/java/com/hospital/application/cache/TtlCacheTest.java
+package com.hospital.application.cache;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class TtlCacheTest {
+
+    AtomicLong now = new AtomicLong();
+    TtlCache<String, String> cache = new TtlCache<>(2, Duration.ofSeconds(10), now::get);
+
+    @Test
+    void hit_after_first_load_and_expires_after_ttl() {
+        var loads = new AtomicInteger();
+
+        assertThat(cache.get("a", k -> "A" + loads.incrementAndGet())).isEqualTo("A1");
+        assertThat(cache.get("a", k -> "A" + loads.incrementAndGet())).isEqualTo("A1");
+
+        now.addAndGet(Duration.ofSeconds(11).toNanos());
+        assertThat(cache.get("a", k -> "A" + loads.incrementAndGet())).isEqualTo("A2");
+
+        var stats = cache.stats();
+        assertThat(stats.hits()).isEqualTo(1);
+        assertThat(stats.misses()).isEqualTo(2);
+        assertThat(stats.expirations()).isEqualTo(1);
+    }
+
+    @Test
+    void evicts_least_recently_used_over_capacity() {
+        cache.get("a", k -> "A");
+        cache.get("b", k -> "B");
+        cache.get("a", k -> "A");
+        cache.get("c", k -> "C");
+
+        // b was the least recently used
+        assertThat(cache.get("b", k -> "B2")).isEqualTo("B2");
+        assertThat(cache.stats().evictions()).isEqualTo(2);
+        assertThat(cache.stats().size()).isEqualTo(2);
+    }
+
+    @Test
+    void load_overlapping_invalidation_is_not_stored() {
+        assertThat(cache.get("a", k -> { cache.invalidateAll(); return "stale"; })).isEqualTo("stale");
+        assertThat(cache.get("a", k -> "fresh")).isEqualTo("fresh");
+        assertThat(cache.stats().misses()).isEqualTo(2);
+    }
+
+    @Test
+    void invalidate_single_key_and_null_not_cached() {
+        cache.get("a", k -> "A");
+        cache.invalidate("a");
+        assertThat(cache.stats().size()).isZero();
+
+        assertThat(cache.get("n", k -> null)).isNull();
+        assertThat(cache.stats().size()).isZero();
+    }
+
+    @Test
+    void bounded_by_weight_and_put_wins_over_inflight_load() {
+        TtlCache<String, String> weighted = new TtlCache<>(10, Duration.ofSeconds(10), String::length, now::get);
+        weighted.put("a", "aaaa");
+        weighted.put("b", "bbbb");
+        weighted.put("c", "cccc");
+
+        var stats = weighted.stats();
+        assertThat(stats.size()).isEqualTo(2);
+        assertThat(stats.weight()).isEqualTo(8);
+        assertThat(stats.evictions()).isEqualTo(1);
+
+        assertThat(weighted.get("b", k -> { weighted.put("b", "new"); return "old"; })).isEqualTo("bbbb");
+        assertThat(weighted.get("d", k -> { weighted.put("d", "new"); return "old"; })).isEqualTo("old");
+        assertThat(weighted.get("d", k -> "other")).isEqualTo("new");
+        assertThat(weighted.stats().hitRate()).isEqualTo(2.0 / 3);
+    }
+}
@@ -18,8 +18,12 @@ import com.hospital.application.common.exceptions.ForbiddenException;
 import com.hospital.application.common.exceptions.NotFoundException;
 import com.hospital.application.dto.ConversationResponse;
 import com.hospital.application.port.ConversationRepositoryPort;
+import com.hospital.application.port.ConversationSummaryRepositoryPort;
 import com.hospital.application.port.UserRepositoryPort;
+import com.hospital.domain.model.ConversationCursor;
 import com.hospital.domain.model.ConversationModel;
+import com.hospital.domain.model.ConversationSummaryModel;
+import com.hospital.domain.model.InboxCursor;
 import com.hospital.domain.model.UserModel;
 import com.hospital.domain.role.UserRole;
 import com.hospital.domain.status.ConversationStatus;
@@ -28,10 +32,12 @@ class ConversationServiceTest {
 
     ConversationRepositoryPort conversationRepositoryPort 
         = mock(ConversationRepositoryPort.class);
+    ConversationSummaryRepositoryPort conversationSummaryRepositoryPort
+        = mock(ConversationSummaryRepositoryPort.class);
     UserRepositoryPort userRepositoryPort 
         = mock(UserRepositoryPort.class);
     ConversationService conversationService 
-        = new ConversationService(conversationRepositoryPort, userRepositoryPort);
+        = new ConversationService(conversationRepositoryPort, conversationSummaryRepositoryPort, userRepositoryPort);
 
     @Test
     void listByUser_maps_models_to_dtos() {
@@ -49,6 +55,22 @@ class ConversationServiceTest {
             .isEqualTo(ConversationStatus.ACTIVE);
     }
 
+    @Test
+    void listByUser_page_passes_filter_and_cursor_and_checks_limit() {
+        var userId = UUID.randomUUID();
+        var cursor = new ConversationCursor(LocalDateTime.now(), UUID.randomUUID());
+        var closed = new ConversationModel(UUID.randomUUID(), List.of(userId), ConversationStatus.CLOSED, LocalDateTime.now().minusDays(1), LocalDateTime.now());
+
+        when(conversationRepositoryPort.findPageByUserId(userId, Set.of(ConversationStatus.CLOSED), cursor, 10)).thenReturn(List.of(closed));
+
+        assertThat(conversationService.listByUser(userId, Set.of(ConversationStatus.CLOSED), cursor, 10))
+            .extracting(ConversationResponse::conversationID)
+            .containsExactly(closed.conversationID());
+        assertThatThrownBy(() -> conversationService.listByUser(userId, null, null, ConversationService.MAX_CONVERSATION_PAGE_SIZE + 1))
+            .isInstanceOf(BadRequestException.class);
+        verify(conversationRepositoryPort, never()).findAllByUserId(any());
+    }
+
     @Test
     void closeConversation_happy_path() {
         var conversationID = UUID.randomUUID();
@@ -58,12 +80,29 @@ class ConversationServiceTest {
 
         when(conversationRepositoryPort.findById(conversationID)).thenReturn(Optional.of(active));
         when(userRepositoryPort.findById(patientId)).thenReturn(Optional.of(new UserModel(patientId, "Hasta", Set.of(UserRole.PATIENT))));
-        when(conversationRepositoryPort.save(any())).thenAnswer(inv -> inv.getArgument(0));
+        when(conversationRepositoryPort.closeIfActive(eq(conversationID), any())).thenReturn(true);
 
         var resp = conversationService.closeConversation(conversationID, patientId);
 
         assertThat(resp.conversationStatus()).isEqualTo(ConversationStatus.CLOSED);
         assertThat(resp.conversationClosedAt()).isNotNull();
+        assertThat(resp.participantIdList()).containsExactly(patientId, doctorId);
+        verify(conversationRepositoryPort, never()).save(any());
+    }
+
+    @Test
+    void closeConversation_lost_race_bad_request() {
+        var conversationID = UUID.randomUUID();
+        var patientId = UUID.randomUUID();
+        var active = new ConversationModel(conversationID, List.of(patientId), ConversationStatus.ACTIVE, LocalDateTime.now(), null);
+
+        when(conversationRepositoryPort.findById(conversationID)).thenReturn(Optional.of(active));
+        when(userRepositoryPort.findById(patientId)).thenReturn(Optional.of(new UserModel(patientId, "P", Set.of(UserRole.PATIENT))));
+        when(conversationRepositoryPort.closeIfActive(eq(conversationID), any())).thenReturn(false);
+
+        assertThatThrownBy(() -> conversationService.closeConversation(conversationID, patientId))
+            .isInstanceOf(BadRequestException.class)
+            .hasMessageContaining("already closed");
     }
 
     @Test
@@ -130,4 +169,54 @@ class ConversationServiceTest {
             .isInstanceOf(BadRequestException.class)
             .hasMessageContaining("already closed");
     }
-}
\ No newline at end of file
+
+    @Test
+    void isParticipant_checks_the_participant_list() {
+        var userId = UUID.randomUUID();
+        var conversationID = UUID.randomUUID();
+        when(conversationRepositoryPort.findById(conversationID)).thenReturn(Optional.of(
+            new ConversationModel(conversationID, List.of(userId), ConversationStatus.ACTIVE, LocalDateTime.now(), null)));
+
+        assertThat(conversationService.isParticipant(conversationID, userId)).isTrue();
+        assertThat(conversationService.isParticipant(conversationID, UUID.randomUUID())).isFalse();
+        assertThat(conversationService.isParticipant(UUID.randomUUID(), userId)).isFalse();
+    }
+
+    @Test
+    void listInbox_maps_summaries_and_checks_limit() {
+        var userId = UUID.randomUUID();
+        var cursor = new InboxCursor(LocalDateTime.now(), UUID.randomUUID());
+        var summary = new ConversationSummaryModel(UUID.randomUUID(), ConversationStatus.ACTIVE, LocalDateTime.now(),
+            UUID.randomUUID(), UUID.randomUUID(), "Merhaba", 3);
+        when(conversationSummaryRepositoryPort.findInbox(userId, cursor, 20)).thenReturn(List.of(summary));
+
+        var inbox = conversationService.listInbox(userId, cursor, 20);
+
+        assertThat(inbox).hasSize(1);
+        assertThat(inbox.get(0).conversationID()).isEqualTo(summary.conversationID());
+        assertThat(inbox.get(0).lastMessageSnippet()).isEqualTo("Merhaba");
+        assertThat(inbox.get(0).unreadCount()).isEqualTo(3);
+        assertThatThrownBy(() -> conversationService.listInbox(userId, null, 0)).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> conversationService.listInbox(userId, null, ConversationService.MAX_CONVERSATION_PAGE_SIZE + 1))
+            .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void markRead_resets_the_count_and_explains_a_miss() {
+        var conversationId = UUID.randomUUID();
+        var patientId = UUID.randomUUID();
+        when(conversationSummaryRepositoryPort.markRead(conversationId, patientId)).thenReturn(true);
+
+        conversationService.markRead(conversationId, patientId);
+        verifyNoInteractions(conversationRepositoryPort);
+
+        var stranger = UUID.randomUUID();
+        when(conversationRepositoryPort.findById(conversationId)).thenReturn(Optional.of(new ConversationModel(
+            conversationId, List.of(patientId, UUID.randomUUID()), ConversationStatus.ACTIVE, LocalDateTime.now(), null)));
+        assertThatThrownBy(() -> conversationService.markRead(conversationId, stranger)).isInstanceOf(ForbiddenException.class);
+
+        var missing = UUID.randomUUID();
+        when(conversationRepositoryPort.findById(missing)).thenReturn(Optional.empty());
+        assertThatThrownBy(() -> conversationService.markRead(missing, patientId)).isInstanceOf(NotFoundException.class);
+    }
+}
@@ -5,7 +5,6 @@ import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -13,15 +12,25 @@ import java.util.UUID;
 
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionOperations;
 
+import com.hospital.application.batch.MessageBatchWriter;
 import com.hospital.application.common.exceptions.BadRequestException;
+import com.hospital.application.common.exceptions.ConflictException;
 import com.hospital.application.common.exceptions.ForbiddenException;
 import com.hospital.application.common.exceptions.NotFoundException;
+import com.hospital.application.dto.MessageExportLine;
 import com.hospital.application.dto.MessageSendRequest;
+import com.hospital.application.event.MessageSentEvent;
 import com.hospital.application.port.ConversationRepositoryPort;
+import com.hospital.application.port.ConversationSummaryRepositoryPort;
 import com.hospital.application.port.MessageRepositoryPort;
 import com.hospital.application.port.UserRepositoryPort;
+import com.hospital.domain.id.UuidV7Generator;
+import com.hospital.domain.model.ConversationMessage;
 import com.hospital.domain.model.ConversationModel;
+import com.hospital.domain.model.MessageCursor;
 import com.hospital.domain.model.MessageModel;
 import com.hospital.domain.model.UserModel;
 import com.hospital.domain.role.UserRole;
@@ -31,8 +40,11 @@ class MessageServiceTest {
 
     MessageRepositoryPort messageRepositoryPort = mock(MessageRepositoryPort.class);
     ConversationRepositoryPort conversationRepositoryPort = mock(ConversationRepositoryPort.class);
+    ConversationSummaryRepositoryPort conversationSummaryRepositoryPort = mock(ConversationSummaryRepositoryPort.class);
     UserRepositoryPort userRepositoryPort = mock(UserRepositoryPort.class);
-    MessageService messageService = new MessageService(messageRepositoryPort, conversationRepositoryPort, userRepositoryPort);
+    ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    MessageBatchWriter messageBatchWriter = mock(MessageBatchWriter.class);
+    MessageService messageService = new MessageService(messageRepositoryPort, conversationRepositoryPort, conversationSummaryRepositoryPort, userRepositoryPort, messageBatchWriter, eventPublisher, new UuidV7Generator(), TransactionOperations.withoutTransaction());
 
     // --- sendByPatientToDoctorName ---
     @Test
@@ -51,12 +63,13 @@ class MessageServiceTest {
         when(conversationRepositoryPort.findActiveBetween(patientId, doctorId)).thenReturn(Optional.of(existing));
 
         ArgumentCaptor<MessageModel> cap = ArgumentCaptor.forClass(MessageModel.class);
-        when(messageRepositoryPort.save(cap.capture(), eq(existing.conversationID()))).thenAnswer(i -> i.getArgument(0));
+        when(messageRepositoryPort.saveIfUnchanged(cap.capture(), eq(existing.conversationID()), eq(0L))).thenReturn(true);
 
         var resp = messageService.sendByPatientToDoctorName(doctorName, patientId, "hi");
 
         assertThat(resp.messageAuthorId()).isEqualTo(patientId);
         assertThat(resp.messageContent()).isEqualTo("hi");
+        verify(eventPublisher).publishEvent(new MessageSentEvent(existing.conversationID(), resp));
 
         verify(conversationRepositoryPort, never()).save(any());
     }
@@ -73,13 +86,37 @@ class MessageServiceTest {
         when(userRepositoryPort.findByNameAndRole(doctorName, UserRole.DOCTOR)).thenReturn(List.of(doctor));
 
         when(conversationRepositoryPort.findActiveBetween(patientId, doctorId)).thenReturn(Optional.empty());
+        when(conversationRepositoryPort.claimActivePair(any(), eq(patientId), eq(doctorId))).thenReturn(true);
         when(conversationRepositoryPort.save(any())).thenAnswer(i -> i.getArgument(0));
-        when(messageRepositoryPort.save(any(), any())).thenAnswer(i -> i.getArgument(0));
+        when(messageRepositoryPort.saveIfUnchanged(any(), any(), anyLong())).thenReturn(true);
 
         var response = messageService.sendByPatientToDoctorName(doctorName, patientId, "hey");
 
         assertThat(response.messageContent()).isEqualTo("hey");
-        verify(conversationRepositoryPort).save(any(ConversationModel.class)); 
+        ArgumentCaptor<UUID> claimed = ArgumentCaptor.forClass(UUID.class);
+        verify(conversationRepositoryPort).claimActivePair(claimed.capture(), eq(patientId), eq(doctorId));
+        ArgumentCaptor<ConversationModel> saved = ArgumentCaptor.forClass(ConversationModel.class);
+        verify(conversationRepositoryPort).save(saved.capture());
+        assertThat(saved.getValue().conversationID()).isEqualTo(claimed.getValue());
+    }
+
+    @Test
+    void sendByPatientToDoctorName_lost_claim_joins_the_winning_conversation() {
+        var doctorName = "Doktor";
+        var patientId = UUID.randomUUID();
+        var doctorId = UUID.randomUUID();
+        when(userRepositoryPort.findById(patientId)).thenReturn(Optional.of(new UserModel(patientId, "P", Set.of(UserRole.PATIENT))));
+        when(userRepositoryPort.findByNameAndRole(doctorName, UserRole.DOCTOR)).thenReturn(List.of(new UserModel(doctorId, "D", Set.of(UserRole.DOCTOR))));
+
+        var winner = new ConversationModel(UUID.randomUUID(), List.of(patientId, doctorId), ConversationStatus.ACTIVE, LocalDateTime.now(), null);
+        when(conversationRepositoryPort.findActiveBetween(patientId, doctorId)).thenReturn(Optional.empty(), Optional.of(winner));
+        when(conversationRepositoryPort.claimActivePair(any(), eq(patientId), eq(doctorId))).thenReturn(false);
+        when(messageRepositoryPort.saveIfUnchanged(any(), eq(winner.conversationID()), anyLong())).thenReturn(true);
+
+        messageService.sendByPatientToDoctorName(doctorName, patientId, "hey");
+
+        verify(messageRepositoryPort).saveIfUnchanged(any(), eq(winner.conversationID()), anyLong());
+        verify(conversationRepositoryPort, never()).save(any());
     }
 
     @Test
@@ -135,15 +172,19 @@ class MessageServiceTest {
             .thenReturn(Optional.of(conversation));
         when(userRepositoryPort.findById(patientId))
             .thenReturn(Optional.of(new UserModel(patientId, "P", Set.of(UserRole.PATIENT))));
-        when(messageRepositoryPort.findByConversationID(conversationID))
-            .thenReturn(List.of(new MessageModel(UUID.randomUUID(), patientId, "prev", LocalDateTime.now())));
-        when(messageRepositoryPort.save(any(), eq(conversationID)))
-            .thenAnswer(i -> i.getArgument(0));
+        when(messageRepositoryPort.hasMessages(conversationID))
+            .thenReturn(true);
+        when(messageRepositoryPort.saveIfUnchanged(any(), eq(conversationID), eq(0L)))
+            .thenReturn(true);
 
         var response = messageService.sendMessage(conversationID, request);
 
         assertThat(response.messageContent()).isEqualTo("hi");
         assertThat(response.messageAuthorId()).isEqualTo(patientId);
+        verify(eventPublisher).publishEvent(new MessageSentEvent(conversationID, response));
+        // The inbox summary is moved forward in the same transaction, counted as unread for the doctor
+        verify(conversationSummaryRepositoryPort).recordMessages(List.of(new ConversationMessage(conversationID,
+            new MessageModel(response.messageID(), patientId, "hi", response.messageCreatedAt()))), true);
     }
 
     @Test
@@ -204,12 +245,211 @@ class MessageServiceTest {
 
         when(userRepositoryPort.findById(doctorID)).
             thenReturn(Optional.of(new UserModel(doctorID, "D", Set.of(UserRole.DOCTOR))));
-        when(messageRepositoryPort.findByConversationID(conversationID))
-            .thenReturn(new ArrayList<>()); 
+        when(messageRepositoryPort.hasMessages(conversationID))
+            .thenReturn(false); 
         assertThatThrownBy(() 
             -> messageService.sendMessage(conversationID, new MessageSendRequest(doctorID, "x")))
             .isInstanceOf(ForbiddenException.class)
             .hasMessageContaining("doctor cannot initiate");
+        verify(messageRepositoryPort, never()).findByConversationID(any());
+    }
+
+    @Test
+    void sendMessage_closed_after_the_check_is_rejected_without_side_effects() {
+        var conversationID = UUID.randomUUID();
+        var patientID = UUID.randomUUID();
+        var active = new ConversationModel(conversationID, List.of(patientID, UUID.randomUUID()), ConversationStatus.ACTIVE, LocalDateTime.now(), null, 4);
+        when(conversationRepositoryPort.findById(conversationID)).thenReturn(Optional.of(active));
+        when(userRepositoryPort.findById(patientID)).thenReturn(Optional.of(new UserModel(patientID, "P", Set.of(UserRole.PATIENT))));
+        // The guarded insert finds the conversation moved past version 4
+        when(messageRepositoryPort.saveIfUnchanged(any(), eq(conversationID), eq(4L))).thenReturn(false);
+
+        assertThatThrownBy(() -> messageService.sendMessage(conversationID, new MessageSendRequest(patientID, "x")))
+            .isInstanceOf(BadRequestException.class)
+            .hasMessageContaining("closed");
+        verifyNoInteractions(conversationSummaryRepositoryPort, eventPublisher);
+    }
+
+    @Test
+    void sendByPatientToDoctorName_conversation_closed_before_the_insert_is_a_conflict() {
+        var doctorName = "Doktor";
+        var patientId = UUID.randomUUID();
+        var doctorId = UUID.randomUUID();
+        when(userRepositoryPort.findById(patientId)).thenReturn(Optional.of(new UserModel(patientId, "P", Set.of(UserRole.PATIENT))));
+        when(userRepositoryPort.findByNameAndRole(doctorName, UserRole.DOCTOR)).thenReturn(List.of(new UserModel(doctorId, "D", Set.of(UserRole.DOCTOR))));
+        var existing = new ConversationModel(UUID.randomUUID(), List.of(patientId, doctorId), ConversationStatus.ACTIVE, LocalDateTime.now(), null);
+        when(conversationRepositoryPort.findActiveBetween(patientId, doctorId)).thenReturn(Optional.of(existing));
+        when(messageRepositoryPort.saveIfUnchanged(any(), eq(existing.conversationID()), eq(0L))).thenReturn(false);
+
+        assertThatThrownBy(() -> messageService.sendByPatientToDoctorName(doctorName, patientId, "hi"))
+            .isInstanceOf(ConflictException.class);
+        verifyNoInteractions(conversationSummaryRepositoryPort, eventPublisher);
+    }
+
+    // --- importMessages ---
+    @Test
+    void importMessages_writes_in_chunks_and_fills_missing_ids() {
+        var conversationID = UUID.randomUUID();
+        var patientID = UUID.randomUUID();
+        var closed = new ConversationModel(conversationID, List.of(patientID, UUID.randomUUID()), ConversationStatus.CLOSED, LocalDateTime.now(), LocalDateTime.now());
+        when(conversationRepositoryPort.findById(conversationID)).thenReturn(Optional.of(closed));
+        List<Integer> chunkSizes = new java.util.ArrayList<>();
+        List<UUID> ids = new java.util.ArrayList<>();
+        doAnswer(i -> {
+            List<com.hospital.domain.model.ConversationMessage> chunk = i.getArgument(0);
+            chunkSizes.add(chunk.size());
+            chunk.forEach(m -> ids.add(m.message().messageID()));
+            return null;
+        }).when(messageRepositoryPort).saveAll(any());
+
+        int total = MessageService.IMPORT_CHUNK_SIZE * 2 + 5;
+        var messages = java.util.stream.IntStream.range(0, total)
+            .mapToObj(n -> new MessageModel(null, patientID, "m" + n, LocalDateTime.of(2020, 1, 1, 0, 0).plusSeconds(n)));
+
+        var report = messageService.importMessages(conversationID, messages);
+
+        assertThat(report.importedMessages()).isEqualTo(total);
+        assertThat(chunkSizes).containsExactly(MessageService.IMPORT_CHUNK_SIZE, MessageService.IMPORT_CHUNK_SIZE, 5);
+        assertThat(ids).doesNotContainNull().doesNotHaveDuplicates();
+        verify(eventPublisher, never()).publishEvent(any());
+        // History moves the last message but is not unread
+        verify(conversationSummaryRepositoryPort, times(3)).recordMessages(any(), eq(false));
+    }
+
+    @Test
+    void importMessages_skips_messages_stored_by_an_earlier_attempt() {
+        var conversationID = UUID.randomUUID();
+        var patientID = UUID.randomUUID();
+        var active = new ConversationModel(conversationID, List.of(patientID), ConversationStatus.ACTIVE, LocalDateTime.now(), null);
+        when(conversationRepositoryPort.findById(conversationID)).thenReturn(Optional.of(active));
+        var now = LocalDateTime.now();
+        var first = new MessageModel(UUID.randomUUID(), patientID, "a", now);
+        var second = new MessageModel(UUID.randomUUID(), patientID, "b", now.plusSeconds(1));
+        when(messageRepositoryPort.findExistingIDs(eq(conversationID), any())).thenReturn(Set.of(first.messageID()));
+        List<UUID> saved = new java.util.ArrayList<>();
+        doAnswer(i -> {
+            List<com.hospital.domain.model.ConversationMessage> chunk = i.getArgument(0);
+            chunk.forEach(m -> saved.add(m.message().messageID()));
+            return null;
+        }).when(messageRepositoryPort).saveAll(any());
+
+        var report = messageService.importMessages(conversationID, java.util.stream.Stream.of(first, second));
+
+        assertThat(report.importedMessages()).isEqualTo(1);
+        assertThat(report.skippedMessages()).isEqualTo(1);
+        assertThat(saved).containsExactly(second.messageID());
+    }
+
+    @Test
+    void importMessages_failing_after_a_chunk_reports_what_was_saved() {
+        var conversationID = UUID.randomUUID();
+        var patientID = UUID.randomUUID();
+        var active = new ConversationModel(conversationID, List.of(patientID), ConversationStatus.ACTIVE, LocalDateTime.now(), null);
+        when(conversationRepositoryPort.findById(conversationID)).thenReturn(Optional.of(active));
+        var now = LocalDateTime.now();
+        var messages = java.util.stream.IntStream.rangeClosed(1, MessageService.IMPORT_CHUNK_SIZE + 1)
+            .mapToObj(n -> new MessageModel(null, patientID, n <= MessageService.IMPORT_CHUNK_SIZE ? "m" + n : " ", now));
+
+        assertThatThrownBy(() -> messageService.importMessages(conversationID, messages))
+            .isInstanceOf(BadRequestException.class)
+            .hasMessage("Message " + (MessageService.IMPORT_CHUNK_SIZE + 1) + ": content cannot be empty. The "
+                + MessageService.IMPORT_CHUNK_SIZE + " messages before it are saved.");
+        verify(messageRepositoryPort, times(1)).saveAll(any());
+    }
+
+    @Test
+    void importMessages_rejects_non_participants_and_blank_lines() {
+        var conversationID = UUID.randomUUID();
+        var patientID = UUID.randomUUID();
+        var active = new ConversationModel(conversationID, List.of(patientID), ConversationStatus.ACTIVE, LocalDateTime.now(), null);
+        when(conversationRepositoryPort.findById(conversationID)).thenReturn(Optional.of(active));
+        var now = LocalDateTime.now();
+
+        assertThatThrownBy(() -> messageService.importMessages(conversationID, java.util.stream.Stream.of(
+            new MessageModel(null, patientID, "ok", now), new MessageModel(null, UUID.randomUUID(), "x", now))))
+            .isInstanceOf(ForbiddenException.class)
+            .hasMessageStartingWith("Message 2:");
+        assertThatThrownBy(() -> messageService.importMessages(conversationID, java.util.stream.Stream.of(
+            new MessageModel(null, patientID, " ", now))))
+            .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> messageService.importMessages(UUID.randomUUID(), java.util.stream.Stream.empty()))
+            .isInstanceOf(NotFoundException.class);
+        verify(messageRepositoryPort, never()).saveAll(any());
+    }
+
+    // --- exportConversation / exportUserTranscripts ---
+    @Test
+    void exportConversation_hands_each_message_to_the_sink_and_closes_the_cursor() {
+        var conversationID = UUID.randomUUID();
+        var authorID = UUID.randomUUID();
+        var active = new ConversationModel(conversationID, List.of(authorID), ConversationStatus.ACTIVE, LocalDateTime.now(), null);
+        when(conversationRepositoryPort.findById(conversationID)).thenReturn(Optional.of(active));
+        var closed = new java.util.concurrent.atomic.AtomicBoolean();
+        var now = LocalDateTime.now();
+        when(messageRepositoryPort.streamByConversationID(conversationID)).thenReturn(java.util.stream.Stream.of(
+            new com.hospital.domain.model.ConversationMessage(conversationID, UUID.randomUUID(), authorID, "a", now),
+            new com.hospital.domain.model.ConversationMessage(conversationID, UUID.randomUUID(), authorID, "b", now.plusSeconds(1))
+        ).onClose(() -> closed.set(true)));
+        List<MessageExportLine> lines = new java.util.ArrayList<>();
+
+        long exported = messageService.exportConversation(conversationID, lines::add);
+
+        assertThat(exported).isEqualTo(2);
+        assertThat(lines).extracting(MessageExportLine::messageContent).containsExactly("a", "b");
+        assertThat(lines).allSatisfy(line -> assertThat(line.conversationID()).isEqualTo(conversationID));
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    void export_unknown_conversation_or_user_is_404_before_streaming() {
+        assertThatThrownBy(() -> messageService.exportConversation(UUID.randomUUID(), line -> {}))
+            .isInstanceOf(NotFoundException.class);
+        assertThatThrownBy(() -> messageService.exportUserTranscripts(UUID.randomUUID(), line -> {}))
+            .isInstanceOf(NotFoundException.class);
+        verify(messageRepositoryPort, never()).streamByConversationID(any());
+        verify(messageRepositoryPort, never()).streamByParticipant(any());
+    }
+
+    // --- submitMessage ---
+    @Test
+    void submitMessage_checks_rules_then_queues() {
+        var conversationID = UUID.randomUUID();
+        var patientID = UUID.randomUUID();
+        var doctorID = UUID.randomUUID();
+        var active = new ConversationModel(conversationID, List.of(patientID, doctorID), ConversationStatus.ACTIVE, LocalDateTime.now(), null, 3);
+        when(conversationRepositoryPort.findById(conversationID)).thenReturn(Optional.of(active));
+        when(userRepositoryPort.findById(patientID)).thenReturn(Optional.of(new UserModel(patientID, "P", Set.of(UserRole.PATIENT))));
+        var queued = new java.util.concurrent.CompletableFuture<com.hospital.application.dto.MessageResponse>();
+        // The version that passed the checks goes with the message, the batch re-checks it
+        when(messageBatchWriter.submit(conversationID, 3L, patientID, "hi")).thenReturn(queued);
+
+        assertThat(messageService.submitMessage(conversationID, patientID, "hi")).isSameAs(queued);
+
+        assertThatThrownBy(() -> messageService.submitMessage(conversationID, UUID.randomUUID(), "hi"))
+            .isInstanceOf(ForbiddenException.class);
+        assertThatThrownBy(() -> messageService.submitMessage(conversationID, patientID, " "))
+            .isInstanceOf(BadRequestException.class);
+        verify(messageBatchWriter).submit(any(), anyLong(), any(), any());
+        verify(messageRepositoryPort, never()).saveIfUnchanged(any(), any(), anyLong());
+    }
+
+    @Test
+    void submitMessage_doctor_may_reply_to_a_queued_patient_message() {
+        var conversationID = UUID.randomUUID();
+        var doctorID = UUID.randomUUID();
+        var active = new ConversationModel(conversationID, List.of(UUID.randomUUID(), doctorID), ConversationStatus.ACTIVE, LocalDateTime.now(), null);
+        when(conversationRepositoryPort.findById(conversationID)).thenReturn(Optional.of(active));
+        when(userRepositoryPort.findById(doctorID)).thenReturn(Optional.of(new UserModel(doctorID, "D", Set.of(UserRole.DOCTOR))));
+        when(messageRepositoryPort.hasMessages(conversationID)).thenReturn(false);
+
+        assertThatThrownBy(() -> messageService.submitMessage(conversationID, doctorID, "x"))
+            .isInstanceOf(ForbiddenException.class)
+            .hasMessageContaining("doctor cannot initiate");
+
+        when(messageBatchWriter.hasPending(conversationID)).thenReturn(true);
+        messageService.submitMessage(conversationID, doctorID, "x");
+
+        verify(messageBatchWriter).submit(conversationID, 0L, doctorID, "x");
     }
 
     @Test
@@ -224,4 +464,25 @@ class MessageServiceTest {
         var list = messageService.listMessages(conversationID);
         assertThat(list).extracting(r -> r.messageContent()).containsExactly("a", "b");
     }
-}
\ No newline at end of file
+
+    @Test
+    void listMessages_page_delegates_and_validates() {
+        var conversationID = UUID.randomUUID();
+        var cursor = new MessageCursor(LocalDateTime.now(), UUID.randomUUID());
+        var message = new MessageModel(UUID.randomUUID(), UUID.randomUUID(), "a", LocalDateTime.now());
+
+        when(messageRepositoryPort.findPage(conversationID, cursor, null, 50))
+            .thenReturn(List.of(message));
+
+        var page = messageService.listMessages(conversationID, cursor, null, 50);
+        assertThat(page).extracting(r -> r.messageContent()).containsExactly("a");
+        verify(messageRepositoryPort, never()).findByConversationID(any());
+
+        assertThatThrownBy(() -> messageService.listMessages(conversationID, null, null, 0))
+            .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> messageService.listMessages(conversationID, null, null, MessageService.MAX_MESSAGE_PAGE_SIZE + 1))
+            .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> messageService.listMessages(conversationID, cursor, cursor, 10))
+            .isInstanceOf(BadRequestException.class);
+    }
+}
@@ -4,14 +4,19 @@ package com.hospital.application.service;
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.context.ApplicationEventPublisher;
 
+import com.hospital.application.cache.DoctorRatingsCache;
 import com.hospital.application.common.exceptions.BadRequestException;
 import com.hospital.application.common.exceptions.ConflictException;
 import com.hospital.application.common.exceptions.ForbiddenException;
@@ -19,11 +24,17 @@ import com.hospital.application.common.exceptions.NotFoundException;
 import com.hospital.application.dto.DoctorRatingResponse;
 import com.hospital.application.dto.RatingCreateRequest;
 import com.hospital.application.dto.RatingResponse;
+import com.hospital.application.event.DoctorRatingsChangedEvent;
 import com.hospital.application.port.ConversationRepositoryPort;
+import com.hospital.application.port.DoctorRatingStatsRepositoryPort;
+import com.hospital.application.port.RatingOutboxRepositoryPort;
 import com.hospital.application.port.RatingRepositoryPort;
 import com.hospital.application.port.UserRepositoryPort;
+import com.hospital.domain.id.UuidV7Generator;
 import com.hospital.domain.model.ConversationModel;
+import com.hospital.domain.model.DoctorRatingStatsModel;
 import com.hospital.domain.model.RatingModel;
+import com.hospital.domain.model.RatingOutboxEntry;
 import com.hospital.domain.model.UserModel;
 import com.hospital.domain.role.UserRole;
 import com.hospital.domain.status.ConversationStatus;
@@ -36,8 +47,16 @@ class RatingServiceTest {
         = mock(ConversationRepositoryPort.class);
     UserRepositoryPort userRepositoryPort 
         = mock(UserRepositoryPort.class);
+    DoctorRatingStatsRepositoryPort doctorRatingStatsRepositoryPort 
+        = mock(DoctorRatingStatsRepositoryPort.class);
+    RatingOutboxRepositoryPort ratingOutboxRepositoryPort 
+        = mock(RatingOutboxRepositoryPort.class);
+    DoctorRatingsCache doctorRatingsCache 
+        = new DoctorRatingsCache(100, Duration.ofMinutes(5));
+    ApplicationEventPublisher eventPublisher 
+        = mock(ApplicationEventPublisher.class);
     RatingService ratingService 
-        = new RatingService(ratingRepositoryPort, conversationRepositoryPort, userRepositoryPort);
+        = new RatingService(ratingRepositoryPort, conversationRepositoryPort, userRepositoryPort, doctorRatingStatsRepositoryPort, ratingOutboxRepositoryPort, doctorRatingsCache, eventPublisher, new UuidV7Generator());
 
     @Test
     void create_happy_path() {
@@ -67,6 +86,9 @@ class RatingServiceTest {
 
         assertThat(response.score()).isEqualTo(5);
         assertThat(response.conversationId()).isEqualTo(conversationID);
+        // The aggregate is left to the outbox dispatcher
+        verify(ratingOutboxRepositoryPort).append(argThat(r -> r.doctorId().equals(doctorId) && r.score() == 5));
+        verifyNoInteractions(doctorRatingStatsRepositoryPort, eventPublisher);
     }
 
     @Test
@@ -127,6 +149,8 @@ class RatingServiceTest {
             new RatingModel(UUID.randomUUID(), conversationID, patientId, doctorId, 5, LocalDateTime.now())));
         assertThatThrownBy(() -> ratingService.create(new RatingCreateRequest(conversationID, patientId, doctorId, 5)))
             .isInstanceOf(ConflictException.class);
+
+        verify(ratingOutboxRepositoryPort, never()).append(any());
     }
 
     @Test
@@ -139,25 +163,87 @@ class RatingServiceTest {
         assertThatThrownBy(() -> ratingService.doctorRating(doctorID))
             .isInstanceOf(NotFoundException.class);
 
-        // null avg -> 0.0
+        // no stats row -> 0.0
         when(userRepositoryPort.findById(doctorID))
             .thenReturn(Optional.of(new UserModel(doctorID, "D", Set.of(UserRole.DOCTOR))));
-        when(ratingRepositoryPort.averageForDoctor(doctorID))
-            .thenReturn(null);
-        when(ratingRepositoryPort.countForDoctor(doctorID))
-            .thenReturn(0L);
+        when(doctorRatingStatsRepositoryPort.findByDoctorId(doctorID))
+            .thenReturn(Optional.empty());
 
         DoctorRatingResponse doctorRatingResponse0 = ratingService.doctorRating(doctorID);
         assertThat(doctorRatingResponse0.averageScore()).isEqualTo(0.0);
         assertThat(doctorRatingResponse0.ratingCount()).isZero();
 
-        // rounding
-        when(ratingRepositoryPort.averageForDoctor(doctorID)).thenReturn(4.6666667);
-        when(ratingRepositoryPort.countForDoctor(doctorID)).thenReturn(3L);
+        // rounding 14 / 3 = 4.666.., after the cached 0.0 is invalidated
+        doctorRatingsCache.onDoctorRatingsChanged(new DoctorRatingsChangedEvent(doctorID));
+        when(doctorRatingStatsRepositoryPort.findByDoctorId(doctorID))
+            .thenReturn(Optional.of(new DoctorRatingStatsModel(doctorID, 14, 3, List.of(0L, 0L, 0L, 2L, 1L))));
 
         DoctorRatingResponse r1 = ratingService.doctorRating(doctorID);
 
         assertThat(r1.averageScore()).isEqualTo(4.67);
         assertThat(r1.ratingCount()).isEqualTo(3L);
+        verifyNoInteractions(ratingRepositoryPort);
+    }
+
+    @Test
+    void doctorRating_is_cached_until_ratings_change() {
+        var doctorID = UUID.randomUUID();
+        when(userRepositoryPort.findById(doctorID))
+            .thenReturn(Optional.of(new UserModel(doctorID, "D", Set.of(UserRole.DOCTOR))));
+        when(doctorRatingStatsRepositoryPort.findByDoctorId(doctorID))
+            .thenReturn(Optional.of(new DoctorRatingStatsModel(doctorID, 5, 1, List.of(0L, 0L, 0L, 0L, 1L))));
+
+        ratingService.doctorRating(doctorID);
+        ratingService.doctorRating(doctorID);
+        verify(doctorRatingStatsRepositoryPort, times(1)).findByDoctorId(doctorID);
+
+        doctorRatingsCache.onDoctorRatingsChanged(new DoctorRatingsChangedEvent(doctorID));
+        ratingService.doctorRating(doctorID);
+        verify(doctorRatingStatsRepositoryPort, times(2)).findByDoctorId(doctorID);
+
+        var stats = doctorRatingsCache.stats().get("doctorRating");
+        assertThat(stats.hits()).isEqualTo(1);
+        assertThat(stats.misses()).isEqualTo(2);
+    }
+
+    @Test
+    void foldPendingRatings_upserts_the_batch_once_and_removes_it() {
+        var firstDoctor = new UUID(0, 1);
+        var secondDoctor = new UUID(0, 2);
+        var now = LocalDateTime.now();
+        when(ratingOutboxRepositoryPort.claimBatch(10)).thenReturn(List.of(
+            new RatingOutboxEntry(1, UUID.randomUUID(), secondDoctor, 4, now),
+            new RatingOutboxEntry(2, UUID.randomUUID(), firstDoctor, 5, now),
+            new RatingOutboxEntry(3, UUID.randomUUID(), secondDoctor, 2, now)
+        ));
+
+        assertThat(ratingService.foldPendingRatings(10)).hasSize(3);
+
+        InOrder inOrder = inOrder(doctorRatingStatsRepositoryPort, ratingOutboxRepositoryPort);
+        inOrder.verify(doctorRatingStatsRepositoryPort).recordScores(Map.of(firstDoctor, List.of(5), secondDoctor, List.of(4, 2)));
+        inOrder.verify(ratingOutboxRepositoryPort).remove(List.of(1L, 2L, 3L));
+        verify(eventPublisher).publishEvent(new DoctorRatingsChangedEvent(firstDoctor));
+        verify(eventPublisher).publishEvent(new DoctorRatingsChangedEvent(secondDoctor));
+    }
+
+    @Test
+    void foldPendingRatings_with_empty_outbox_does_nothing() {
+        when(ratingOutboxRepositoryPort.claimBatch(10)).thenReturn(List.of());
+
+        assertThat(ratingService.foldPendingRatings(10)).isEmpty();
+        verifyNoInteractions(doctorRatingStatsRepositoryPort, eventPublisher);
+        verify(ratingOutboxRepositoryPort, never()).remove(any());
+    }
+
+    @Test
+    void rebuild_discards_the_outbox_before_recomputing() {
+        when(doctorRatingStatsRepositoryPort.rebuildAll()).thenReturn(7);
+
+        assertThat(ratingService.rebuildDoctorRatingStats()).isEqualTo(7);
+
+        InOrder inOrder = inOrder(ratingOutboxRepositoryPort, doctorRatingStatsRepositoryPort);
+        inOrder.verify(ratingOutboxRepositoryPort).discardAll();
+        inOrder.verify(doctorRatingStatsRepositoryPort).rebuildAll();
+        verify(eventPublisher).publishEvent(new DoctorRatingsChangedEvent(null));
     }
-}
\ No newline at end of file
+}
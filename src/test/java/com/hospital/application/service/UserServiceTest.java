@@ -5,26 +5,36 @@ import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
 
+import com.hospital.application.cache.DoctorRatingsCache;
+import com.hospital.application.common.exceptions.BadRequestException;
 import com.hospital.application.common.exceptions.NotFoundException;
+import com.hospital.application.dto.DoctorDirectoryEntry;
+import com.hospital.application.dto.DoctorSummaryDto;
 import com.hospital.application.dto.UserCreateRequest;
 import com.hospital.application.dto.UserResponse;
-import com.hospital.application.port.RatingRepositoryPort;
+import com.hospital.application.event.DoctorRatingsChangedEvent;
 import com.hospital.application.port.UserRepositoryPort;
+import com.hospital.domain.id.IdGenerator;
 import com.hospital.domain.model.UserModel;
 import com.hospital.domain.role.UserRole;
 
 class UserServiceTest {
 
     UserRepositoryPort userRepositoryPort = mock(UserRepositoryPort.class);
-    RatingRepositoryPort ratingRepositoryPort = mock(RatingRepositoryPort.class);
-    UserService userService = new UserService(userRepositoryPort,ratingRepositoryPort );
+    DoctorRatingsCache doctorRatingsCache = new DoctorRatingsCache(100, Duration.ofMinutes(5));
+    ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    UUID fixedId = UUID.randomUUID();
+    IdGenerator idGenerator = () -> fixedId;
+    UserService userService = new UserService(userRepositoryPort, doctorRatingsCache, eventPublisher, idGenerator);
 
     @Test
     void createUser_saves_and_returns_responseponse() {
@@ -33,8 +43,19 @@ class UserServiceTest {
         .thenAnswer(i -> i.getArgument(0)); 
 
         UserResponse response = userService.createUser(request);
+        assertThat(response.userID()).isEqualTo(fixedId);
         assertThat(response.userName()).isEqualTo("Ali");
         assertThat(response.userRoles()).containsExactly(UserRole.PATIENT);
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void createUser_doctor_publishes_ratings_changed() {
+        when(userRepositoryPort.save(any()))
+        .thenAnswer(i -> i.getArgument(0));
+
+        UserResponse response = userService.createUser(new UserCreateRequest("Doc", Set.of(UserRole.DOCTOR)));
+        verify(eventPublisher).publishEvent(new DoctorRatingsChangedEvent(response.userID()));
     }
 
     @Test
@@ -65,4 +86,60 @@ class UserServiceTest {
         assertThatThrownBy(() -> userService.getUser(missing))
             .isInstanceOf(NotFoundException.class);
     }
-}
\ No newline at end of file
+
+    @Test
+    void listDoctorsWithRatings_delegates_single_page_query() {
+        var doctor = new DoctorSummaryDto(UUID.randomUUID(), "Doc", 4.5, 2);
+        var afterId = UUID.randomUUID();
+        when(userRepositoryPort.findDoctorLeaderboard(1, 4.75, afterId, 20))
+            .thenReturn(List.of(doctor));
+
+        var page = userService.listDoctorsWithRatings(1, 4.75, afterId, 20);
+
+        assertThat(page).containsExactly(doctor);
+        verify(userRepositoryPort, never()).findAllByRole(any());
+    }
+
+    @Test
+    void listDoctorsWithRatings_served_from_cache_until_invalidated() {
+        when(userRepositoryPort.findDoctorLeaderboard(0, null, null, 50))
+            .thenReturn(List.of(new DoctorSummaryDto(UUID.randomUUID(), "Doc", 4.5, 2)));
+
+        userService.listDoctorsWithRatings(0, null, null, 50);
+        userService.listDoctorsWithRatings(0, null, null, 50);
+        verify(userRepositoryPort, times(1)).findDoctorLeaderboard(0, null, null, 50);
+
+        // a different page is a different key
+        userService.listDoctorsWithRatings(0, null, null, 10);
+        verify(userRepositoryPort).findDoctorLeaderboard(0, null, null, 10);
+
+        doctorRatingsCache.onDoctorRatingsChanged(new DoctorRatingsChangedEvent(UUID.randomUUID()));
+        userService.listDoctorsWithRatings(0, null, null, 50);
+        verify(userRepositoryPort, times(2)).findDoctorLeaderboard(0, null, null, 50);
+    }
+
+    @Test
+    void listDoctorsWithRatings_rejects_bad_paging() {
+        assertThatThrownBy(() -> userService.listDoctorsWithRatings(0, null, null, 0))
+            .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> userService.listDoctorsWithRatings(0, null, null, UserService.MAX_DOCTOR_PAGE_SIZE + 1))
+            .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> userService.listDoctorsWithRatings(-1, null, null, 10))
+            .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> userService.listDoctorsWithRatings(0, 4.0, null, 10))
+            .isInstanceOf(BadRequestException.class)
+            .hasMessageContaining("together");
+    }
+
+    @Test
+    void searchDoctors_validates_and_delegates() {
+        var entry = new DoctorDirectoryEntry(UUID.randomUUID(), "Ayşe Yılmaz");
+        when(userRepositoryPort.searchDoctorsByNamePrefix("Dr. Ayş", 10)).thenReturn(List.of(entry));
+
+        assertThat(userService.searchDoctors("Dr. Ayş", 10)).containsExactly(entry);
+        assertThatThrownBy(() -> userService.searchDoctors(" . ", 10))
+            .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> userService.searchDoctors("ay", UserService.MAX_DOCTOR_SEARCH_SIZE + 1))
+            .isInstanceOf(BadRequestException.class);
+    }
+}
@@ -0,0 +1,112 @@
+// src/test/java/com/hospital/application/stream/MessageStreamHubTest.java
+package com.hospital.application.stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import com.hospital.application.dto.MessageResponse;
+import com.hospital.application.event.MessageSentEvent;
+
+class MessageStreamHubTest {
+
+    MessageStreamHub hub = new MessageStreamHub(2);
+    UUID conversationID = UUID.randomUUID();
+
+    static MessageResponse message(String content) {
+        return new MessageResponse(UUID.randomUUID(), UUID.randomUUID(), content, LocalDateTime.now());
+    }
+
+    @Test
+    void fans_out_to_every_subscriber_of_the_conversation_only() throws Exception {
+        var first = hub.subscribe(conversationID);
+        var second = hub.subscribe(conversationID);
+        var other = hub.subscribe(UUID.randomUUID());
+        var m = message("hi");
+
+        hub.onMessageSent(new MessageSentEvent(conversationID, m));
+
+        assertThat(first.poll(Duration.ZERO)).isEqualTo(m);
+        assertThat(second.poll(Duration.ZERO)).isEqualTo(m);
+        assertThat(other.poll(Duration.ZERO)).isNull();
+    }
+
+    @Test
+    void full_buffer_drops_the_slow_subscriber_without_blocking_the_sender() throws Exception {
+        var slow = hub.subscribe(conversationID);
+        var fast = hub.subscribe(conversationID);
+
+        hub.publish(conversationID, message("1"));
+        hub.publish(conversationID, message("2"));
+        assertThat(fast.poll(Duration.ZERO).messageContent()).isEqualTo("1");
+        assertThat(fast.poll(Duration.ZERO).messageContent()).isEqualTo("2");
+
+        hub.publish(conversationID, message("3"));
+
+        assertThat(slow.isClosed()).isTrue();
+        assertThat(fast.isClosed()).isFalse();
+        assertThat(fast.poll(Duration.ZERO).messageContent()).isEqualTo("3");
+        // What was buffered before the drop is still delivered
+        assertThat(slow.poll(Duration.ZERO).messageContent()).isEqualTo("1");
+        assertThat(slow.poll(Duration.ZERO).messageContent()).isEqualTo("2");
+        assertThat(slow.poll(Duration.ofSeconds(1))).isNull();
+
+        var stats = hub.stats();
+        assertThat(stats.subscribers()).isEqualTo(1);
+        assertThat(stats.published()).isEqualTo(3);
+        assertThat(stats.dropped()).isEqualTo(1);
+    }
+
+    @Test
+    void close_unsubscribes_and_forgets_empty_conversations() {
+        var subscription = hub.subscribe(conversationID);
+        assertThat(hub.stats().conversations()).isEqualTo(1);
+
+        subscription.close();
+        hub.publish(conversationID, message("late"));
+
+        assertThat(hub.stats()).isEqualTo(new MessageStreamHub.Stats(0, 0, 0, 0));
+    }
+
+    @Test
+    void subscribe_racing_the_last_close_still_receives_messages() throws Exception {
+        var churn = new MessageStreamHub(1024);
+        int threads = 8;
+        var start = new CountDownLatch(1);
+        List<Future<Integer>> lost = new ArrayList<>();
+        try (var pool = Executors.newFixedThreadPool(threads)) {
+            for (int t = 0; t < threads; t++) {
+                // Subscribers keep coming and going on one conversation, so the set is often
+                // emptied and removed while another thread subscribes
+                lost.add(pool.submit(() -> {
+                    start.await();
+                    int missed = 0;
+                    for (int i = 0; i < 20_000; i++) {
+                        try (var subscription = churn.subscribe(conversationID)) {
+                            var mine = message("own");
+                            churn.publish(conversationID, mine);
+                            MessageResponse received;
+                            do received = subscription.poll(Duration.ZERO);
+                            while (received != null && received != mine);
+                            // A descheduled subscriber may overflow and be dropped, that is not a lost one
+                            if (received == null && !subscription.isClosed()) missed++;
+                        }
+                    }
+                    return missed;
+                }));
+            }
+            start.countDown();
+        }
+        for (var missed : lost) assertThat(missed.get()).isZero();
+        assertThat(churn.stats().conversations()).isZero();
+    }
+}
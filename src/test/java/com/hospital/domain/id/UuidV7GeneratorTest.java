@@ -0,0 +1,73 @@
+// src/test/java/com/hospital/domain/id/UuidV7GeneratorTest.java
+package com.hospital.domain.id;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class UuidV7GeneratorTest {
+
+    @Test
+    void sets_version_variant_and_timestamp() {
+        var now = Instant.parse("2025-03-01T10:15:30.123Z");
+        var generator = new UuidV7Generator(Clock.fixed(now, ZoneOffset.UTC));
+
+        UUID id = generator.next();
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        assertThat(id.getMostSignificantBits() >>> 16).isEqualTo(now.toEpochMilli());
+    }
+
+    @Test
+    void strictly_increasing_within_one_millisecond_and_when_clock_goes_back() {
+        var millis = new AtomicLong(Instant.parse("2025-03-01T10:15:30Z").toEpochMilli());
+        var generator = new UuidV7Generator(new Clock() {
+            @Override public ZoneId getZone() { return ZoneOffset.UTC; }
+            @Override public Clock withZone(ZoneId zone) { return this; }
+            @Override public Instant instant() { return Instant.ofEpochMilli(millis.get()); }
+        });
+
+        var ids = new ArrayList<UUID>();
+        // more than the 4096 counter values of one millisecond
+        for (int i = 0; i < 10_000; i++) ids.add(generator.next());
+        millis.addAndGet(-5_000);
+        for (int i = 0; i < 100; i++) ids.add(generator.next());
+
+        assertThat(ids).isSortedAccordingTo(UUID::compareTo);
+        assertThat(Set.copyOf(ids)).hasSize(ids.size());
+    }
+
+    @Test
+    void unique_across_threads() throws Exception {
+        var generator = new UuidV7Generator();
+        Set<UUID> seen = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < 20_000; i++) seen.add(generator.next());
+                }));
+            }
+            for (Future<?> future : futures) future.get();
+        } finally {
+            pool.shutdown();
+        }
+        assertThat(seen).hasSize(8 * 20_000);
+    }
+}
@@ -0,0 +1,35 @@
+// src/test/java/com/hospital/domain/name/NameNormalizerTest.java
+package com.hospital.domain.name;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class NameNormalizerTest {
+
+    @Test
+    void folds_case_diacritics_and_turkish_letters() {
+        assertThat(NameNormalizer.normalize("Dr. Ayşe Yılmaz")).isEqualTo("ayse yilmaz");
+        assertThat(NameNormalizer.normalize("ayse yilmaz")).isEqualTo("ayse yilmaz");
+        assertThat(NameNormalizer.normalize("İSMAİL ÇAĞLAR")).isEqualTo("ismail caglar");
+        assertThat(NameNormalizer.normalize("Şükrü Öztürk")).isEqualTo("sukru ozturk");
+        assertThat(NameNormalizer.normalize("José Müller-Straße")).isEqualTo("jose muller strasse");
+    }
+
+    @Test
+    void drops_leading_titles_and_extra_separators() {
+        assertThat(NameNormalizer.normalize("  Prof. Dr.   Mehmet   Öz ")).isEqualTo("mehmet oz");
+        assertThat(NameNormalizer.normalize("Op.Dr. Can")).isEqualTo("can");
+        assertThat(NameNormalizer.normalize("Doç. Dr. Elif")).isEqualTo("elif");
+        // only leading words are titles
+        assertThat(NameNormalizer.normalize("Ali Dr")).isEqualTo("ali dr");
+    }
+
+    @Test
+    void keeps_titles_only_names_and_handles_blank_input() {
+        assertThat(NameNormalizer.normalize("Dr.")).isEqualTo("dr");
+        assertThat(NameNormalizer.normalize(" .- ")).isEmpty();
+        assertThat(NameNormalizer.normalize(null)).isEmpty();
+        assertThat(NameNormalizer.normalize("x".repeat(300))).hasSize(NameNormalizer.MAX_LENGTH);
+    }
+}
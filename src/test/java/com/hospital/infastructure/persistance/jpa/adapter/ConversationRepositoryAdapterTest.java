@@ -5,17 +5,26 @@ import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
 
+import com.hospital.domain.model.ConversationCursor;
 import com.hospital.domain.model.ConversationModel;
 import com.hospital.domain.status.ConversationStatus;
 import com.hospital.infrastructure.persistance.jpa.adapter.ConversationRepositoryAdapter;
 import com.hospital.infrastructure.persistance.jpa.entity.ConversationEntity;
 import com.hospital.infrastructure.persistance.jpa.entity.UserEntity;
+import com.hospital.infrastructure.persistance.jpa.repository.ConversationParticipantRow;
+import com.hospital.infrastructure.persistance.jpa.repository.ConversationRow;
+import com.hospital.infrastructure.persistance.jpa.repository.ConversationVersionRow;
+import com.hospital.infrastructure.persistance.jpa.repository.JpaActiveConversationPairRepository;
 import com.hospital.infrastructure.persistance.jpa.repository.JpaConversationRepository;
 import com.hospital.infrastructure.persistance.jpa.repository.JpaUserRepository;
 
@@ -23,7 +32,8 @@ class ConversationRepositoryAdapterTest {
 
     JpaConversationRepository jpaConversationRepository = mock(JpaConversationRepository.class);
     JpaUserRepository jpaUserRepository = mock(JpaUserRepository.class);
-    ConversationRepositoryAdapter conversationRepositoryAdapter = new ConversationRepositoryAdapter(jpaConversationRepository, jpaUserRepository);
+    JpaActiveConversationPairRepository jpaActiveConversationPairRepository = mock(JpaActiveConversationPairRepository.class);
+    ConversationRepositoryAdapter conversationRepositoryAdapter = new ConversationRepositoryAdapter(jpaConversationRepository, jpaUserRepository, jpaActiveConversationPairRepository);
 
     private static UserEntity user(UUID id, String name) {
         var user = new UserEntity();
@@ -38,10 +48,9 @@ class ConversationRepositoryAdapterTest {
         var user1 = user(UUID.randomUUID(), "A");
         var user2 = user(UUID.randomUUID(), "B");
 
-        when(jpaUserRepository.findById(user1.getUserID()))
-        .thenReturn(Optional.of(user1));
-        when(jpaUserRepository.findById(user2.getUserID()))
-        .thenReturn(Optional.of(user2));
+        // returned out of order, the participant order of the model must be kept
+        when(jpaUserRepository.findAllById(List.of(user1.getUserID(), user2.getUserID())))
+        .thenReturn(List.of(user2, user1));
 
         var createdAt = LocalDateTime.now().withNano(0);
         var domain = new ConversationModel
@@ -67,15 +76,16 @@ class ConversationRepositoryAdapterTest {
         assertThat(saved.conversationID()).isEqualTo(domain.conversationID());
         assertThat(saved.conversationUsersList()).containsExactly(user1.getUserID(), user2.getUserID());
         assertThat(saved.conversationStatus()).isEqualTo(ConversationStatus.ACTIVE);
+        verify(jpaUserRepository, never()).findById(any());
     }
 
     @Test
     void save_when_participant_missing_throws_illegalArgument() {
         var userID = UUID.randomUUID();
-        when(jpaUserRepository.findById(userID)).thenReturn(Optional.empty());
+        when(jpaUserRepository.findAllById(List.of(userID))).thenReturn(List.of());
 
         var domain = new ConversationModel(UUID.randomUUID(), List.of(userID),
-            ConversationStatus.ACTIVE, LocalDateTime.now(), null);
+            ConversationStatus.ACTIVE, LocalDateTime.now(), null, 0);
 
         assertThatThrownBy(() -> conversationRepositoryAdapter.save(domain))
             .isInstanceOf(IllegalArgumentException.class)
@@ -102,40 +112,94 @@ class ConversationRepositoryAdapterTest {
     }
 
     @Test
-    void findAllByUserId_maps_list() {
-        var user = user(UUID.randomUUID(), "U");
+    void findAllByUserId_maps_rows_and_participants_in_two_queries() {
+        var userID = UUID.randomUUID();
+        var otherID = UUID.randomUUID();
+        var row1 = new ConversationRow(UUID.randomUUID(), ConversationStatus.ACTIVE, LocalDateTime.now(), null, 0);
+        var row2 = new ConversationRow(UUID.randomUUID(), ConversationStatus.CLOSED, LocalDateTime.now(), LocalDateTime.now(), 1);
+
+        when(jpaConversationRepository.findRowsByUserId(userID, EnumSet.allOf(ConversationStatus.class), Limit.unlimited()))
+            .thenReturn(List.of(row1, row2));
+        when(jpaConversationRepository.findParticipants(List.of(row1.conversationID(), row2.conversationID())))
+            .thenReturn(List.of(
+                new ConversationParticipantRow(row1.conversationID(), userID),
+                new ConversationParticipantRow(row2.conversationID(), userID),
+                new ConversationParticipantRow(row1.conversationID(), otherID)));
+
+        var list = conversationRepositoryAdapter.findAllByUserId(userID);
+        assertThat(list).hasSize(2);
+        assertThat(list.get(0).conversationUsersList()).containsExactly(userID, otherID);
+        assertThat(list.get(1).conversationStatus()).isEqualTo(ConversationStatus.CLOSED);
+        verify(jpaConversationRepository, never()).findAll();
+    }
 
-        var conversationEntity1 = ConversationEntity.createConversationEntity(UUID.randomUUID(), 
-            List.of(user), ConversationStatus.ACTIVE, LocalDateTime.now(), null);
-        var conversationEntity2 = ConversationEntity.createConversationEntity(UUID.randomUUID(),
-            List.of(user), ConversationStatus.CLOSED, LocalDateTime.now(), LocalDateTime.now());
+    @Test
+    void findPageByUserId_uses_cursor_and_status_filter() {
+        var userID = UUID.randomUUID();
+        var cursor = new ConversationCursor(LocalDateTime.now(), UUID.randomUUID());
+        var statuses = EnumSet.of(ConversationStatus.ACTIVE);
 
-        when(jpaConversationRepository.findAllByUserId(user.getUserID())).thenReturn(List.of(conversationEntity1, conversationEntity2));
+        when(jpaConversationRepository.findRowsByUserIdBefore(userID, statuses, cursor.conversationCreatedAt(), cursor.conversationID(), Limit.of(20)))
+            .thenReturn(List.of());
 
-        var list = conversationRepositoryAdapter.findAllByUserId(user.getUserID());
-        assertThat(list).hasSize(2);
-        assertThat(list.get(1).conversationStatus()).isEqualTo(ConversationStatus.CLOSED);
+        assertThat(conversationRepositoryAdapter.findPageByUserId(userID, statuses, cursor, 20)).isEmpty();
+        verify(jpaConversationRepository, never()).findParticipants(any());
+
+        conversationRepositoryAdapter.findPageByUserId(userID, Set.of(), null, 20);
+        verify(jpaConversationRepository).findRowsByUserId(userID, EnumSet.allOf(ConversationStatus.class), Limit.of(20));
     }
 
     @Test
-    void findActiveBetween_returns_first_mapped() {
-        var user1 = user(UUID.randomUUID(), "A");
-        var user2 = user(UUID.randomUUID(), "B");
-        var conversationEntity = ConversationEntity
-            .createConversationEntity(
-                UUID.randomUUID(), 
-                List.of(user1, user2), 
-                ConversationStatus.ACTIVE, 
-                LocalDateTime.now(), 
-                null
-            );
-
-        when(jpaConversationRepository.findBetweenWithStatus(user1.getUserID(), user2.getUserID(), ConversationStatus.ACTIVE))
-            .thenReturn(List.of(conversationEntity));
-
-        var opt = conversationRepositoryAdapter.findActiveBetween(user1.getUserID(), user2.getUserID());
+    void findActiveBetween_reads_the_pair_row() {
+        var patientID = UUID.randomUUID();
+        var doctorID = UUID.randomUUID();
+        var row = new ConversationRow(UUID.randomUUID(), ConversationStatus.ACTIVE, LocalDateTime.now(), null, 2);
+
+        when(jpaActiveConversationPairRepository.findActive(patientID, doctorID)).thenReturn(Optional.of(row));
+
+        var opt = conversationRepositoryAdapter.findActiveBetween(patientID, doctorID);
         assertThat(opt).isPresent();
-        assertThat(opt.get().conversationStatus()).isEqualTo(ConversationStatus.ACTIVE);
+        assertThat(opt.get().conversationID()).isEqualTo(row.conversationID());
+        assertThat(opt.get().conversationUsersList()).containsExactly(patientID, doctorID);
+        assertThat(opt.get().conversationVersion()).isEqualTo(2);
+        verifyNoInteractions(jpaConversationRepository);
+    }
+
+    @Test
+    void findActiveVersions_maps_rows_and_skips_the_query_for_no_ids() {
+        var first = UUID.randomUUID();
+        var second = UUID.randomUUID();
+        when(jpaConversationRepository.findActiveVersions(List.of(first, second)))
+            .thenReturn(List.of(new ConversationVersionRow(first, 0), new ConversationVersionRow(second, 3)));
+
+        assertThat(conversationRepositoryAdapter.findActiveVersions(List.of(first, second))).isEqualTo(Map.of(first, 0L, second, 3L));
+        assertThat(conversationRepositoryAdapter.findActiveVersions(List.of())).isEmpty();
+        verify(jpaConversationRepository, times(1)).findActiveVersions(any());
+    }
+
+    @Test
+    void claimActivePair_reports_whether_the_pair_was_free() {
+        var conversationID = UUID.randomUUID();
+        var patientID = UUID.randomUUID();
+        var doctorID = UUID.randomUUID();
+
+        when(jpaActiveConversationPairRepository.claim(conversationID, patientID, doctorID)).thenReturn(1, 0);
+
+        assertThat(conversationRepositoryAdapter.claimActivePair(conversationID, patientID, doctorID)).isTrue();
+        assertThat(conversationRepositoryAdapter.claimActivePair(conversationID, patientID, doctorID)).isFalse();
+    }
+
+    @Test
+    void closeIfActive_reports_whether_row_was_updated_and_frees_the_pair() {
+        var conversationID = UUID.randomUUID();
+        var closedAt = LocalDateTime.now();
+
+        when(jpaConversationRepository.closeIfActive(conversationID, closedAt)).thenReturn(1, 0);
+
+        assertThat(conversationRepositoryAdapter.closeIfActive(conversationID, closedAt)).isTrue();
+        assertThat(conversationRepositoryAdapter.closeIfActive(conversationID, closedAt)).isFalse();
+        verify(jpaActiveConversationPairRepository, times(1)).release(conversationID);
+        verify(jpaConversationRepository, never()).save(any());
     }
 
     @Test
@@ -0,0 +1,91 @@
+// src/test/java/com/hospital/infastructure/persistance/jpa/adapter/ConversationSummaryRepositoryAdapterTest.java
+package com.hospital.infastructure.persistance.jpa.adapter;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.data.domain.Limit;
+
+import com.hospital.domain.model.ConversationMessage;
+import com.hospital.domain.model.InboxCursor;
+import com.hospital.infrastructure.persistance.jpa.adapter.ConversationSummaryRepositoryAdapter;
+import com.hospital.infrastructure.persistance.jpa.repository.JpaConversationSummaryRepository;
+
+class ConversationSummaryRepositoryAdapterTest {
+
+    JpaConversationSummaryRepository jpaConversationSummaryRepository = mock(JpaConversationSummaryRepository.class);
+    ConversationSummaryRepositoryAdapter adapter = new ConversationSummaryRepositoryAdapter(jpaConversationSummaryRepository);
+
+    private static ConversationMessage message(UUID conversationID, UUID authorID, String content, LocalDateTime createdAt) {
+        return new ConversationMessage(conversationID, UUID.randomUUID(), authorID, content, createdAt);
+    }
+
+    @Test
+    void recordMessages_upserts_each_conversation_and_author_once_with_its_latest_message() {
+        var low = new UUID(0, 1);
+        var high = new UUID(0, 2);
+        var patient = UUID.randomUUID();
+        var doctor = UUID.randomUUID();
+        var t0 = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+        var latestInHigh = message(high, patient, "ikinci", t0.plusMinutes(1));
+        var inLow = message(low, doctor, "merhaba", t0);
+        adapter.recordMessages(List.of(latestInHigh, message(high, patient, "birinci", t0), inLow), true);
+
+        InOrder inOrder = inOrder(jpaConversationSummaryRepository);
+        inOrder.verify(jpaConversationSummaryRepository).upsert(low, inLow.message().messageID(), doctor, "merhaba", t0, 1);
+        inOrder.verify(jpaConversationSummaryRepository).upsert(high, latestInHigh.message().messageID(), patient, "ikinci", t0.plusMinutes(1), 2);
+        verifyNoMoreInteractions(jpaConversationSummaryRepository);
+    }
+
+    @Test
+    void recordMessages_without_unread_moves_the_last_message_only() {
+        var conversationID = UUID.randomUUID();
+        var authorID = UUID.randomUUID();
+
+        adapter.recordMessages(List.of(message(conversationID, authorID, "eski", LocalDateTime.now())), false);
+
+        verify(jpaConversationSummaryRepository).upsert(eq(conversationID), any(), eq(authorID), eq("eski"), any(), eq(0));
+    }
+
+    @Test
+    void snippet_is_cut_without_splitting_a_surrogate_pair() {
+        var conversationID = UUID.randomUUID();
+        var now = LocalDateTime.now();
+
+        adapter.recordMessages(List.of(message(conversationID, new UUID(0, 1), "a".repeat(300), now)), true);
+        adapter.recordMessages(List.of(message(conversationID, new UUID(0, 2), "a".repeat(199) + "😀b", now)), true);
+
+        verify(jpaConversationSummaryRepository).upsert(any(), any(), eq(new UUID(0, 1)), eq("a".repeat(200)), any(), eq(1));
+        verify(jpaConversationSummaryRepository).upsert(any(), any(), eq(new UUID(0, 2)), eq("a".repeat(199)), any(), eq(1));
+    }
+
+    @Test
+    void findInbox_uses_the_cursor_when_given() {
+        var userID = UUID.randomUUID();
+        var cursor = new InboxCursor(LocalDateTime.of(2024, 5, 1, 12, 0), UUID.randomUUID());
+
+        adapter.findInbox(userID, null, 20);
+        adapter.findInbox(userID, cursor, 10);
+
+        verify(jpaConversationSummaryRepository).findInbox(userID, Limit.of(20));
+        verify(jpaConversationSummaryRepository).findInboxBefore(userID, cursor.lastActivityAt(), cursor.conversationID(), Limit.of(10));
+    }
+
+    @Test
+    void markRead_reports_whether_a_row_was_reset() {
+        var conversationID = UUID.randomUUID();
+        var userID = UUID.randomUUID();
+        when(jpaConversationSummaryRepository.markRead(conversationID, userID)).thenReturn(1, 0);
+
+        assertThat(adapter.markRead(conversationID, userID)).isTrue();
+        assertThat(adapter.markRead(conversationID, userID)).isFalse();
+    }
+}
@@ -0,0 +1,79 @@
+// src/test/java/com/hospital/infastructure/persistance/jpa/adapter/DoctorRatingStatsRepositoryAdapterTest.java
+package com.hospital.infastructure.persistance.jpa.adapter;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.Mockito.*;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import com.hospital.infrastructure.persistance.jpa.adapter.DoctorRatingStatsRepositoryAdapter;
+import com.hospital.infrastructure.persistance.jpa.entity.DoctorRatingStatsEntity;
+import com.hospital.infrastructure.persistance.jpa.repository.JpaDoctorRatingStatsRepository;
+
+class DoctorRatingStatsRepositoryAdapterTest {
+
+    JpaDoctorRatingStatsRepository jpaDoctorRatingStatsRepository = mock(JpaDoctorRatingStatsRepository.class);
+    DoctorRatingStatsRepositoryAdapter adapter = new DoctorRatingStatsRepositoryAdapter(jpaDoctorRatingStatsRepository);
+
+    @Test
+    void recordScores_sends_one_histogram_row_per_doctor() {
+        var first = UUID.randomUUID();
+        var second = UUID.randomUUID();
+        var scores = new LinkedHashMap<UUID, List<Integer>>();
+        scores.put(first, List.of(4));
+        scores.put(second, List.of(5, 1, 5));
+
+        adapter.recordScores(scores);
+
+        verify(jpaDoctorRatingStatsRepository).addToStats(
+            aryEq(new UUID[] { first, second }), aryEq(new long[] { 4, 11 }), aryEq(new long[] { 1, 3 }),
+            aryEq(new long[] { 0, 1 }), aryEq(new long[] { 0, 0 }), aryEq(new long[] { 0, 0 }),
+            aryEq(new long[] { 1, 0 }), aryEq(new long[] { 0, 2 }));
+    }
+
+    @Test
+    void recordScores_out_of_range_throws_illegalArgument() {
+        assertThatThrownBy(() -> adapter.recordScores(Map.of(UUID.randomUUID(), List.of(3, 6))))
+            .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(jpaDoctorRatingStatsRepository);
+    }
+
+    @Test
+    void findByDoctorId_maps_histogram() {
+        var doctorID = UUID.randomUUID();
+        var entity = new DoctorRatingStatsEntity();
+        entity.setDoctorId(doctorID);
+        entity.setScoreSum(14);
+        entity.setRatingCount(3);
+        entity.setScore4Count(2);
+        entity.setScore5Count(1);
+
+        when(jpaDoctorRatingStatsRepository.findById(doctorID)).thenReturn(Optional.of(entity));
+
+        var opt = adapter.findByDoctorId(doctorID);
+        assertThat(opt).isPresent();
+        assertThat(opt.get().scoreSum()).isEqualTo(14);
+        assertThat(opt.get().ratingCount()).isEqualTo(3);
+        assertThat(opt.get().scoreHistogram()).containsExactly(0L, 0L, 0L, 2L, 1L);
+    }
+
+    @Test
+    void rebuildAll_locks_clears_and_reinserts() {
+        when(jpaDoctorRatingStatsRepository.insertFromRatings()).thenReturn(7);
+
+        assertThat(adapter.rebuildAll()).isEqualTo(7);
+
+        InOrder order = inOrder(jpaDoctorRatingStatsRepository);
+        order.verify(jpaDoctorRatingStatsRepository).lockForRebuild();
+        order.verify(jpaDoctorRatingStatsRepository).deleteAllStats();
+        order.verify(jpaDoctorRatingStatsRepository).insertFromRatings();
+    }
+}
@@ -6,11 +6,13 @@ import static org.mockito.Mockito.*;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
 import java.util.UUID;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
 
+import com.hospital.domain.model.ConversationMessage;
+import com.hospital.domain.model.MessageCursor;
 import com.hospital.domain.model.MessageModel;
 import com.hospital.infrastructure.persistance.jpa.entity.ConversationEntity;
 import com.hospital.infrastructure.persistance.jpa.entity.MessageEntity;
@@ -29,7 +31,10 @@ class MessageRepositoryAdapterTest {
     JpaUserRepository jpaUserRepository
         = mock(JpaUserRepository.class);
 
-    MessageRepositoryAdapter adapter = new MessageRepositoryAdapter(jpaMessageRepository, jpaConversationRepository, jpaUserRepository);
+    jakarta.persistence.EntityManager entityManager
+        = mock(jakarta.persistence.EntityManager.class);
+
+    MessageRepositoryAdapter adapter = new MessageRepositoryAdapter(jpaMessageRepository, jpaConversationRepository, jpaUserRepository, entityManager);
 
     private static UserEntity user(UUID id, String name) {
         var user = new UserEntity();
@@ -40,62 +45,139 @@ class MessageRepositoryAdapterTest {
     }
 
     @Test
-    void save_maps_and_persists_message() {
+    void save_uses_references_and_persists_message() {
 
         var conversation = new ConversationEntity();
         conversation.setConversationEntityId(UUID.randomUUID());
         var author = user(UUID.randomUUID(), "A");
 
-        when(jpaConversationRepository.findById(conversation.getConversationID())).thenReturn(Optional.of(conversation));
-        when(jpaUserRepository.findById(author.getUserID())).thenReturn(Optional.of(author));
+        when(jpaConversationRepository.getReferenceById(conversation.getConversationID())).thenReturn(conversation);
+        when(jpaUserRepository.getReferenceById(author.getUserID())).thenReturn(author);
 
         var now = LocalDateTime.now().withNano(0);
-        var entitySaved = MessageEntity.createMessageEntity(UUID.randomUUID(), conversation, author, "hi", now);
-        when(jpaMessageRepository.save(any())).thenReturn(entitySaved);
-
         var domainIn = new MessageModel(UUID.randomUUID(), author.getUserID(), "hi", now);
         var domainOut = adapter.save(domainIn, conversation.getConversationID());
 
-        assertThat(domainOut.messageContext()).isEqualTo("hi");
-        assertThat(domainOut.authorID()).isEqualTo(author.getUserID());
+        assertThat(domainOut).isEqualTo(domainIn);
+
+        var captor = org.mockito.ArgumentCaptor.forClass(MessageEntity.class);
+        verify(jpaMessageRepository).save(captor.capture());
+        assertThat(captor.getValue().isNew()).isTrue();
+        assertThat(captor.getValue().getConversation()).isSameAs(conversation);
+        assertThat(captor.getValue().getAuthor()).isSameAs(author);
+    }
+
+    @Test
+    void save_never_loads_conversation_or_author() {
+        var model = new MessageModel(UUID.randomUUID(), UUID.randomUUID(), "x", LocalDateTime.now());
+
+        adapter.save(model, UUID.randomUUID());
+
+        verify(jpaConversationRepository, never()).findById(any());
+        verify(jpaUserRepository, never()).findById(any());
     }
 
     @Test
-    void save_missing_conversation_or_author_throws_NoSuchElement() {
+    void findExistingIDs_skips_the_query_for_no_ids() {
         var conversationID = UUID.randomUUID();
-        var authorId = UUID.randomUUID();
-        var model = new MessageModel(UUID.randomUUID(), authorId, "x", LocalDateTime.now());
+        var stored = UUID.randomUUID();
+        var missing = UUID.randomUUID();
+        when(jpaMessageRepository.findExistingIDs(conversationID, List.of(stored, missing))).thenReturn(List.of(stored));
 
-        when(jpaConversationRepository.findById(conversationID)).thenReturn(Optional.empty());
-        assertThatThrownBy(() -> adapter.save(model, conversationID))
-            .isInstanceOf(java.util.NoSuchElementException.class);
+        assertThat(adapter.findExistingIDs(conversationID, List.of(stored, missing))).containsExactly(stored);
+        assertThat(adapter.findExistingIDs(conversationID, List.of())).isEmpty();
+        verify(jpaMessageRepository, times(1)).findExistingIDs(any(), any());
+    }
 
-        var conversation = new ConversationEntity();
-        conversation.setConversationEntityId(conversationID);
+    @SuppressWarnings("unchecked")
+    @Test
+    void saveIfUnchanged_reports_whether_the_guarded_insert_wrote_a_row() {
+        var conversationID = UUID.randomUUID();
+        var model = new MessageModel(UUID.randomUUID(), UUID.randomUUID(), "x", LocalDateTime.now());
+        when(jpaMessageRepository.insertIfUnchanged(model.messageID(), conversationID, 2L, model.authorID(), "x", model.messageCreatedAt()))
+            .thenReturn(1, 0);
 
-        when(jpaConversationRepository.findById(conversationID)).thenReturn(Optional.of(conversation));
-        when(jpaUserRepository.findById(authorId)).thenReturn(Optional.empty());
+        assertThat(adapter.saveIfUnchanged(model, conversationID, 2L)).isTrue();
+        assertThat(adapter.saveIfUnchanged(model, conversationID, 2L)).isFalse();
+        verify(jpaConversationRepository, never()).getReferenceById(any());
+    }
 
-        assertThatThrownBy(() -> adapter.save(model, conversationID))
-            .isInstanceOf(java.util.NoSuchElementException.class);
+    @Test
+    void saveAll_persists_new_entities_in_order_with_references() {
+        var conversationID = UUID.randomUUID();
+        var conversation = new ConversationEntity();
+        conversation.setConversationEntityId(conversationID);
+        var author = user(UUID.randomUUID(), "A");
+        when(jpaConversationRepository.getReferenceById(conversationID)).thenReturn(conversation);
+        when(jpaUserRepository.getReferenceById(author.getUserID())).thenReturn(author);
+
+        var now = LocalDateTime.now();
+        var first = new MessageModel(UUID.randomUUID(), author.getUserID(), "1", now);
+        var second = new MessageModel(UUID.randomUUID(), author.getUserID(), "2", now);
+
+        adapter.saveAll(List.of(new ConversationMessage(conversationID, first), new ConversationMessage(conversationID, second)));
+
+        var captor = org.mockito.ArgumentCaptor.forClass(Iterable.class);
+        verify(jpaMessageRepository).saveAll(captor.capture());
+        List<MessageEntity> saved = (List<MessageEntity>) captor.getValue();
+        assertThat(saved).extracting(MessageEntity::getMessageID).containsExactly(first.messageID(), second.messageID());
+        assertThat(saved).allMatch(MessageEntity::isNew);
+        assertThat(saved.get(0).getConversation()).isSameAs(conversation);
+        verify(jpaConversationRepository, never()).findById(any());
+        var order = inOrder(jpaMessageRepository, entityManager);
+        order.verify(jpaMessageRepository).saveAll(any());
+        order.verify(entityManager).flush();
+        order.verify(entityManager).clear();
     }
 
     @Test
-    void findByConversationID_maps_list() {
+    void findByConversationID_uses_projection() {
         var conversationID = UUID.randomUUID();
-        var user = user(UUID.randomUUID(), "User");
         var now = LocalDateTime.now().withNano(0);
+        var message1 = new MessageModel(UUID.randomUUID(), UUID.randomUUID(), "a", now);
+        var message2 = new MessageModel(UUID.randomUUID(), UUID.randomUUID(), "b", now.plusSeconds(1));
 
-        var messageEntity1 = MessageEntity
-            .createMessageEntity(UUID.randomUUID(), new ConversationEntity(), user, "a", now);
-        var messageEntity2 = MessageEntity
-            .createMessageEntity(UUID.randomUUID(), new ConversationEntity(), user, "b", now.plusSeconds(1));
-
-        when(jpaMessageRepository.findByMessageConversation_ConversationIDOrderByMessageCreatedAtAsc(conversationID))
-            .thenReturn(List.of(messageEntity1, messageEntity2));
+        when(jpaMessageRepository.findModelsByConversationID(conversationID))
+            .thenReturn(List.of(message1, message2));
 
         var list = adapter.findByConversationID(conversationID);
         assertThat(list).extracting(MessageModel::messageContext).containsExactly("a", "b");
+        verify(jpaMessageRepository, never()).findByMessageConversation_ConversationIDOrderByMessageCreatedAtAsc(any());
+    }
+
+    @Test
+    void hasMessages_uses_exists_probe() {
+        var conversationID = UUID.randomUUID();
+        when(jpaMessageRepository.existsByMessageConversation_ConversationID(conversationID)).thenReturn(true);
+
+        assertThat(adapter.hasMessages(conversationID)).isTrue();
+        verify(jpaMessageRepository, never()).findModelsByConversationID(any());
+    }
+
+    @Test
+    void findPage_returns_oldest_first_for_each_direction() {
+        var conversationID = UUID.randomUUID();
+        var now = LocalDateTime.now().withNano(0);
+        var older = new MessageModel(UUID.randomUUID(), UUID.randomUUID(), "older", now);
+        var newer = new MessageModel(UUID.randomUUID(), UUID.randomUUID(), "newer", now.plusSeconds(1));
+        var cursor = new MessageCursor(now.plusSeconds(2), UUID.randomUUID());
+
+        when(jpaMessageRepository.findLatestModels(conversationID, Limit.of(2)))
+            .thenReturn(List.of(newer, older));
+        when(jpaMessageRepository.findModelsBefore(conversationID, cursor.messageCreatedAt(), cursor.messageID(), Limit.of(2)))
+            .thenReturn(List.of(newer, older));
+        when(jpaMessageRepository.findModelsAfter(conversationID, cursor.messageCreatedAt(), cursor.messageID(), Limit.of(2)))
+            .thenReturn(List.of(older, newer));
+
+        assertThat(adapter.findPage(conversationID, null, null, 2))
+            .extracting(MessageModel::messageContext).containsExactly("older", "newer");
+        assertThat(adapter.findPage(conversationID, cursor, null, 2))
+            .extracting(MessageModel::messageContext).containsExactly("older", "newer");
+        assertThat(adapter.findPage(conversationID, null, cursor, 2))
+            .extracting(MessageModel::messageContext).containsExactly("older", "newer");
+
+        assertThatThrownBy(() -> adapter.findPage(conversationID, cursor, cursor, 2))
+            .isInstanceOf(IllegalArgumentException.class);
     }
 
     @Test
@@ -0,0 +1,56 @@
+// src/test/java/com/hospital/infastructure/persistance/jpa/adapter/RatingOutboxRepositoryAdapterTest.java
+package com.hospital.infastructure.persistance.jpa.adapter;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import com.hospital.domain.model.RatingModel;
+import com.hospital.infrastructure.persistance.jpa.adapter.RatingOutboxRepositoryAdapter;
+import com.hospital.infrastructure.persistance.jpa.repository.JpaRatingOutboxRepository;
+
+class RatingOutboxRepositoryAdapterTest {
+
+    JpaRatingOutboxRepository jpaRatingOutboxRepository = mock(JpaRatingOutboxRepository.class);
+    RatingOutboxRepositoryAdapter adapter = new RatingOutboxRepositoryAdapter(jpaRatingOutboxRepository);
+
+    @Test
+    void append_copies_the_rating() {
+        var rating = new RatingModel(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), 3, LocalDateTime.now());
+
+        adapter.append(rating);
+
+        verify(jpaRatingOutboxRepository).append(rating.ratingId(), rating.doctorId(), 3, rating.createdAt());
+    }
+
+    @Test
+    void remove_skips_the_statement_for_no_ids() {
+        adapter.remove(List.of());
+        verifyNoInteractions(jpaRatingOutboxRepository);
+
+        adapter.remove(List.of(1L, 2L));
+        verify(jpaRatingOutboxRepository).deleteByIds(List.of(1L, 2L));
+    }
+
+    @Test
+    void oldestPendingAt_is_empty_for_an_empty_outbox() {
+        assertThat(adapter.oldestPendingAt()).isEmpty();
+    }
+
+    @Test
+    void discardAll_locks_before_deleting() {
+        when(jpaRatingOutboxRepository.deleteAllEntries()).thenReturn(4);
+
+        assertThat(adapter.discardAll()).isEqualTo(4);
+
+        InOrder order = inOrder(jpaRatingOutboxRepository);
+        order.verify(jpaRatingOutboxRepository).lockForRebuild();
+        order.verify(jpaRatingOutboxRepository).deleteAllEntries();
+    }
+}
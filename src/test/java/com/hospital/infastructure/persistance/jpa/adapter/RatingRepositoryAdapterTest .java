@@ -110,18 +110,4 @@ class RatingRepositoryAdapterTest {
         assertThat(opt).isPresent();
         assertThat(opt.get().score()).isEqualTo(3);
     }
-
-    @Test
-    void average_computed_from_list_and_count_pass_through() {
-        var doctorID = UUID.randomUUID();
-
-        var r1 = new RatingEntity(); r1.setScore(4);
-        var r2 = new RatingEntity(); r2.setScore(5);
-
-        when(jpaRatingRepository.findByDoctor_UserID(doctorID)).thenReturn(java.util.List.of(r1, r2));
-        when(jpaRatingRepository.countByDoctor_UserID(doctorID)).thenReturn(2L);
-
-        assertThat(adapter.averageForDoctor(doctorID)).isEqualTo(4.5);
-        assertThat(adapter.countForDoctor(doctorID)).isEqualTo(2L);
-    }
 }
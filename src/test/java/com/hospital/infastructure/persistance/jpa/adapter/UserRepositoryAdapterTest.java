@@ -10,7 +10,9 @@ import java.util.Set;
 import java.util.UUID;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
 
+import com.hospital.application.dto.DoctorDirectoryEntry;
 import com.hospital.application.port.UserRepositoryPort;
 import com.hospital.domain.model.UserModel;
 import com.hospital.domain.role.UserRole;
@@ -21,6 +23,8 @@ import com.hospital.infrastructure.persistance.jpa.adapter.UserRepositoryAdapter
 
 class UserRepositoryAdapterTest {
 
+    static final List<Short> DOCTOR_MASKS = List.of((short) 2, (short) 3);
+
     JpaUserRepository jpaUserRepository = mock(JpaUserRepository.class);
     UserRepositoryPort userRepositoryPort = new UserRepositoryAdapter(jpaUserRepository);
 
@@ -70,7 +74,7 @@ class UserRepositoryAdapterTest {
     void findAllByRole_delegates_and_maps() {
       var entity = entity(UUID.randomUUID(), "Doctor", Set.of(UserRole.DOCTOR));
 
-      when(jpaUserRepository.findByUserRoleSetContaining(UserRole.DOCTOR)).thenReturn(List.of(entity));
+      when(jpaUserRepository.findByRoleMaskIn(List.of((short) 2, (short) 3))).thenReturn(List.of(entity));
 
       var userList = userRepositoryPort.findAllByRole(UserRole.DOCTOR);
 
@@ -82,15 +86,46 @@ class UserRepositoryAdapterTest {
     void findByNameAndRole_delegates_and_maps() {
       var entity = entity(UUID.randomUUID(), "Hakan", Set.of(UserRole.PATIENT));
       
-      when(jpaUserRepository.findByUserNameAndUserRoleSetContaining("Hakan", UserRole.PATIENT))
+      when(jpaUserRepository.findByNormalizedNameAndRoleMaskIn("hakan", List.of((short) 1, (short) 3)))
         .thenReturn(List.of(entity));
 
-      var userList = userRepositoryPort.findByNameAndRole("Hakan", UserRole.PATIENT);
+      var userList = userRepositoryPort.findByNameAndRole("  HAKAN ", UserRole.PATIENT);
       assertThat(userList)
       .extracting(UserModel::userName)
       .containsExactly("Hakan");
     }
 
+    @Test
+    void searchDoctorsByNamePrefix_scans_from_the_normalized_prefix() {
+      var entry = new DoctorDirectoryEntry(UUID.randomUUID(), "Ayşe Yılmaz");
+
+      when(jpaUserRepository.findDoctorsByNormalizedNameBetween("ays", "ays" + Character.MAX_VALUE, List.of((short) 2, (short) 3), Limit.of(5)))
+        .thenReturn(List.of(entry));
+
+      assertThat(userRepositoryPort.searchDoctorsByNamePrefix("Dr. Ayş", 5)).containsExactly(entry);
+    }
+
+    @Test
+    void findDoctorLeaderboard_picks_first_or_next_page_query() {
+      var afterId = UUID.randomUUID();
+      var row = mock(com.hospital.api.projection.DoctorSummary.class);
+      when(row.getId()).thenReturn(UUID.randomUUID());
+      when(row.getFullName()).thenReturn("Doc");
+      when(row.getRating()).thenReturn(4.5);
+      when(row.getRatingsCount()).thenReturn(2);
+
+      when(jpaUserRepository.findDoctorLeaderboard(0, DOCTOR_MASKS, 10)).thenReturn(List.of(row));
+      when(jpaUserRepository.findDoctorLeaderboardAfter(0, 4.75, afterId, DOCTOR_MASKS, 10)).thenReturn(List.of());
+
+      var first = userRepositoryPort.findDoctorLeaderboard(0, null, null, 10);
+      assertThat(first).hasSize(1);
+      assertThat(first.get(0).getFullName()).isEqualTo("Doc");
+      assertThat(first.get(0).getRating()).isEqualTo(4.5);
+
+      assertThat(userRepositoryPort.findDoctorLeaderboard(0, 4.75, afterId, 10)).isEmpty();
+      verify(jpaUserRepository).findDoctorLeaderboardAfter(0, 4.75, afterId, DOCTOR_MASKS, 10);
+    }
+
     @Test
     void deleteAll_inBatch_or_fallback() {
       userRepositoryPort.deleteAll();
@@ -0,0 +1,36 @@
+package com.hospital.infastructure.persistance.jpa.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.hospital.domain.role.UserRole;
+import com.hospital.infrastructure.persistance.jpa.mapper.RoleMask;
+
+public class RoleMaskTest {
+
+    @Test
+    void bits_match_the_stored_values() {
+        assertThat(RoleMask.of(Set.of())).isEqualTo((short) 0);
+        assertThat(RoleMask.of(Set.of(UserRole.PATIENT))).isEqualTo((short) 1);
+        assertThat(RoleMask.of(Set.of(UserRole.DOCTOR))).isEqualTo((short) 2);
+        assertThat(RoleMask.of(Set.of(UserRole.PATIENT, UserRole.DOCTOR))).isEqualTo((short) 3);
+    }
+
+    @Test
+    void round_trips_every_role_set() {
+        for (short mask = 0; mask < 4; mask++) {
+            assertThat(RoleMask.of(RoleMask.toRoles(mask))).isEqualTo(mask);
+        }
+        assertThat(RoleMask.toRoles((short) 3)).isEqualTo(EnumSet.allOf(UserRole.class));
+    }
+
+    @Test
+    void containing_lists_every_mask_with_the_role() {
+        assertThat(RoleMask.containing(UserRole.DOCTOR)).containsExactly((short) 2, (short) 3);
+        assertThat(RoleMask.containing(UserRole.PATIENT)).containsExactly((short) 1, (short) 3);
+    }
+}
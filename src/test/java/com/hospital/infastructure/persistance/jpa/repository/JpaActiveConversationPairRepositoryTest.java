@@ -0,0 +1,63 @@
+package com.hospital.infastructure.persistance.jpa.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.hospital.domain.role.UserRole;
+import com.hospital.domain.status.ConversationStatus;
+import com.hospital.infrastructure.persistance.jpa.entity.ConversationEntity;
+import com.hospital.infrastructure.persistance.jpa.entity.UserEntity;
+import com.hospital.infrastructure.persistance.jpa.repository.JpaActiveConversationPairRepository;
+import com.hospital.infrastructure.persistance.jpa.repository.JpaConversationRepository;
+import com.hospital.infrastructure.persistance.jpa.repository.JpaUserRepository;
+import org.testcontainers.junit.jupiter.Testcontainers;
+@Testcontainers
+public class JpaActiveConversationPairRepositoryTest extends RepositorySliceConfig {
+
+    @Autowired
+    JpaActiveConversationPairRepository pairRepository;
+
+    @Autowired
+    JpaConversationRepository conversationRepository;
+
+    @Autowired
+    JpaUserRepository userRepository;
+
+    private static UserEntity user(String name, UserRole role) {
+        var user = new UserEntity();
+        user.setUserEntityId(UUID.randomUUID());
+        user.setUserEntityName(name);
+        user.setUserEntityRoles(Set.of(role));
+        return user;
+    }
+
+    @Test
+    void claim_is_unique_per_pair_until_released() {
+        var patient = userRepository.save(user("Ali Hasta", UserRole.PATIENT));
+        var doctor = userRepository.save(user("Ahmet Cuhsin", UserRole.DOCTOR));
+        var first = UUID.randomUUID();
+        var second = UUID.randomUUID();
+
+        assertThat(pairRepository.claim(first, patient.getUserID(), doctor.getUserID())).isEqualTo(1);
+        conversationRepository.saveAndFlush(ConversationEntity.createConversationEntity(
+            first, List.of(patient, doctor), ConversationStatus.ACTIVE, LocalDateTime.now(), null));
+        assertThat(pairRepository.claim(second, patient.getUserID(), doctor.getUserID())).isZero();
+
+        var active = pairRepository.findActive(patient.getUserID(), doctor.getUserID());
+        assertThat(active).isPresent();
+        assertThat(active.get().conversationID()).isEqualTo(first);
+        // the pair is ordered, the doctor is never the first half
+        assertThat(pairRepository.findActive(doctor.getUserID(), patient.getUserID())).isEmpty();
+
+        assertThat(pairRepository.release(first)).isEqualTo(1);
+        assertThat(pairRepository.findActive(patient.getUserID(), doctor.getUserID())).isEmpty();
+        assertThat(pairRepository.claim(second, patient.getUserID(), doctor.getUserID())).isEqualTo(1);
+    }
+}
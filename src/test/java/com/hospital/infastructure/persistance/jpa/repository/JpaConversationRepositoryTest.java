@@ -3,17 +3,21 @@ package com.hospital.infastructure.persistance.jpa.repository;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 
 import com.hospital.domain.role.UserRole;
 import com.hospital.domain.status.ConversationStatus;
 import com.hospital.infrastructure.persistance.jpa.entity.ConversationEntity;
 import com.hospital.infrastructure.persistance.jpa.entity.UserEntity;
+import com.hospital.infrastructure.persistance.jpa.repository.ConversationParticipantRow;
+import com.hospital.infrastructure.persistance.jpa.repository.ConversationRow;
 import com.hospital.infrastructure.persistance.jpa.repository.JpaConversationRepository;
 import com.hospital.infrastructure.persistance.jpa.repository.JpaUserRepository;
 import org.testcontainers.junit.jupiter.Testcontainers;
@@ -38,23 +42,6 @@ public class JpaConversationRepositoryTest extends RepositorySliceConfig {
         return ConversationEntity.createConversationEntity(UUID.randomUUID(), users, status, createdAt, null);
     }
 
-    @Test
-    void findBetweenWithStatus_returns_latest_active_conversation() {
-        var patient = userRepository.save(user(UUID.randomUUID(), "Ali Hasta", Set.of(UserRole.PATIENT)));
-        var doctor = userRepository.save(user(UUID.randomUUID(), "Ahmet Cuhsin", Set.of(UserRole.DOCTOR)));
-
-        var base = LocalDateTime.now().withNano(0);
-
-        var conversation1 = conversationRepository
-            .save(conv(List.of(patient, doctor), ConversationStatus.ACTIVE, base.minusHours(2)));
-        var conversation2 = conversationRepository
-            .save(conv(List.of(patient, doctor), ConversationStatus.ACTIVE, base));
-
-        var list = conversationRepository.findBetweenWithStatus(patient.getUserID(), doctor.getUserID(), ConversationStatus.ACTIVE);
-        assertThat(list).isNotEmpty();
-        assertThat(list.get(0).getConversationID()).isEqualTo(conversation2.getConversationID());
-    }
-
     @Test
     void findAllByUserId_returns_desc_order() {
         var user = userRepository.save(user(UUID.randomUUID(), "X", Set.of(UserRole.PATIENT)));
@@ -65,10 +52,34 @@ public class JpaConversationRepositoryTest extends RepositorySliceConfig {
         var conversationNew = conversationRepository
             .save(conv(List.of(user), ConversationStatus.ACTIVE, base));
 
-        var list = conversationRepository.findAllByUserId(user.getUserID());
+        var list = conversationRepository.findRowsByUserId(
+            user.getUserID(), EnumSet.allOf(ConversationStatus.class), Limit.unlimited());
 
         assertThat(list)
-            .extracting(ConversationEntity::getConversationID)
+            .extracting(ConversationRow::conversationID)
             .containsExactly(conversationNew.getConversationID(), conversationOld.getConversationID());
     }
+
+    @Test
+    void findRowsByUserIdBefore_filters_status_and_pages_by_keyset() {
+        var patient = userRepository.save(user(UUID.randomUUID(), "Page Hasta", Set.of(UserRole.PATIENT)));
+        var doctor = userRepository.save(user(UUID.randomUUID(), "Page Doktor", Set.of(UserRole.DOCTOR)));
+        var base = LocalDateTime.now().withNano(0);
+
+        var closed1 = conversationRepository.save(conv(List.of(patient, doctor), ConversationStatus.CLOSED, base.minusDays(3)));
+        conversationRepository.save(conv(List.of(patient, doctor), ConversationStatus.ACTIVE, base.minusDays(2)));
+        var closed2 = conversationRepository.save(conv(List.of(patient, doctor), ConversationStatus.CLOSED, base.minusDays(1)));
+
+        var closedOnly = EnumSet.of(ConversationStatus.CLOSED);
+        var first = conversationRepository.findRowsByUserId(patient.getUserID(), closedOnly, Limit.of(1));
+        assertThat(first).extracting(ConversationRow::conversationID).containsExactly(closed2.getConversationID());
+
+        var next = conversationRepository.findRowsByUserIdBefore(patient.getUserID(), closedOnly,
+            first.get(0).conversationCreatedAt(), first.get(0).conversationID(), Limit.of(10));
+        assertThat(next).extracting(ConversationRow::conversationID).containsExactly(closed1.getConversationID());
+
+        var participants = conversationRepository.findParticipants(List.of(closed1.getConversationID()));
+        assertThat(participants).extracting(ConversationParticipantRow::userID)
+            .containsExactlyInAnyOrder(patient.getUserID(), doctor.getUserID());
+    }
 }
\ No newline at end of file
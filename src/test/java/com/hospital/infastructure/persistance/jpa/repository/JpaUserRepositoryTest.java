@@ -2,14 +2,21 @@ package com.hospital.infastructure.persistance.jpa.repository;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
 
+import com.hospital.api.projection.DoctorSummary;
+import com.hospital.application.dto.DoctorDirectoryEntry;
 import com.hospital.domain.role.UserRole;
 import com.hospital.infrastructure.persistance.jpa.entity.UserEntity;
+import com.hospital.infrastructure.persistance.jpa.mapper.RoleMask;
 import com.hospital.infrastructure.persistance.jpa.repository.JpaUserRepository;
 import org.testcontainers.junit.jupiter.Testcontainers;
 @Testcontainers
@@ -18,6 +25,9 @@ public class JpaUserRepositoryTest extends RepositorySliceConfig {
     @Autowired 
     JpaUserRepository userRepository;
 
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
     private static UserEntity user(UUID id, String name, Set<UserRole> roles) {
         var user = new UserEntity();
         user.setUserEntityId(id);
@@ -27,22 +37,81 @@ public class JpaUserRepositoryTest extends RepositorySliceConfig {
     }
 
     @Test
-    void findByUserNameAndUserRoleSetContaining_filters_correctly() {
-        userRepository.save(user(UUID.randomUUID(), "Veli Doktor", Set.of(UserRole.DOCTOR)));
+    void findByNormalizedNameAndRoleMaskIn_filters_correctly() {
+        userRepository.save(user(UUID.randomUUID(), "Dr. Veli Doktor", Set.of(UserRole.DOCTOR)));
         userRepository.save(user(UUID.randomUUID(), "Veli Doktor", Set.of(UserRole.PATIENT)));
 
-        var onlyDoctors = userRepository.findByUserNameAndUserRoleSetContaining("Veli Doktor", UserRole.DOCTOR);
+        var onlyDoctors = userRepository.findByNormalizedNameAndRoleMaskIn("veli doktor", RoleMask.containing(UserRole.DOCTOR));
         assertThat(onlyDoctors).hasSize(1);
         assertThat(onlyDoctors.get(0).getUserRoles()).contains(UserRole.DOCTOR);
     }
 
     @Test
-    void findByUserRoleSetContaining_returns_all_with_role() {
+    void findDoctorsByNormalizedNameBetween_is_a_doctor_only_prefix_range() {
+        var ayse = userRepository.save(user(UUID.randomUUID(), "Ayşe Yılmaz", Set.of(UserRole.DOCTOR)));
+        var aysel = userRepository.save(user(UUID.randomUUID(), "Dr. Aysel Kaya", Set.of(UserRole.DOCTOR)));
+        userRepository.save(user(UUID.randomUUID(), "Ayşe Hasta", Set.of(UserRole.PATIENT)));
+        userRepository.save(user(UUID.randomUUID(), "Ayten Demir", Set.of(UserRole.DOCTOR)));
+
+        var matches = userRepository.findDoctorsByNormalizedNameBetween("ayse", "ayse" + Character.MAX_VALUE, RoleMask.containing(UserRole.DOCTOR), Limit.of(10));
+        assertThat(matches)
+            .extracting(DoctorDirectoryEntry::doctorID)
+            .containsExactly(ayse.getUserID(), aysel.getUserID());
+        assertThat(matches.get(1).doctorName()).isEqualTo("Dr. Aysel Kaya");
+    }
+
+    @Test
+    void findByRoleMaskIn_returns_all_with_role() {
         userRepository.save(user(UUID.randomUUID(), "A", Set.of(UserRole.DOCTOR)));
         userRepository.save(user(UUID.randomUUID(), "B", Set.of(UserRole.DOCTOR, UserRole.PATIENT)));
         userRepository.save(user(UUID.randomUUID(), "C", Set.of(UserRole.PATIENT)));
 
-        var doctors = userRepository.findByUserRoleSetContaining(UserRole.DOCTOR);
+        var doctors = userRepository.findByRoleMaskIn(RoleMask.containing(UserRole.DOCTOR));
         assertThat(doctors).hasSize(2);
     }
-}
\ No newline at end of file
+
+    private void stats(UUID doctorID, long scoreSum, long ratingCount) {
+        jdbcTemplate.update("""
+            insert into doctor_rating_stats (doctor_id, score_sum, rating_count, score_1_count, score_2_count,
+                                             score_3_count, score_4_count, score_5_count, avg_rating)
+            values (?, ?, ?, 0, 0, 0, 0, 0, round(cast(? as numeric) / ?, 2))
+            """, doctorID, scoreSum, ratingCount, scoreSum, ratingCount);
+    }
+
+    // Every page of the leaderboard, following the cursor of the last row
+    private List<UUID> allPages(long minRatings, int limit) {
+        var masks = RoleMask.containing(UserRole.DOCTOR);
+        List<UUID> ids = new ArrayList<>();
+        List<DoctorSummary> page = userRepository.findDoctorLeaderboard(minRatings, masks, limit);
+        while (!page.isEmpty()) {
+            page.forEach(row -> ids.add(row.getId()));
+            var last = page.get(page.size() - 1);
+            page = userRepository.findDoctorLeaderboardAfter(minRatings, last.getRating(), last.getId(), masks, limit);
+        }
+        return ids;
+    }
+
+    @Test
+    void leaderboard_pages_run_from_rated_doctors_into_unrated_ones() {
+        var best = userRepository.save(user(new UUID(0, 5), "Best", Set.of(UserRole.DOCTOR))).getUserID();
+        // A real 0.00 average still ranks above every unrated doctor, whatever the ids
+        var zero = userRepository.save(user(new UUID(0, 9), "Zero", Set.of(UserRole.DOCTOR))).getUserID();
+        var unratedLow = userRepository.save(user(new UUID(0, 1), "Unrated low", Set.of(UserRole.DOCTOR))).getUserID();
+        var unratedHigh = userRepository.save(user(new UUID(0, 7), "Unrated high", Set.of(UserRole.DOCTOR, UserRole.PATIENT))).getUserID();
+        userRepository.save(user(new UUID(0, 3), "Patient", Set.of(UserRole.PATIENT)));
+        userRepository.flush();
+        stats(best, 9, 2);
+        stats(zero, 0, 1);
+
+        var order = List.of(best, zero, unratedLow, unratedHigh);
+        // limit 2 puts a page boundary right between the last rated doctor and the first unrated one
+        for (int limit = 1; limit <= 5; limit++) {
+            assertThat(allPages(0, limit)).as("limit " + limit).isEqualTo(order);
+        }
+        assertThat(allPages(1, 2)).containsExactly(best, zero);
+
+        var page = userRepository.findDoctorLeaderboard(0, RoleMask.containing(UserRole.DOCTOR), 4);
+        assertThat(page).extracting(DoctorSummary::getRating).containsExactly(4.5, 0.0, 0.0, 0.0);
+        assertThat(page).extracting(DoctorSummary::getRatingsCount).containsExactly(2, 1, 0, 0);
+    }
+}
@@ -0,0 +1,40 @@
+// src/test/java/com/hospital/infrastructure/metrics/HotPathTimingAspectTest.java
+package com.hospital.infrastructure.metrics;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class HotPathTimingAspectTest {
+
+    MeterRegistry registry = new SimpleMeterRegistry();
+    HotPathTimingAspect aspect = new HotPathTimingAspect(registry, new StatementBudget(registry, 3, 2, 3));
+
+    @Test
+    void calls_are_recorded_per_class_method_route_and_outcome() throws Throwable {
+        var call = call("findById");
+        when(call.proceed()).thenReturn("ok", "ok", "ok").thenThrow(new IllegalStateException("down"));
+
+        for (int i = 0; i < 3; i++) assertThat(aspect.timeRepositoryAdapter(call)).isEqualTo("ok");
+        assertThatThrownBy(() -> aspect.timeRepositoryAdapter(call)).isInstanceOf(IllegalStateException.class);
+
+        assertThat(registry.get("hospital.method").tags("method", "findById", "outcome", "success").timer().count()).isEqualTo(3);
+        assertThat(registry.get("hospital.method").tags("outcome", "IllegalStateException").timer().count()).isEqualTo(1);
+        assertThat(registry.get("hospital.method").tag("uri", RequestMetricsFilter.NO_ROUTE).timers()).hasSize(2);
+    }
+
+    private ProceedingJoinPoint call(String method) {
+        var call = mock(ProceedingJoinPoint.class);
+        var signature = mock(Signature.class);
+        when(signature.getName()).thenReturn(method);
+        when(call.getSignature()).thenReturn(signature);
+        when(call.getTarget()).thenReturn(new Object());
+        return call;
+    }
+}
@@ -0,0 +1,95 @@
+// src/test/java/com/hospital/infrastructure/metrics/RequestMetricsFilterTest.java
+package com.hospital.infrastructure.metrics;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+
+class RequestMetricsFilterTest {
+
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    StatementBudget budget = new StatementBudget(registry, 3, 2, 3);
+    RequestMetricsFilter filter = new RequestMetricsFilter(registry, budget);
+
+    @Test
+    void records_database_work_of_the_request_under_its_route() throws Exception {
+        var request = new MockHttpServletRequest("GET", "/api/users/42");
+        FilterChain chain = (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/users/{id}");
+            JdbcActivity.recordStatement("select 1");
+            JdbcActivity.recordStatement("select 2");
+            JdbcActivity.recordEntityLoad();
+            JdbcActivity.recordConnectionWait(TimeUnit.MILLISECONDS.toNanos(3));
+        };
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        var statements = registry.get("hospital.request.statements").tags("method", "GET", "uri", "/api/users/{id}", "status", "200").summary();
+        assertThat(statements.count()).isEqualTo(1);
+        assertThat(statements.totalAmount()).isEqualTo(2);
+        assertThat(registry.get("hospital.request.entity.loads").summary().totalAmount()).isEqualTo(1);
+        assertThat(registry.get("hospital.request.connection.wait").timer().totalTime(TimeUnit.MILLISECONDS)).isEqualTo(3);
+        assertThat(registry.get("hospital.sql.budget.exceeded").tag("scope", "request").counter().count()).isZero();
+        assertThat(JdbcActivity.current()).isNull();
+    }
+
+    @Test
+    void requests_with_the_same_route_and_status_share_their_meters() throws Exception {
+        FilterChain chain = (req, res) -> req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/users/{id}");
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/users/1"), new MockHttpServletResponse(), chain);
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/users/2"), new MockHttpServletResponse(), chain);
+        var notFound = new MockHttpServletResponse();
+        notFound.setStatus(404);
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/users/3"), notFound, chain);
+
+        assertThat(registry.get("hospital.request.statements").tag("status", "200").summary().count()).isEqualTo(2);
+        assertThat(registry.get("hospital.request.statements").tag("status", "404").summary().count()).isEqualTo(1);
+        assertThat(registry.get("hospital.request.connection.wait").timers()).hasSize(2);
+    }
+
+    @Test
+    void unmatched_request_is_tagged_without_route() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/missing"), new MockHttpServletResponse(), (req, res) -> {});
+
+        assertThat(registry.get("hospital.request.statements").tag("uri", RequestMetricsFilter.NO_ROUTE).summary().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void request_over_budget_is_counted() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/users"), new MockHttpServletResponse(), (req, res) -> {
+            for (int i = 0; i < 4; i++) JdbcActivity.recordStatement("select " + i);
+        });
+
+        assertThat(registry.get("hospital.sql.budget.exceeded").tag("scope", "request").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void nested_scopes_all_count_and_group_repeats_by_sql() {
+        JdbcActivity.recordStatement("ignored outside a scope");
+
+        try (JdbcActivity outer = JdbcActivity.open()) {
+            JdbcActivity.recordStatement("select conversation");
+            try (JdbcActivity inner = JdbcActivity.open()) {
+                for (int i = 0; i < 3; i++) JdbcActivity.recordStatement("select participant");
+                assertThat(inner.statements()).isEqualTo(3);
+
+                budget.checkServiceCall("ConversationService.list", inner);
+            }
+            assertThat(JdbcActivity.current()).isSameAs(outer);
+            assertThat(outer.statements()).isEqualTo(4);
+            assertThat(outer.statementCounts().getFirst().sql()).isEqualTo("select participant");
+        }
+        assertThat(JdbcActivity.current()).isNull();
+        assertThat(registry.get("hospital.sql.budget.exceeded").tag("scope", "service").counter().count()).isEqualTo(1);
+        assertThat(registry.get("hospital.sql.budget.exceeded").tag("scope", "repeat").counter().count()).isEqualTo(1);
+    }
+}